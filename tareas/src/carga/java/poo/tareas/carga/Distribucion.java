@@ -0,0 +1,94 @@
+package poo.tareas.carga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Distribución discreta con pesos relativos, de la que se eligen valores al azar.
+ *
+ * Los pesos se indican en las propiedades como "VALOR=peso,VALOR=peso" (por ejemplo
+ * "PENDIENTE=50,EN_PROGRESO=30,COMPLETADA=20"); no hace falta que sumen 100.
+ *
+ * @param <T> Tipo de los valores
+ */
+final class Distribucion<T> {
+    private final List<T> valores;
+    // Pesos acumulados: el valor i se elige si el número al azar cae en [acumulado[i-1], acumulado[i])
+    private final double[] acumulado;
+
+    private Distribucion(List<T> valores, double[] pesos) {
+        this.valores = valores;
+        this.acumulado = new double[pesos.length];
+        double suma = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            if (pesos[i] < 0) {
+                throw new IllegalArgumentException("Peso negativo para " + valores.get(i));
+            }
+            suma += pesos[i];
+            acumulado[i] = suma;
+        }
+        if (suma <= 0) {
+            throw new IllegalArgumentException("La distribución no tiene ningún peso positivo: " + valores);
+        }
+    }
+
+    /**
+     * Crea la distribución de los valores de un enum.
+     *
+     * @param tipo Clase del enum
+     * @param pesos Pesos con el formato "VALOR=peso,VALOR=peso"
+     * @return La distribución
+     */
+    static <E extends Enum<E>> Distribucion<E> deEnum(Class<E> tipo, String pesos) {
+        List<E> valores = new ArrayList<>();
+        List<Double> listaPesos = new ArrayList<>();
+        for (String par : pesos.split(",")) {
+            String[] partes = par.split("=");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Distribución inválida (se espera VALOR=peso): " + pesos);
+            }
+            valores.add(Enum.valueOf(tipo, partes[0].strip().toUpperCase()));
+            listaPesos.add(Double.parseDouble(partes[1].strip()));
+        }
+        return new Distribucion<>(valores, listaPesos.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    /**
+     * Crea una distribución de Zipf sobre los índices 0..n-1: el índice i tiene un peso 1/(i+1)^sesgo.
+     * Con sesgo 0 la distribución es uniforme; con sesgo 1 o más unos pocos índices concentran la mayoría.
+     *
+     * @param n Número de índices
+     * @param sesgo Exponente de la distribución
+     * @return La distribución
+     */
+    static Distribucion<Integer> zipf(int n, double sesgo) {
+        List<Integer> indices = new ArrayList<>(n);
+        double[] pesos = new double[n];
+        for (int i = 0; i < n; i++) {
+            indices.add(i);
+            pesos[i] = 1 / Math.pow(i + 1, sesgo);
+        }
+        return new Distribucion<>(indices, pesos);
+    }
+
+    /**
+     * @param aleatorio Generador de números al azar
+     * @return Un valor elegido según los pesos
+     */
+    T elegir(Random aleatorio) {
+        double punto = aleatorio.nextDouble() * acumulado[acumulado.length - 1];
+        // Búsqueda binaria del primer acumulado mayor que el punto (los valores con peso 0 nunca se eligen)
+        int desde = 0;
+        int hasta = acumulado.length - 1;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (acumulado[medio] > punto) {
+                hasta = medio;
+            } else {
+                desde = medio + 1;
+            }
+        }
+        return valores.get(desde);
+    }
+}
@@ -0,0 +1,222 @@
+package poo.tareas.carga;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.HistorialTarea;
+import poo.tareas.modelo.PrioridadTarea;
+import poo.tareas.modelo.Tarea;
+import poo.tareas.servicio.TareaIndex;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Genera el conjunto de datos sintético de la prueba de carga: N tareas y M registros de historial
+ * con las distribuciones de estado, prioridad, responsable y fecha de finalización configuradas
+ * en las propiedades tareas.carga.* (ver application-carga.properties).
+ *
+ * Las filas se insertan con lotes JDBC y los IDs explícitos 1..N, sin pasar por tareaServicio;
+ * después se adelantan las secuencias de las entidades y se recarga el índice en memoria, como
+ * hace MigracionEsquema con una base de datos existente. Con la misma semilla se generan siempre
+ * los mismos datos.
+ */
+@Component
+@Profile("carga")
+public class GeneradorDatosCarga {
+    // Logger para informar el tiempo de generación
+    private static final Logger logger = LoggerFactory.getLogger(GeneradorDatosCarga.class);
+
+    // Filas por lote JDBC
+    private static final int TAMANO_LOTE = 5_000;
+
+    // Debe coincidir con allocationSize de @SequenceGenerator en las entidades
+    private static final int TAMANO_BLOQUE_IDS = 50;
+
+    @Value("${tareas.carga.tareas:100000}")
+    private int numeroTareas;
+
+    @Value("${tareas.carga.historial:20000}")
+    private int numeroHistorial;
+
+    @Value("${tareas.carga.estados:PENDIENTE=50,EN_PROGRESO=30,COMPLETADA=20}")
+    private String pesosEstados;
+
+    @Value("${tareas.carga.prioridades:ALTA=20,MEDIA=30,BAJA=50}")
+    private String pesosPrioridades;
+
+    @Value("${tareas.carga.responsables:500}")
+    private int numeroResponsables;
+
+    @Value("${tareas.carga.responsables-sesgo:1.0}")
+    private double sesgoResponsables;
+
+    @Value("${tareas.carga.plazo-minimo-dias:-30}")
+    private int plazoMinimoDias;
+
+    @Value("${tareas.carga.plazo-maximo-dias:90}")
+    private int plazoMaximoDias;
+
+    @Value("${tareas.carga.semilla:42}")
+    private long semilla;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TareaIndex tareaIndex;
+
+    private Distribucion<EstadoTarea> estados;
+    private Distribucion<PrioridadTarea> prioridades;
+    private Distribucion<Integer> responsables;
+
+    /**
+     * Resultado de la generación.
+     *
+     * @param tareas Tareas insertadas (con IDs 1..tareas)
+     * @param historial Registros de historial insertados
+     * @param milisegundos Tiempo de la generación, incluida la recarga del índice
+     */
+    public record DatosGenerados(int tareas, int historial, long milisegundos) {
+    }
+
+    @PostConstruct
+    void crearDistribuciones() {
+        if (plazoMaximoDias < plazoMinimoDias) {
+            throw new IllegalArgumentException("tareas.carga.plazo-maximo-dias es menor que tareas.carga.plazo-minimo-dias");
+        }
+        estados = Distribucion.deEnum(EstadoTarea.class, pesosEstados);
+        prioridades = Distribucion.deEnum(PrioridadTarea.class, pesosPrioridades);
+        responsables = Distribucion.zipf(numeroResponsables, sesgoResponsables);
+    }
+
+    /**
+     * Inserta las tareas y el historial en la base de datos, que debe estar vacía.
+     *
+     * @return Número de filas insertadas y tiempo empleado
+     */
+    public DatosGenerados generar() {
+        long inicio = System.nanoTime();
+        Random aleatorio = new Random(semilla);
+        LocalDate hoy = LocalDate.now();
+
+        List<Object[]> lote = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 1; i <= numeroTareas; i++) {
+            Tarea tarea = nuevaTarea(aleatorio, hoy);
+            lote.add(new Object[]{i, tarea.getNombreTarea(), tarea.getResponsableTarea(), tarea.getDescripcionTarea(),
+                    marca(tarea.getFechaInicioTarea()), marca(tarea.getFechaFinTarea()),
+                    tarea.getEstadoTarea().getCodigo(), tarea.getPrioridadTarea().getCodigo()});
+            if (lote.size() == TAMANO_LOTE || i == numeroTareas) {
+                jdbcTemplate.batchUpdate("insert into tarea (id_tarea, nombre_tarea, responsable_tarea, descripcion_tarea, " +
+                        "fecha_inicio_tarea, fecha_fin_tarea, estado_tarea, prioridad_tarea) values (?, ?, ?, ?, ?, ?, ?, ?)", lote);
+                lote.clear();
+            }
+        }
+
+        for (int i = 1; i <= numeroHistorial; i++) {
+            // Los registros del historial corresponden a tareas eliminadas, con IDs posteriores a los de las tareas
+            Tarea tarea = nuevaTarea(aleatorio, hoy);
+            tarea.setIdTarea(numeroTareas + i);
+            HistorialTarea historial = new HistorialTarea(tarea, "ELIMINACIÓN");
+            historial.setFechaEliminacion(fecha(hoy.minusDays(aleatorio.nextInt(365))));
+            lote.add(new Object[]{i, historial.getIdTareaOriginal(), historial.getNombreTarea(),
+                    historial.getResponsableTarea(), historial.getDescripcionTarea(),
+                    marca(historial.getFechaInicioTarea()), marca(historial.getFechaFinTarea()),
+                    historial.getEstadoTarea().getCodigo(), historial.getPrioridadTarea().getCodigo(),
+                    marca(historial.getFechaEliminacion()), historial.getAccion()});
+            if (lote.size() == TAMANO_LOTE || i == numeroHistorial) {
+                jdbcTemplate.batchUpdate("insert into historial_tarea (id_historial, id_tarea_original, nombre_tarea, " +
+                        "responsable_tarea, descripcion_tarea, fecha_inicio_tarea, fecha_fin_tarea, estado_tarea, " +
+                        "prioridad_tarea, fecha_eliminacion, accion) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", lote);
+                lote.clear();
+            }
+        }
+
+        // Los IDs generados por Hibernate deben quedar por encima de los insertados
+        adelantarSecuencia("tarea_seq", numeroTareas + numeroHistorial);
+        adelantarSecuencia("historial_tarea_seq", numeroHistorial);
+        tareaIndex.recargar();
+
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+        logger.info("Datos generados: {} tareas y {} registros de historial en {} ms", numeroTareas, numeroHistorial, milisegundos);
+        return new DatosGenerados(numeroTareas, numeroHistorial, milisegundos);
+    }
+
+    /**
+     * Crea una tarea nueva (sin ID) con las distribuciones configuradas. La fecha de finalización
+     * está entre plazo-minimo-dias y plazo-maximo-dias respecto de hoy, y la de inicio entre 1 y 30
+     * días antes.
+     *
+     * @param aleatorio Generador de números al azar (uno por hilo)
+     * @param hoy Fecha de referencia
+     * @return La tarea
+     */
+    public Tarea nuevaTarea(Random aleatorio, LocalDate hoy) {
+        int numero = aleatorio.nextInt(1_000_000);
+        LocalDate fin = hoy.plusDays(plazoMinimoDias + aleatorio.nextInt(plazoMaximoDias - plazoMinimoDias + 1));
+        LocalDate inicio = fin.minusDays(1 + aleatorio.nextInt(30));
+        Tarea tarea = new Tarea();
+        tarea.setNombreTarea("Tarea " + numero);
+        tarea.setResponsableTarea(responsable(aleatorio));
+        tarea.setDescripcionTarea("Descripción de la tarea " + numero);
+        tarea.setFechaInicioTarea(fecha(inicio));
+        tarea.setFechaFinTarea(fecha(fin));
+        tarea.setEstadoTarea(estados.elegir(aleatorio));
+        tarea.setPrioridadTarea(prioridades.elegir(aleatorio));
+        return tarea;
+    }
+
+    /**
+     * @param aleatorio Generador de números al azar
+     * @return Nombre de un responsable elegido con la distribución configurada
+     */
+    public String responsable(Random aleatorio) {
+        return "Responsable " + responsables.elegir(aleatorio);
+    }
+
+    /**
+     * @param aleatorio Generador de números al azar
+     * @return Estado elegido con la distribución configurada
+     */
+    public EstadoTarea estado(Random aleatorio) {
+        return estados.elegir(aleatorio);
+    }
+
+    /**
+     * @param aleatorio Generador de números al azar
+     * @return Prioridad elegida con la distribución configurada
+     */
+    public PrioridadTarea prioridad(Random aleatorio) {
+        return prioridades.elegir(aleatorio);
+    }
+
+    /**
+     * @return Número de tareas que se generan (el mayor ID insertado)
+     */
+    public int getNumeroTareas() {
+        return numeroTareas;
+    }
+
+    private void adelantarSecuencia(String secuencia, int maxId) {
+        jdbcTemplate.execute("alter sequence " + secuencia + " restart with " + (maxId + TAMANO_BLOQUE_IDS));
+    }
+
+    private static Date fecha(LocalDate dia) {
+        return Date.from(dia.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static Timestamp marca(Date fecha) {
+        return new Timestamp(fecha.getTime());
+    }
+}
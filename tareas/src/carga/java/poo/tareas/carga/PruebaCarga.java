@@ -0,0 +1,293 @@
+package poo.tareas.carga;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import poo.tareas.modelo.FiltroTareas;
+import poo.tareas.modelo.Tarea;
+import poo.tareas.repositorio.EspecificacionesTarea;
+import poo.tareas.servicio.BarridoNocturnoService;
+import poo.tareas.servicio.ExportacionExcelService;
+import poo.tareas.servicio.IHistorialTareaServicio;
+import poo.tareas.servicio.ITareaServicio;
+import poo.tareas.servicio.RelojDiario;
+import poo.tareas.servicio.ResumenMetricasService;
+import poo.tareas.servicio.TareaIndex;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prueba de carga sin interfaz gráfica: genera los datos con GeneradorDatosCarga y, durante el
+ * tiempo configurado, varios hilos llaman a tareaServicio y al servicio del historial con la
+ * mezcla de operaciones de tareas.carga.mezcla. Al mismo tiempo se ejecutan periódicamente las
+ * dos tareas programadas (barrido nocturno y reloj diario) y la exportación a Excel, como si la
+ * aplicación estuviera abierta.
+ *
+ * Cada operación se mide con un Timer "carga.operacion" (etiqueta operacion) con percentiles
+ * calculados sobre toda la prueba; al terminar se informa en el log el rendimiento (operaciones
+ * por segundo), los percentiles 50, 95 y 99 y los errores de cada operación, seguidos del resumen
+ * de ResumenMetricasService (tiempos de los servicios, pool de conexiones e Hibernate).
+ */
+@Component
+@Profile("carga")
+public class PruebaCarga {
+    // Logger donde se escribe el informe
+    private static final Logger logger = LoggerFactory.getLogger(PruebaCarga.class);
+
+    // Tamaño de las páginas que se piden, como las de la tabla de la interfaz
+    private static final int TAMANO_PAGINA = 50;
+
+    // Propiedades por las que se ordenan las búsquedas
+    private static final List<String> ORDENES = List.copyOf(EspecificacionesTarea.PROPIEDADES_ORDENABLES);
+
+    /**
+     * Operaciones que ejecutan los hilos de la prueba.
+     */
+    enum Operacion {
+        LISTAR, BUSCAR, CREAR, ACTUALIZAR, COMPLETAR, ELIMINAR, HISTORIAL
+    }
+
+    /**
+     * Operación medida; puede lanzar excepciones comprobadas (la exportación).
+     */
+    @FunctionalInterface
+    private interface Accion {
+        void ejecutar() throws Exception;
+    }
+
+    @Value("${tareas.carga.hilos:8}")
+    private int hilos;
+
+    @Value("${tareas.carga.duracion:PT30S}")
+    private Duration duracion;
+
+    @Value("${tareas.carga.mezcla:LISTAR=35,BUSCAR=20,CREAR=15,ACTUALIZAR=15,COMPLETAR=5,ELIMINAR=5,HISTORIAL=5}")
+    private String pesosMezcla;
+
+    @Value("${tareas.carga.intervalo-programadas:PT5S}")
+    private Duration intervaloProgramadas;
+
+    @Value("${tareas.carga.intervalo-exportacion:PT15S}")
+    private Duration intervaloExportacion;
+
+    @Value("${tareas.carga.semilla:42}")
+    private long semilla;
+
+    @Autowired
+    private GeneradorDatosCarga generador;
+
+    @Autowired
+    private ITareaServicio tareaServicio;
+
+    @Autowired
+    private TareaIndex tareaIndex;
+
+    @Autowired
+    private IHistorialTareaServicio historialTareaServicio;
+
+    @Autowired
+    private BarridoNocturnoService barridoNocturnoService;
+
+    @Autowired
+    private RelojDiario relojDiario;
+
+    @Autowired
+    private ExportacionExcelService exportacionExcelService;
+
+    @Autowired
+    private ResumenMetricasService resumenMetricasService;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    private final Map<String, Timer> tiempos = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errores = new ConcurrentHashMap<>();
+    // Operaciones cuyo primer error ya se registró en el log
+    private final Set<String> erroresInformados = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Genera los datos, ejecuta la carga durante el tiempo configurado y escribe el informe.
+     *
+     * @return Número total de operaciones que fallaron (por ejemplo, por conflictos de bloqueo
+     *         entre hilos que modifican la misma tarea)
+     * @throws InterruptedException Si se interrumpe la espera de los hilos
+     */
+    public long ejecutar() throws InterruptedException {
+        generador.generar();
+        Distribucion<Operacion> mezcla = Distribucion.deEnum(Operacion.class, pesosMezcla);
+        AtomicInteger numeroHilo = new AtomicInteger();
+        ExecutorService trabajadores = Executors.newFixedThreadPool(hilos,
+                tarea -> new Thread(tarea, "carga-" + numeroHilo.incrementAndGet()));
+        ScheduledExecutorService programadas = Executors.newScheduledThreadPool(2,
+                tarea -> new Thread(tarea, "carga-programada"));
+
+        logger.info("Prueba de carga: {} hilos durante {} s", hilos, duracion.toSeconds());
+        long inicio = System.nanoTime();
+        long fin = inicio + duracion.toNanos();
+        programadas.scheduleWithFixedDelay(() -> medir("barrido", barridoNocturnoService::barridoProgramado),
+                0, intervaloProgramadas.toMillis(), TimeUnit.MILLISECONDS);
+        programadas.scheduleWithFixedDelay(() -> medir("reloj", relojDiario::verificarCambioDeDia),
+                0, intervaloProgramadas.toMillis(), TimeUnit.MILLISECONDS);
+        programadas.scheduleWithFixedDelay(() -> medir("exportacion", this::exportar),
+                0, intervaloExportacion.toMillis(), TimeUnit.MILLISECONDS);
+        for (int i = 0; i < hilos; i++) {
+            // Una semilla distinta por hilo, para que la secuencia de operaciones sea reproducible
+            Random aleatorio = new Random(semilla + i);
+            trabajadores.execute(() -> trabajar(mezcla, aleatorio, fin));
+        }
+        trabajadores.shutdown();
+        trabajadores.awaitTermination(duracion.toMillis() + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        // Se espera a que termine la exportación en curso
+        programadas.shutdown();
+        programadas.awaitTermination(5, TimeUnit.MINUTES);
+
+        informar(segundos);
+        logger.info("Métricas: {}", resumenMetricasService.resumir());
+        return errores.values().stream().mapToLong(contador -> (long) contador.count()).sum();
+    }
+
+    private void trabajar(Distribucion<Operacion> mezcla, Random aleatorio, long fin) {
+        while (System.nanoTime() < fin) {
+            Operacion operacion = mezcla.elegir(aleatorio);
+            medir(operacion.name().toLowerCase(Locale.ROOT), () -> ejecutar(operacion, aleatorio));
+        }
+    }
+
+    private void ejecutar(Operacion operacion, Random aleatorio) {
+        switch (operacion) {
+            case LISTAR -> tareaIndex.listarSiguientes(idAleatorio(aleatorio), TAMANO_PAGINA);
+            case BUSCAR -> tareaServicio.buscarTareasSiguientes(filtroAleatorio(aleatorio),
+                    Sort.Order.asc(ORDENES.get(aleatorio.nextInt(ORDENES.size()))), null, TAMANO_PAGINA);
+            case CREAR -> tareaServicio.guardarTarea(generador.nuevaTarea(aleatorio, relojDiario.hoy()));
+            case ACTUALIZAR -> {
+                Tarea tarea = tareaServicio.buscarTareaPorId(idAleatorio(aleatorio));
+                if (tarea != null) {
+                    tarea.setPrioridadTarea(generador.prioridad(aleatorio));
+                    tarea.setResponsableTarea(generador.responsable(aleatorio));
+                    tareaServicio.actualizarTarea(tarea);
+                }
+            }
+            case COMPLETAR -> tareaServicio.completarTareas(idsAleatorios(aleatorio, 5));
+            case ELIMINAR -> tareaServicio.eliminarTareas(idsAleatorios(aleatorio, 3));
+            case HISTORIAL -> historialTareaServicio.listarHistorialSiguiente(null, TAMANO_PAGINA);
+        }
+    }
+
+    /**
+     * Exporta todas las tareas a un archivo temporal, que se borra al terminar.
+     */
+    private void exportar() throws Exception {
+        File archivo = Files.createTempFile("carga-", ".xlsx").toFile();
+        try {
+            exportacionExcelService.exportarTareas(archivo, (filas, total) -> { }, () -> false);
+        } finally {
+            Files.deleteIfExists(archivo.toPath());
+        }
+    }
+
+    /**
+     * Mide una operación; si falla se cuenta como error y no se mide su tiempo.
+     */
+    private void medir(String operacion, Accion accion) {
+        Timer.Sample muestra = Timer.start(registro);
+        try {
+            accion.ejecutar();
+            muestra.stop(tiempo(operacion));
+        } catch (Exception e) {
+            errores.computeIfAbsent(operacion, nombre -> registro.counter("carga.errores", "operacion", nombre)).increment();
+            if (erroresInformados.add(operacion)) {
+                logger.warn("Primer error en la operación {}: {}", operacion, e.toString());
+            }
+        }
+    }
+
+    private Timer tiempo(String operacion) {
+        return tiempos.computeIfAbsent(operacion, nombre -> Timer.builder("carga.operacion")
+                .tag("operacion", nombre)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .percentilePrecision(2)
+                // Los percentiles abarcan toda la prueba y no solo los últimos minutos
+                .distributionStatisticExpiry(duracion.plusMinutes(10))
+                .distributionStatisticBufferLength(1)
+                .register(registro));
+    }
+
+    private int idAleatorio(Random aleatorio) {
+        return 1 + aleatorio.nextInt(Math.max(1, generador.getNumeroTareas()));
+    }
+
+    private List<Integer> idsAleatorios(Random aleatorio, int maximo) {
+        int cantidad = 1 + aleatorio.nextInt(maximo);
+        List<Integer> ids = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            ids.add(idAleatorio(aleatorio));
+        }
+        return ids;
+    }
+
+    /**
+     * Filtro por estado, por inicio del responsable o por texto, elegido al azar.
+     */
+    private FiltroTareas filtroAleatorio(Random aleatorio) {
+        return switch (aleatorio.nextInt(3)) {
+            case 0 -> new FiltroTareas(generador.estado(aleatorio), null, null, null, null, null);
+            case 1 -> new FiltroTareas(null, null, generador.responsable(aleatorio), null, null, null);
+            default -> FiltroTareas.NINGUNO.conTexto(String.valueOf(aleatorio.nextInt(1000)));
+        };
+    }
+
+    /**
+     * Escribe una línea por operación, ordenadas por nombre, y el total.
+     */
+    private void informar(double segundos) {
+        Map<String, Timer> ordenados = new TreeMap<>(tiempos);
+        errores.keySet().forEach(operacion -> ordenados.computeIfAbsent(operacion, this::tiempo));
+        long total = 0;
+        long totalErrores = 0;
+        StringBuilder informe = new StringBuilder();
+        for (Map.Entry<String, Timer> entrada : ordenados.entrySet()) {
+            HistogramSnapshot muestra = entrada.getValue().takeSnapshot();
+            Counter contador = errores.get(entrada.getKey());
+            long fallidas = contador != null ? (long) contador.count() : 0;
+            total += muestra.count();
+            totalErrores += fallidas;
+            informe.append(String.format(Locale.ROOT, "%n  %-12s n=%-8d %9.1f op/s", entrada.getKey(),
+                    muestra.count(), muestra.count() / segundos));
+            if (muestra.count() > 0) {
+                for (ValueAtPercentile percentil : muestra.percentileValues()) {
+                    informe.append(String.format(Locale.ROOT, " p%d=%.2fms",
+                            Math.round(percentil.percentile() * 100), percentil.value(TimeUnit.MILLISECONDS)));
+                }
+                informe.append(String.format(Locale.ROOT, " máx=%.2fms", muestra.max(TimeUnit.MILLISECONDS)));
+            }
+            informe.append(" errores=").append(fallidas);
+        }
+        logger.info(String.format(Locale.ROOT, "Resultado de la prueba de carga: %d hilos, %.1f s, %d operaciones " +
+                "(%.1f op/s), %d errores", hilos, segundos, total, total / segundos, totalErrores) + informe);
+    }
+}
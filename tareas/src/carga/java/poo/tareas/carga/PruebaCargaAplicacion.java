@@ -0,0 +1,27 @@
+package poo.tareas.carga;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import poo.tareas.TareasApplication;
+
+/**
+ * Punto de entrada de la prueba de carga (perfil de Maven "carga"). Inicia solo el contexto de
+ * Spring con el perfil "carga", sin JavaFX: los controladores se crean pero no se carga ninguna
+ * vista, así que ignoran los eventos de tareas. Las operaciones que fallan se cuentan en el
+ * informe y no detienen la prueba.
+ */
+public class PruebaCargaAplicacion {
+
+    public static void main(String[] args) throws InterruptedException {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(TareasApplication.class)
+                .profiles("carga")
+                .web(WebApplicationType.NONE)
+                .headless(true)
+                .run(args)) {
+            contexto.getBean(PruebaCarga.class).ejecutar();
+        }
+        // Los hilos del planificador de Spring no son demonios
+        System.exit(0);
+    }
+}
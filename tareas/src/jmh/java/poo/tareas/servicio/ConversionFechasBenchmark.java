@@ -0,0 +1,68 @@
+package poo.tareas.servicio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import poo.tareas.modelo.Tarea;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversiones de Date a LocalDate de las celdas de las tablas, sobre 1024 tareas:
+ * - instante: Instant.ofEpochMilli(...).atZone(...).toLocalDate(), como diasHastaFin
+ * - zonaPorLlamada: la misma conversión consultando ZoneId.systemDefault() en cada tarea
+ * - plazoReloj: RelojDiario.plazo, que guarda el plazo de cada tarea durante el día
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionFechasBenchmark {
+	private static final int FILAS = 1024;
+
+	private final ZoneId zona = ZoneId.systemDefault();
+	private List<Tarea> tareas;
+	private RelojDiario relojDiario;
+
+	@Setup
+	public void preparar() {
+		tareas = DatosBenchmark.tareas(FILAS, LocalDate.now());
+		relojDiario = new RelojDiario();
+	}
+
+	@Benchmark
+	public void instante(Blackhole salida) {
+		for (Tarea tarea : tareas) {
+			salida.consume(Instant.ofEpochMilli(tarea.getFechaFinTarea().getTime()).atZone(zona).toLocalDate());
+		}
+	}
+
+	@Benchmark
+	public void zonaPorLlamada(Blackhole salida) {
+		for (Tarea tarea : tareas) {
+			salida.consume(Instant.ofEpochMilli(tarea.getFechaFinTarea().getTime())
+					.atZone(ZoneId.systemDefault()).toLocalDate());
+		}
+	}
+
+	@Benchmark
+	public void plazoReloj(Blackhole salida) {
+		for (Tarea tarea : tareas) {
+			salida.consume(relojDiario.plazo(tarea));
+		}
+	}
+}
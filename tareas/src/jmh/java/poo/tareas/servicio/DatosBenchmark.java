@@ -0,0 +1,62 @@
+package poo.tareas.servicio;
+
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.PrioridadTarea;
+import poo.tareas.modelo.Tarea;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Tareas de prueba para los benchmarks. Se generan siempre iguales (semilla fija) para que
+ * los resultados de distintas versiones se puedan comparar: fechas de finalización entre
+ * 10 días atrás y 10 días adelante, y estados y prioridades repartidos por igual.
+ */
+final class DatosBenchmark {
+	private static final long SEMILLA = 42;
+
+	private DatosBenchmark() {
+	}
+
+	/**
+	 * @param filas Número de tareas
+	 * @param hoy Fecha de referencia de las fechas de finalización
+	 * @return Lista de tareas con ID de 1 a filas
+	 */
+	static List<Tarea> tareas(int filas, LocalDate hoy) {
+		List<Tarea> tareas = new ArrayList<>(filas);
+		recorrer(filas, hoy).forEachRemaining(tareas::add);
+		return tareas;
+	}
+
+	/**
+	 * Genera las tareas a medida que se recorren, sin tenerlas todas en memoria
+	 * (como el cursor de la exportación).
+	 *
+	 * @param filas Número de tareas
+	 * @param hoy Fecha de referencia de las fechas de finalización
+	 * @return Iterador de tareas con ID de 1 a filas
+	 */
+	static Iterator<Tarea> recorrer(int filas, LocalDate hoy) {
+		SplittableRandom aleatorio = new SplittableRandom(SEMILLA);
+		EstadoTarea[] estados = EstadoTarea.values();
+		PrioridadTarea[] prioridades = PrioridadTarea.values();
+		return IntStream.rangeClosed(1, filas).mapToObj(id -> {
+			Tarea tarea = new Tarea();
+			tarea.setIdTarea(id);
+			tarea.setNombreTarea("Tarea " + id);
+			tarea.setDescripcionTarea("Descripción de la tarea " + id);
+			tarea.setResponsableTarea("Responsable " + aleatorio.nextInt(50));
+			tarea.setEstadoTarea(estados[aleatorio.nextInt(estados.length)]);
+			tarea.setPrioridadTarea(prioridades[aleatorio.nextInt(prioridades.length)]);
+			tarea.setFechaInicioTarea(Timestamp.valueOf(hoy.minusDays(20).atStartOfDay()));
+			tarea.setFechaFinTarea(Timestamp.valueOf(hoy.plusDays(aleatorio.nextInt(-10, 11)).atStartOfDay()));
+			return tarea;
+		}).iterator();
+	}
+}
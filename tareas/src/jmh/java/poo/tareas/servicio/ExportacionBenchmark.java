@@ -0,0 +1,98 @@
+package poo.tareas.servicio;
+
+import javafx.application.Platform;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import poo.tareas.modelo.Tarea;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exportación a Excel. Cada invocación escribe el libro completo, así que se mide una sola
+ * ejecución por iteración:
+ * - escribirLibro: la exportación de ExportacionExcelService (SXSSF, tareas generadas a medida
+ *   que se recorren, como con el cursor de la base de datos), descartando el archivo
+ * - exportarTabla: ExcelExporter.exportTableToExcel desde un TableView. Usa XSSF, que mantiene
+ *   todo el libro en memoria, por eso no se mide con un millón de filas. Los controles de JavaFX
+ *   necesitan el toolkit iniciado, así que este benchmark requiere un entorno gráfico
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExportacionBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Libro {
+		@Param({"1000", "100000", "1000000"})
+		private int filas;
+
+		private final ExportacionExcelService exportacion = new ExportacionExcelService();
+	}
+
+	@State(Scope.Benchmark)
+	public static class Tabla {
+		@Param({"1000", "100000"})
+		private int filas;
+
+		private TableView<Tarea> tabla;
+		private Path archivo;
+
+		@Setup
+		public void preparar() throws IOException {
+			Platform.startup(() -> { });
+			tabla = new TableView<>();
+			agregarColumna("ID", "idTarea");
+			agregarColumna("Nombre Tarea", "nombreTarea");
+			agregarColumna("Descripción Tarea", "descripcionTarea");
+			agregarColumna("Responsable", "responsableTarea");
+			agregarColumna("Estado Tarea", "estadoTarea");
+			agregarColumna("Prioridad Tarea", "prioridadTarea");
+			agregarColumna("Fecha de Inicio", "fechaInicioTarea");
+			agregarColumna("Fecha de Finalización", "fechaFinTarea");
+			tabla.getItems().setAll(DatosBenchmark.tareas(filas, LocalDate.now()));
+			archivo = Files.createTempFile("tareas-benchmark", ".xlsx");
+		}
+
+		private void agregarColumna(String titulo, String propiedad) {
+			TableColumn<Tarea, Object> columna = new TableColumn<>(titulo);
+			columna.setCellValueFactory(new PropertyValueFactory<>(propiedad));
+			tabla.getColumns().add(columna);
+		}
+
+		@TearDown
+		public void limpiar() throws IOException {
+			Files.deleteIfExists(archivo);
+		}
+	}
+
+	@Benchmark
+	public long escribirLibro(Libro libro) throws IOException {
+		return libro.exportacion.escribirLibro(DatosBenchmark.recorrer(libro.filas, LocalDate.now()), libro.filas,
+				OutputStream.nullOutputStream(), tarea -> { }, (escritas, total) -> { }, () -> false);
+	}
+
+	@Benchmark
+	public void exportarTabla(Tabla tabla) throws IOException {
+		ExcelExporter.exportTableToExcel(tabla.tabla, tabla.archivo.toString());
+	}
+}
@@ -0,0 +1,63 @@
+package poo.tareas.servicio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.PrioridadTarea;
+import poo.tareas.modelo.Tarea;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clasificación de prioridades de PrioridadActualizadorService (modo entidad y barrido
+ * nocturno): días hasta la fecha de finalización y prioridad que corresponde a cada tarea.
+ * No modifica las tareas, así que cada invocación hace el mismo trabajo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrioridadesBenchmark {
+	@Param({"1000", "100000"})
+	private int filas;
+
+	private List<Tarea> tareas;
+	private LocalDate hoy;
+
+	@Setup
+	public void preparar() {
+		hoy = LocalDate.now();
+		tareas = DatosBenchmark.tareas(filas, hoy);
+	}
+
+	/**
+	 * Mismo recorrido que actualizarPrioridadesPorEntidad, contando las tareas cuya prioridad cambiaría.
+	 */
+	@Benchmark
+	public int clasificarPrioridades() {
+		int cambios = 0;
+		for (Tarea tarea : tareas) {
+			if (tarea.getEstadoTarea() != EstadoTarea.COMPLETADA && tarea.getFechaFinTarea() != null) {
+				long dias = PrioridadActualizadorService.diasHastaFin(tarea.getFechaFinTarea(), hoy);
+				PrioridadTarea nueva = PrioridadActualizadorService.calcularPrioridad(dias);
+				if (nueva != tarea.getPrioridadTarea()) {
+					cambios++;
+				}
+			}
+		}
+		return cambios;
+	}
+}
@@ -0,0 +1,91 @@
+package poo.tareas.servicio;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.Tarea;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detección de tareas vencidas y conciliación de la lista de notificaciones:
+ * - vencidasDirecto: convierte la fecha de finalización de cada tarea (como el barrido nocturno)
+ * - vencidasReloj: usa los plazos guardados de RelojDiario (como las celdas de las tablas)
+ * - publicarVencidas: NotificacionService.publicarVencidas con tareas que ya están en la lista,
+ *   de modo que cada una pasa por contieneTarea
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VencimientosBenchmark {
+	@Param({"1000", "100000"})
+	private int filas;
+
+	private List<Tarea> tareas;
+	private List<Tarea> vencidas;
+	private LocalDate hoy;
+	private RelojDiario relojDiario;
+	private NotificacionService notificacionService;
+
+	@Setup
+	public void preparar() {
+		hoy = LocalDate.now();
+		tareas = DatosBenchmark.tareas(filas, hoy);
+		vencidas = new ArrayList<>();
+		for (Tarea tarea : tareas) {
+			if (tarea.getEstadoTarea() != EstadoTarea.COMPLETADA
+					&& PrioridadActualizadorService.diasHastaFin(tarea.getFechaFinTarea(), hoy) <= 0) {
+				vencidas.add(tarea);
+			}
+		}
+		relojDiario = new RelojDiario();
+		notificacionService = new NotificacionService();
+		ReflectionTestUtils.setField(notificacionService, "registro", new SimpleMeterRegistry());
+		notificacionService.publicarVencidas(vencidas);
+	}
+
+	@Benchmark
+	public int vencidasDirecto() {
+		int total = 0;
+		for (Tarea tarea : tareas) {
+			if (tarea.getEstadoTarea() != EstadoTarea.COMPLETADA
+					&& PrioridadActualizadorService.diasHastaFin(tarea.getFechaFinTarea(), hoy) <= 0) {
+				total++;
+			}
+		}
+		return total;
+	}
+
+	@Benchmark
+	public int vencidasReloj() {
+		int total = 0;
+		for (Tarea tarea : tareas) {
+			if (relojDiario.plazo(tarea).vencida()) {
+				total++;
+			}
+		}
+		return total;
+	}
+
+	@Benchmark
+	public int publicarVencidas() {
+		return notificacionService.publicarVencidas(vencidas);
+	}
+}
@@ -8,6 +8,9 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import poo.tareas.presentacion.SistemasTareasFx;
+import poo.tareas.presentacion.SistemasTareasLote;
+
+import java.util.Arrays;
 
 /**
  * Clase principal de la aplicación de gestión de tareas.
@@ -26,10 +29,16 @@ public class TareasApplication {
 	 * Método principal que inicia la aplicación.
 	 * En lugar de iniciar directamente SpringApplication, lanzamos la aplicación
 	 * JavaFX (SistemasTareasFx) que servirá como interfaz gráfica.
+	 * Si el primer argumento es "lote", se inicia el modo por lotes sin interfaz
+	 * (SistemasTareasLote) con el resto de los argumentos.
 	 * 
 	 * @param args Argumentos de línea de comandos que se pasan a la aplicación JavaFX
 	 */
 	public static void main(String[] args) {
+		if (args.length > 0 && args[0].equals(SistemasTareasLote.PERFIL)) {
+			SistemasTareasLote.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
 		Application.launch(SistemasTareasFx.class, args);
 	}
 
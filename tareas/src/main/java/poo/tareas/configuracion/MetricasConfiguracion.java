@@ -0,0 +1,30 @@
+package poo.tareas.configuracion;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de las métricas de Micrometer.
+ *
+ * Los métodos y las clases anotados con @Timed se miden con TimedAspect (las clases anotadas
+ * miden todos sus métodos públicos, con la clase y el método como etiquetas). Spring Boot
+ * registra además las métricas del pool de conexiones (hikaricp.*) y de las estadísticas de
+ * Hibernate (hibernate.*). Como la aplicación no tiene servidor web, las métricas se publican
+ * por JMX (dominio "tareas", visibles con JConsole) y ResumenMetricasService las resume en el log.
+ */
+@Configuration
+public class MetricasConfiguracion {
+
+    /**
+     * Aspecto que mide las llamadas a los métodos anotados con @Timed.
+     *
+     * @param registro Registro de métricas de la aplicación
+     * @return El aspecto
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registro) {
+        return new TimedAspect(registro);
+    }
+}
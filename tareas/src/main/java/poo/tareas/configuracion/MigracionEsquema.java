@@ -0,0 +1,114 @@
+package poo.tareas.configuracion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.PrioridadTarea;
+
+import java.util.function.Function;
+
+/**
+ * Ajustes de esquema que Hibernate no realiza con ddl-auto=update sobre una base de datos existente.
+ * Se ejecuta una vez al iniciar la aplicación, antes de que se muestre la interfaz.
+ * 
+ * Las entidades usan secuencias con bloques de 50 IDs. En MySQL, Hibernate emula cada secuencia
+ * con una tabla (tarea_seq, historial_tarea_seq) que empieza en 1, por lo que en una base de datos
+ * que ya tenía filas creadas con AUTO_INCREMENT se generarían IDs repetidos. Aquí se adelanta el
+ * valor de cada secuencia por encima del mayor ID existente.
+ *
+ * El estado y la prioridad se guardan como códigos TINYINT (ver EstadoTarea y PrioridadTarea).
+ * Si las columnas todavía son VARCHAR con las etiquetas ("Pendiente", "Alta", ...), se traducen
+ * las etiquetas a sus códigos y se cambia el tipo de la columna.
+ *
+ * La búsqueda en el historial usa un índice FULLTEXT sobre el nombre, la descripción y el
+ * responsable; JPA no puede declararlo en la entidad, así que se crea aquí si no existe.
+ */
+@Component
+@Order(0)
+public class MigracionEsquema implements ApplicationRunner {
+    // Logger para registrar los ajustes realizados
+    private static final Logger logger = LoggerFactory.getLogger(MigracionEsquema.class);
+
+    // Debe coincidir con allocationSize de @SequenceGenerator en las entidades
+    private static final int TAMANO_BLOQUE_IDS = 50;
+
+    // Índice FULLTEXT de la búsqueda por texto en el historial
+    private static final String INDICE_TEXTO_HISTORIAL = "ft_historial_texto";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MotorBaseDatos motorBaseDatos;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!motorBaseDatos.esMySql()) {
+            return;
+        }
+        for (String tabla : new String[]{"tarea", "historial_tarea"}) {
+            convertirACodigos(tabla, "estado_tarea", EstadoTarea.values(), EstadoTarea::getCodigo);
+            convertirACodigos(tabla, "prioridad_tarea", PrioridadTarea.values(), PrioridadTarea::getCodigo);
+        }
+        crearIndiceTextoCompleto();
+        sincronizarSecuencia("tarea_seq", "tarea", "id_tarea");
+        sincronizarSecuencia("historial_tarea_seq", "historial_tarea", "id_historial");
+    }
+
+    /**
+     * Convierte una columna VARCHAR con etiquetas en una columna TINYINT con los códigos del enum.
+     * Las etiquetas desconocidas quedan en null. No hace nada si la columna ya es numérica.
+     */
+    private <E extends Enum<E>> void convertirACodigos(String tabla, String columna, E[] valores, Function<E, Byte> codigo) {
+        String tipo = jdbcTemplate.query("select data_type from information_schema.columns " +
+                        "where table_schema = database() and table_name = ? and column_name = ?",
+                rs -> rs.next() ? rs.getString(1) : null, tabla, columna);
+        if (tipo == null || !tipo.toLowerCase().contains("char")) {
+            return;
+        }
+        StringBuilder caso = new StringBuilder("case ").append(columna);
+        for (E valor : valores) {
+            caso.append(" when '").append(valor).append("' then '").append(codigo.apply(valor)).append("'");
+        }
+        caso.append(" else null end");
+        int filas = jdbcTemplate.update("update " + tabla + " set " + columna + " = " + caso);
+        jdbcTemplate.execute("alter table " + tabla + " modify " + columna + " tinyint null");
+        logger.info("Columna {}.{} convertida a TINYINT ({} filas)", tabla, columna, filas);
+    }
+
+    /**
+     * Crea el índice FULLTEXT de la búsqueda en el historial (ver HistorialTareaRepositorio.buscarTextoAnterioresA).
+     * En una tabla grande la creación puede tardar; solo ocurre la primera vez.
+     */
+    private void crearIndiceTextoCompleto() {
+        Integer existe = jdbcTemplate.queryForObject("select count(*) from information_schema.statistics " +
+                "where table_schema = database() and table_name = 'historial_tarea' and index_name = ?",
+                Integer.class, INDICE_TEXTO_HISTORIAL);
+        if (existe != null && existe > 0) {
+            return;
+        }
+        jdbcTemplate.execute("alter table historial_tarea add fulltext index " + INDICE_TEXTO_HISTORIAL +
+                " (nombre_tarea, descripcion_tarea, responsable_tarea)");
+        logger.info("Índice FULLTEXT {} creado en historial_tarea", INDICE_TEXTO_HISTORIAL);
+    }
+
+    /**
+     * Coloca el siguiente valor de la tabla de secuencia de modo que el primer bloque
+     * de IDs reservado empiece después del mayor ID de la tabla.
+     */
+    private void sincronizarSecuencia(String secuencia, String tabla, String columnaId) {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(" + columnaId + "), 0) from " + tabla, Long.class);
+        long siguiente = maxId + TAMANO_BLOQUE_IDS;
+        int filas = jdbcTemplate.update("update " + secuencia + " set next_val = ? where next_val < ?", siguiente, siguiente);
+        if (filas > 0) {
+            logger.info("Secuencia {} ajustada a {} (mayor ID en {}: {})", secuencia, siguiente, tabla, maxId);
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package poo.tareas.configuracion;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+
+/**
+ * Identifica el motor de base de datos al que está conectada la aplicación.
+ *
+ * La aplicación usa MySQL, pero las pruebas se ejecutan sobre H2; las funciones propias de
+ * MySQL (ajustes de esquema, índices FULLTEXT) solo se usan cuando el motor es MySQL.
+ * El motor se consulta una sola vez, la primera vez que se pide.
+ */
+@Component
+public class MotorBaseDatos {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean mySql;
+
+    /**
+     * @return true si la base de datos es MySQL
+     */
+    public boolean esMySql() {
+        Boolean resultado = mySql;
+        if (resultado == null) {
+            String producto = jdbcTemplate.execute((Connection conexion) ->
+                    JdbcUtils.commonDatabaseName(conexion.getMetaData().getDatabaseProductName()));
+            resultado = "MySQL".equalsIgnoreCase(producto);
+            mySql = resultado;
+        }
+        return resultado;
+    }
+}
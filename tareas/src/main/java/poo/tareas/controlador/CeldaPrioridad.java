@@ -0,0 +1,60 @@
+package poo.tareas.controlador;
+
+import javafx.css.PseudoClass;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableRow;
+import poo.tareas.modelo.PrioridadTarea;
+
+import java.util.function.Predicate;
+
+/**
+ * Celda de la columna de prioridad. Muestra la prioridad (o "Vencida") y la colorea con las
+ * pseudoclases :alta, :media, :baja y :vencida de la clase de estilo {@code celda-prioridad}.
+ *
+ * La clase de estilo se asigna una sola vez; al reutilizar la celda durante el desplazamiento
+ * solo cambian los estados de las pseudoclases, sin reconstruir la lista de clases de estilo.
+ *
+ * @param <S> Tipo de las filas de la tabla
+ */
+public class CeldaPrioridad<S> extends TableCell<S, PrioridadTarea> {
+    private static final PseudoClass ALTA = PseudoClass.getPseudoClass("alta");
+    private static final PseudoClass MEDIA = PseudoClass.getPseudoClass("media");
+    private static final PseudoClass BAJA = PseudoClass.getPseudoClass("baja");
+    private static final PseudoClass VENCIDA = PseudoClass.getPseudoClass("vencida");
+
+    private final Predicate<S> vencida;
+
+    /**
+     * Crea una celda que nunca muestra filas vencidas.
+     */
+    public CeldaPrioridad() {
+        this(fila -> false);
+    }
+
+    /**
+     * Crea una celda que muestra "Vencida" en las filas que cumplen la condición.
+     *
+     * @param vencida Indica si la fila está vencida; se llama al pintar cada celda
+     */
+    public CeldaPrioridad(Predicate<S> vencida) {
+        this.vencida = vencida;
+        getStyleClass().add("celda-prioridad");
+    }
+
+    @Override
+    protected void updateItem(PrioridadTarea prioridad, boolean empty) {
+        super.updateItem(prioridad, empty);
+
+        boolean esVencida = false;
+        if (!empty && prioridad != null) {
+            TableRow<S> fila = getTableRow();
+            esVencida = fila != null && fila.getItem() != null && vencida.test(fila.getItem());
+        }
+
+        setText(empty || prioridad == null ? null : esVencida ? "Vencida" : prioridad.getEtiqueta());
+        pseudoClassStateChanged(VENCIDA, esVencida);
+        pseudoClassStateChanged(ALTA, !esVencida && prioridad == PrioridadTarea.ALTA);
+        pseudoClassStateChanged(MEDIA, !esVencida && prioridad == PrioridadTarea.MEDIA);
+        pseudoClassStateChanged(BAJA, !esVencida && prioridad == PrioridadTarea.BAJA);
+    }
+}
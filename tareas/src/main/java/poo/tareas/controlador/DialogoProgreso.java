@@ -0,0 +1,66 @@
+package poo.tareas.controlador;
+
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+/**
+ * Ventana que muestra el avance de una tarea en segundo plano (importación, exportación)
+ * con un botón para cancelarla. La ventana se cierra sola cuando la tarea termina.
+ */
+public class DialogoProgreso {
+
+    /**
+     * Muestra el diálogo asociado a la tarea indicada.
+     *
+     * @param propietario Ventana principal sobre la que se muestra el diálogo
+     * @param titulo Título de la ventana
+     * @param tarea Tarea cuyo mensaje y progreso se muestran
+     * @param alCancelar Acción que se ejecuta al presionar "Cancelar"
+     */
+    public static void mostrar(Window propietario, String titulo, Task<?> tarea, Runnable alCancelar) {
+        Label mensaje = new Label();
+        mensaje.textProperty().bind(tarea.messageProperty());
+
+        ProgressBar barra = new ProgressBar();
+        barra.setPrefWidth(360);
+        barra.progressProperty().bind(tarea.progressProperty());
+
+        Button cancelar = new Button("Cancelar");
+        cancelar.setOnAction(e -> {
+            cancelar.setDisable(true);
+            alCancelar.run();
+        });
+
+        HBox botones = new HBox(cancelar);
+        botones.setAlignment(Pos.CENTER_RIGHT);
+        VBox contenido = new VBox(10, mensaje, barra, botones);
+        contenido.setPadding(new Insets(20));
+
+        Stage stage = new Stage();
+        stage.initOwner(propietario);
+        stage.initModality(Modality.WINDOW_MODAL);
+        stage.setTitle(titulo);
+        stage.setResizable(false);
+        stage.setScene(new Scene(contenido));
+        // El usuario no puede cerrar la ventana mientras la tarea sigue en curso
+        stage.setOnCloseRequest(e -> e.consume());
+
+        tarea.stateProperty().addListener((obs, anterior, estado) -> {
+            if (estado == Worker.State.SUCCEEDED || estado == Worker.State.FAILED || estado == Worker.State.CANCELLED) {
+                stage.close();
+            }
+        });
+        stage.show();
+    }
+}
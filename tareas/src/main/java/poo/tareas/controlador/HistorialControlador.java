@@ -1,5 +1,7 @@
 package poo.tareas.controlador;
 
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -8,41 +10,56 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonBar;
 import javafx.scene.control.ButtonType;
-import javafx.scene.control.TableCell;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import poo.tareas.evento.EventoHistorial;
+import poo.tareas.evento.EventoHistorial.HistorialEliminado;
+import poo.tareas.evento.EventoHistorial.HistorialRegistrado;
+import poo.tareas.evento.EventoHistorial.HistorialesEliminados;
+import poo.tareas.evento.EventoHistorial.HistorialPurgado;
+import poo.tareas.evento.EventoHistorial.HistorialRecargado;
+import poo.tareas.evento.EventoTarea.TareaRecuperada;
+import poo.tareas.evento.EventoTarea.TareasRecuperadas;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.FiltroTareas;
 import poo.tareas.modelo.HistorialTarea;
-import poo.tareas.modelo.Tarea;
-import poo.tareas.servicio.HistorialTareaServicio;
-import poo.tareas.servicio.tareaServicio;
+import poo.tareas.modelo.PrioridadTarea;
+import poo.tareas.servicio.IHistorialTareaServicio;
 
 import java.net.URL;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.Set;
 
 @Component
+@Profile("!lote")
 public class HistorialControlador implements Initializable {
+    // Logger para registrar errores de las operaciones del historial
+    private static final Logger logger = LoggerFactory.getLogger(HistorialControlador.class);
 
+    // Ejecuta las operaciones del historial fuera del hilo de JavaFX
     @Autowired
-    private HistorialTareaServicio historialTareaServicio;
-    
+    private ServiciosAsincronos serviciosAsincronos;
+
+    // Consulta las páginas del historial desde el hilo de fondo del paginador
     @Autowired
-    private tareaServicio TareaServicio;
-    
-    // Interfaz para notificar a la ventana principal que se ha recuperado una tarea
-    public interface RecuperacionListener {
-        void onTareaRecuperada();
-    }
-    
-    private RecuperacionListener recuperacionListener;
-    
-    public void setRecuperacionListener(RecuperacionListener listener) {
-        this.recuperacionListener = listener;
-    }
+    private IHistorialTareaServicio historialTareaServicio;
 
     @FXML
     private TableView<HistorialTarea> historialTabla;
@@ -63,10 +80,10 @@ public class HistorialControlador implements Initializable {
     private TableColumn<HistorialTarea, String> responsableColumna;
 
     @FXML
-    private TableColumn<HistorialTarea, String> estadoColumna;
+    private TableColumn<HistorialTarea, EstadoTarea> estadoColumna;
 
     @FXML
-    private TableColumn<HistorialTarea, String> prioridadColumna;
+    private TableColumn<HistorialTarea, PrioridadTarea> prioridadColumna;
 
     @FXML
     private TableColumn<HistorialTarea, Date> fechaInicioColumna;
@@ -88,15 +105,87 @@ public class HistorialControlador implements Initializable {
     
     @FXML
     private Button eliminarDefinitivoBoton;
+    
+    @FXML
+    private ProgressIndicator indicadorOcupado;
+
+    @FXML
+    private TextField busquedaTexto;
 
     private final ObservableList<HistorialTarea> historialList = FXCollections.observableArrayList();
 
+    // Número de registros que se piden por página y páginas que se mantienen cargadas en la tabla
+    private static final int TAMANO_PAGINA = 100;
+    private static final int MAX_PAGINAS_RESIDENTES = 5;
+
+    // Orden del historial: de la eliminación más reciente a la más antigua (el mismo de las consultas)
+    private static final Comparator<HistorialTarea> ORDEN_HISTORIAL = Comparator
+            .comparingLong((HistorialTarea historial) -> historial.getFechaEliminacion().getTime())
+            .thenComparing(HistorialTarea::getIdHistorial)
+            .reversed();
+
+    // Carga el historial por páginas a medida que el usuario se desplaza por la tabla
+    private PaginadorTabla<HistorialTarea> paginadorHistorial;
+
+    // Tiempo sin escribir tras el cual se ejecuta la búsqueda
+    private static final Duration ESPERA_BUSQUEDA = Duration.millis(300);
+
+    // Reinicia la espera con cada tecla, para buscar una sola vez cuando el usuario deja de escribir
+    private PauseTransition esperaBusqueda;
+
+    // Texto de la búsqueda aplicada; lo lee la fuente de páginas desde el hilo del paginador
+    private volatile String textoBuscado = "";
+
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         configurarColumnas();
+        
+        // Permitir seleccionar varios registros para recuperarlos o eliminarlos en una sola operación
+        historialTabla.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        
+        // Mientras haya operaciones en curso se muestra el indicador y se deshabilitan las acciones
+        var ocupado = serviciosAsincronos.ocupadoProperty();
+        indicadorOcupado.visibleProperty().bind(ocupado);
+        recuperarBoton.disableProperty().bind(ocupado);
+        eliminarDefinitivoBoton.disableProperty().bind(ocupado);
+        
+        // El controlador se reutiliza cada vez que se abre la ventana; se detiene el paginador anterior
+        detener();
+        historialList.clear();
+        textoBuscado = "";
+        
+        // Buscar en segundo plano cuando el usuario deja de escribir
+        esperaBusqueda = new PauseTransition(ESPERA_BUSQUEDA);
+        esperaBusqueda.setOnFinished(evento -> buscar());
+        busquedaTexto.textProperty().addListener((obs, anterior, texto) -> esperaBusqueda.playFromStart());
+        
+        // Configurar la carga por páginas (paginación por fecha de eliminación e ID del historial,
+        // sobre los resultados de la búsqueda si hay una)
+        paginadorHistorial = new PaginadorTabla<>(historialTabla, historialList, new PaginadorTabla.FuentePaginas<>() {
+            @Override
+            public List<HistorialTarea> siguientes(HistorialTarea ultimo, int tamano) {
+                return historialTareaServicio.buscarHistorialSiguiente(textoBuscado, ultimo, tamano);
+            }
+
+            @Override
+            public List<HistorialTarea> anteriores(HistorialTarea primero, int tamano) {
+                return historialTareaServicio.buscarHistorialAnterior(textoBuscado, primero, tamano);
+            }
+        }, ORDEN_HISTORIAL, TAMANO_PAGINA, MAX_PAGINAS_RESIDENTES);
         cargarHistorial();
     }
 
+    /**
+     * Detiene el hilo de fondo del paginador del historial al volver a abrir la ventana
+     * o al cerrar el contexto de Spring.
+     */
+    @PreDestroy
+    public void detener() {
+        if (paginadorHistorial != null) {
+            paginadorHistorial.detener();
+        }
+    }
+
     private void configurarColumnas() {
         idHistorialColumna.setCellValueFactory(new PropertyValueFactory<>("idHistorial"));
         idOriginalColumna.setCellValueFactory(new PropertyValueFactory<>("idTareaOriginal"));
@@ -110,51 +199,155 @@ public class HistorialControlador implements Initializable {
         fechaEliminacionColumna.setCellValueFactory(new PropertyValueFactory<>("fechaEliminacion"));
         accionColumna.setCellValueFactory(new PropertyValueFactory<>("accion"));
         
-        // Configurar el color de la columna de prioridad según su valor
-        prioridadColumna.setCellFactory(column -> {
-            return new TableCell<HistorialTarea, String>() {
-                @Override
-                protected void updateItem(String prioridad, boolean empty) {
-                    super.updateItem(prioridad, empty);
-                    
-                    if (empty || prioridad == null) {
-                        setText(null);
-                        setStyle("");
-                        getStyleClass().clear();
+        // Configurar el color de la columna de prioridad según su valor (con pseudoclases)
+        prioridadColumna.setCellFactory(column -> new CeldaPrioridad<>());
+    }
+
+    /**
+     * Aplica el texto del cuadro de búsqueda y vuelve a cargar la primera página de resultados.
+     */
+    private void buscar() {
+        String texto = busquedaTexto.getText() == null ? "" : busquedaTexto.getText().strip();
+        if (texto.equals(textoBuscado)) {
+            return;
+        }
+        textoBuscado = texto;
+        paginadorHistorial.reiniciar();
+    }
+
+    /**
+     * Indica si un registro nuevo debe mostrarse con la búsqueda actual, con las mismas reglas
+     * que la consulta del historial: cada palabra buscada debe aparecer en el nombre, la
+     * descripción o el responsable, sin distinguir mayúsculas ni tildes.
+     */
+    private boolean coincideConBusqueda(HistorialTarea historial) {
+        return FiltroTareas.contienePalabras(textoBuscado, historial.getNombreTarea(),
+                historial.getDescripcionTarea(), historial.getResponsableTarea());
+    }
+
+    /**
+     * Carga la primera página del historial; las siguientes se cargan en segundo plano
+     * al desplazarse por la tabla.
+     */
+    private void cargarHistorial() {
+        paginadorHistorial.reiniciar();
+    }
+    
+    /**
+     * Recibe los eventos del historial publicados por la capa de servicio una vez confirmado
+     * el cambio y los aplica a las páginas cargadas en el hilo de JavaFX, sin volver a consultar
+     * el historial.
+     * 
+     * @param evento Evento del historial
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarHistorial(EventoHistorial evento) {
+        // La ventana aún no se abrió; al abrirla se carga la primera página
+        if (paginadorHistorial == null) {
+            return;
+        }
+        Platform.runLater(() -> {
+            switch (evento) {
+                case HistorialRegistrado registrado -> {
+                    if (registrado.registros().size() > TAMANO_PAGINA) {
+                        paginadorHistorial.reiniciar();
                     } else {
-                        setText(prioridad);
-                        
-                        // Limpiar clases de estilo anteriores
-                        getStyleClass().removeAll("prioridad-alta", "prioridad-media", "prioridad-baja");
-                        
-                        // Aplicar estilo según la prioridad
-                        if (prioridad.equals("Alta")) {
-                            getStyleClass().add("prioridad-alta");
-                        } else if (prioridad.equals("Media")) {
-                            getStyleClass().add("prioridad-media");
-                        } else if (prioridad.equals("Baja")) {
-                            getStyleClass().add("prioridad-baja");
-                        }
+                        registrado.registros().stream()
+                                .filter(this::coincideConBusqueda)
+                                .forEach(paginadorHistorial::actualizarFila);
                     }
                 }
-            };
+                case HistorialEliminado eliminado -> quitarRegistro(eliminado.idHistorial());
+                case HistorialesEliminados eliminados -> quitarRegistros(eliminados.idsHistorial());
+                case HistorialPurgado purgado -> paginadorHistorial.reiniciar();
+                case HistorialRecargado recargado -> paginadorHistorial.reiniciar();
+            }
         });
     }
-
-    private void cargarHistorial() {
-        historialList.clear();
-        historialList.addAll(historialTareaServicio.listarHistorial());
-        historialTabla.setItems(historialList);
+    
+    /**
+     * Quita de la lista el registro del que se recuperó una tarea.
+     * 
+     * @param evento Evento de tarea recuperada
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alRecuperarTarea(TareaRecuperada evento) {
+        if (paginadorHistorial == null) {
+            return;
+        }
+        Platform.runLater(() -> quitarRegistro(evento.idHistorial()));
+    }
+    
+    /**
+     * Quita de la lista los registros de los que se recuperaron tareas en una sola operación.
+     * 
+     * @param evento Evento de tareas recuperadas
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alRecuperarTareas(TareasRecuperadas evento) {
+        if (paginadorHistorial == null) {
+            return;
+        }
+        Platform.runLater(() -> quitarRegistros(evento.idsHistorial()));
+    }
+    
+    /**
+     * Quita varios registros de las páginas cargadas; si son más que una página se vuelve a
+     * cargar la lista.
+     */
+    private void quitarRegistros(List<Integer> idsHistorial) {
+        if (idsHistorial.size() > TAMANO_PAGINA) {
+            paginadorHistorial.reiniciar();
+            return;
+        }
+        Set<Integer> ids = new HashSet<>(idsHistorial);
+        historialList.stream()
+                .filter(historial -> ids.contains(historial.getIdHistorial()))
+                .toList()
+                .forEach(paginadorHistorial::quitarFila);
     }
     
+    /**
+     * Quita el registro de las páginas cargadas, si está entre ellas. El evento solo trae el ID,
+     * así que el registro se busca en las filas cargadas (como máximo unas pocas páginas).
+     */
+    private void quitarRegistro(Integer idHistorial) {
+        historialList.stream()
+                .filter(historial -> historial.getIdHistorial().equals(idHistorial))
+                .findFirst()
+                .ifPresent(paginadorHistorial::quitarFila);
+    }
+    
+    /**
+     * Registra y muestra el error de una operación en segundo plano.
+     * Devuelve null para poder usarse directamente en CompletableFuture.exceptionally.
+     */
+    private Void mostrarError(String mensaje, Throwable error) {
+        Throwable causa = ServiciosAsincronos.causa(error);
+        logger.error(mensaje, causa);
+        Alert alerta = new Alert(Alert.AlertType.ERROR);
+        alerta.setTitle("Error");
+        alerta.setHeaderText(null);
+        alerta.setContentText(mensaje + ": " + causa.getMessage());
+        alerta.showAndWait();
+        return null;
+    }
+    
+    /**
+     * Recupera los registros seleccionados, con una sola confirmación y en una sola transacción.
+     */
     @FXML
     private void recuperarTarea() {
-        HistorialTarea historialSeleccionado = historialTabla.getSelectionModel().getSelectedItem();
-        if (historialSeleccionado != null) {
+        List<HistorialTarea> seleccionados = List.copyOf(historialTabla.getSelectionModel().getSelectedItems());
+        if (!seleccionados.isEmpty()) {
             Alert confirmacion = new Alert(Alert.AlertType.CONFIRMATION);
             confirmacion.setTitle("Confirmar recuperación");
-            confirmacion.setHeaderText("¿Está seguro de recuperar esta tarea?");
-            confirmacion.setContentText("Tarea: " + historialSeleccionado.getNombreTarea());
+            if (seleccionados.size() == 1) {
+                confirmacion.setHeaderText("¿Está seguro de recuperar esta tarea?");
+                confirmacion.setContentText("Tarea: " + seleccionados.get(0).getNombreTarea());
+            } else {
+                confirmacion.setHeaderText("¿Está seguro de recuperar " + seleccionados.size() + " tareas?");
+            }
             
             ButtonType botonSi = new ButtonType("Sí, recuperar");
             ButtonType botonNo = new ButtonType("Cancelar", ButtonBar.ButtonData.CANCEL_CLOSE);
@@ -163,46 +356,44 @@ public class HistorialControlador implements Initializable {
             
             confirmacion.showAndWait().ifPresent(respuesta -> {
                 if (respuesta == botonSi) {
-                    // Recuperar la tarea
-                    Tarea tareaRecuperada = historialTareaServicio.recuperarTarea(historialSeleccionado);
-                    
-                    // Guardar la tarea recuperada
-                    TareaServicio.guardarTarea(tareaRecuperada);
-                    
-                    // Recargar la lista de historial
-                    cargarHistorial();
-                    
-                    // Notificar a la ventana principal
-                    if (recuperacionListener != null) {
-                        recuperacionListener.onTareaRecuperada();
-                    }
-                    
-                    // Mostrar mensaje de éxito
-                    Alert exito = new Alert(Alert.AlertType.INFORMATION);
-                    exito.setTitle("Tarea recuperada");
-                    exito.setHeaderText(null);
-                    exito.setContentText("La tarea ha sido recuperada exitosamente.");
-                    exito.showAndWait();
+                    // Recuperar las tareas y guardarlas en segundo plano
+                    // (el historial y la tabla de tareas se actualizan con el evento TareasRecuperadas)
+                    serviciosAsincronos.recuperarTareas(idsDe(seleccionados)).thenAccept(tareasRecuperadas -> {
+                        // Mostrar mensaje de éxito
+                        Alert exito = new Alert(Alert.AlertType.INFORMATION);
+                        exito.setTitle("Tarea recuperada");
+                        exito.setHeaderText(null);
+                        exito.setContentText(tareasRecuperadas.size() == 1
+                                ? "La tarea ha sido recuperada exitosamente."
+                                : tareasRecuperadas.size() + " tareas han sido recuperadas exitosamente.");
+                        exito.showAndWait();
+                    }).exceptionally(error -> mostrarError("No se pudieron recuperar las tareas", error));
                 }
             });
         } else {
             Alert alerta = new Alert(Alert.AlertType.WARNING);
             alerta.setTitle("Selección requerida");
             alerta.setHeaderText(null);
-            alerta.setContentText("Por favor, seleccione una tarea para recuperar.");
+            alerta.setContentText("Por favor, seleccione una o más tareas para recuperar.");
             alerta.showAndWait();
         }
     }
     
+    /**
+     * Elimina definitivamente los registros seleccionados, con una sola confirmación y en una
+     * sola transacción.
+     */
     @FXML
     private void eliminarDefinitivo() {
-        HistorialTarea historialSeleccionado = historialTabla.getSelectionModel().getSelectedItem();
-        if (historialSeleccionado != null) {
+        List<HistorialTarea> seleccionados = List.copyOf(historialTabla.getSelectionModel().getSelectedItems());
+        if (!seleccionados.isEmpty()) {
             Alert confirmacion = new Alert(Alert.AlertType.CONFIRMATION);
             confirmacion.setTitle("Confirmar eliminación definitiva");
             confirmacion.setHeaderText("¡ATENCIÓN! Esta acción no se puede deshacer");
-            confirmacion.setContentText("¿Está seguro de eliminar definitivamente la tarea: " + 
-                    historialSeleccionado.getNombreTarea() + "?\n\nEsta acción eliminará permanentemente la tarea del historial y no podrá recuperarla.");
+            confirmacion.setContentText((seleccionados.size() == 1
+                    ? "¿Está seguro de eliminar definitivamente la tarea: " + seleccionados.get(0).getNombreTarea() + "?"
+                    : "¿Está seguro de eliminar definitivamente " + seleccionados.size() + " tareas?")
+                    + "\n\nEsta acción eliminará permanentemente las tareas del historial y no podrá recuperarlas.");
             
             // Botones personalizados con estilo de advertencia
             ButtonType botonEliminar = new ButtonType("Eliminar definitivamente");
@@ -212,28 +403,32 @@ public class HistorialControlador implements Initializable {
             
             confirmacion.showAndWait().ifPresent(respuesta -> {
                 if (respuesta == botonEliminar) {
-                    // Eliminar definitivamente del historial
-                    historialTareaServicio.eliminarDefinitivamente(historialSeleccionado);
-                    
-                    // Recargar la lista de historial
-                    cargarHistorial();
-                    
-                    // Mostrar mensaje de éxito
-                    Alert exito = new Alert(Alert.AlertType.INFORMATION);
-                    exito.setTitle("Tarea eliminada definitivamente");
-                    exito.setHeaderText(null);
-                    exito.setContentText("La tarea ha sido eliminada permanentemente del historial.");
-                    exito.showAndWait();
+                    // Eliminar definitivamente del historial en segundo plano
+                    // (la lista se actualiza con el evento HistorialesEliminados)
+                    serviciosAsincronos.eliminarDefinitivamente(idsDe(seleccionados)).thenAccept(eliminados -> {
+                        // Mostrar mensaje de éxito
+                        Alert exito = new Alert(Alert.AlertType.INFORMATION);
+                        exito.setTitle("Tarea eliminada definitivamente");
+                        exito.setHeaderText(null);
+                        exito.setContentText(eliminados == 1
+                                ? "La tarea ha sido eliminada permanentemente del historial."
+                                : eliminados + " tareas han sido eliminadas permanentemente del historial.");
+                        exito.showAndWait();
+                    }).exceptionally(error -> mostrarError("No se pudieron eliminar las tareas del historial", error));
                 }
             });
         } else {
             Alert alerta = new Alert(Alert.AlertType.WARNING);
             alerta.setTitle("Selección requerida");
             alerta.setHeaderText(null);
-            alerta.setContentText("Por favor, seleccione una tarea para eliminar definitivamente.");
+            alerta.setContentText("Por favor, seleccione una o más tareas para eliminar definitivamente.");
             alerta.showAndWait();
         }
     }
+    
+    private static List<Integer> idsDe(List<HistorialTarea> registros) {
+        return registros.stream().map(HistorialTarea::getIdHistorial).toList();
+    }
 
     @FXML
     private void cerrarVentana() {
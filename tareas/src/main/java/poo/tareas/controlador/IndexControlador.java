@@ -1,7 +1,11 @@
 package poo.tareas.controlador;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
@@ -12,31 +16,57 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 import poo.tareas.TareasApplication;
-import poo.tareas.controlador.HistorialControlador.RecuperacionListener;
-import poo.tareas.controlador.NotificacionesControlador.NotificacionListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+import poo.tareas.evento.EventoTarea;
+import poo.tareas.evento.EventoTarea.PrioridadesRecalculadas;
+import poo.tareas.evento.EventoTarea.TareaActualizada;
+import poo.tareas.evento.EventoTarea.TareaCreada;
+import poo.tareas.evento.EventoTarea.TareaEliminada;
+import poo.tareas.evento.EventoTarea.TareaRecuperada;
+import poo.tareas.evento.EventoTarea.TareasEliminadas;
+import poo.tareas.evento.EventoTarea.TareasRecuperadas;
+import poo.tareas.evento.EventoTarea.TareasGuardadas;
+import poo.tareas.evento.EventoTarea.TareasRecargadas;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.FiltroTareas;
+import poo.tareas.modelo.PrioridadTarea;
 import poo.tareas.modelo.Tarea;
-import poo.tareas.servicio.HistorialTareaServicio;
-import poo.tareas.servicio.tareaServicio;
-import poo.tareas.servicio.PrioridadActualizadorService;
+import poo.tareas.repositorio.EspecificacionesTarea;
+import poo.tareas.servicio.ExportacionExcelService;
+import poo.tareas.servicio.ITareaServicio;
+import poo.tareas.servicio.ExportacionExcelService.ResultadoExportacion;
+import poo.tareas.servicio.ImportacionTareasService;
+import poo.tareas.servicio.RelojDiario;
+import poo.tareas.servicio.ResultadoImportacion;
+import poo.tareas.servicio.TareaIndex;
 import poo.tareas.servicio.NotificacionService;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.net.URL;
+import java.text.Collator;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.Instant;
 import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.concurrent.Task;
 import javafx.scene.control.*;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.ComboBox;
 import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import javafx.application.Platform;
 import javafx.scene.paint.Paint;
 import javafx.scene.shape.Circle;
@@ -45,29 +75,42 @@ import javafx.scene.shape.Circle;
 /**
  * Controlador principal de la aplicación de gestión de tareas.
  * Maneja la interfaz de usuario para crear, leer, actualizar y eliminar tareas.
- * Implementa la interfaz Initializable de JavaFX y RecuperacionListener para
- * actualizar la lista de tareas cuando se recupera una tarea eliminada.
+ * Implementa la interfaz Initializable de JavaFX. La tabla se mantiene al día con los
+ * eventos de tareas que publica la capa de servicio, sin volver a cargarla tras cada cambio.
  */
 @Component
-public class IndexControlador implements Initializable, RecuperacionListener, NotificacionListener {
+@Profile("!lote") // Las vistas no se cargan en el modo por lotes (ver SistemasTareasLote)
+public class IndexControlador implements Initializable {
     // Logger para registrar eventos y errores en la aplicación
     private static final Logger logger = LoggerFactory.getLogger(IndexControlador.class);
 
     // Inyección de dependencias con Spring
     @Autowired
-    private tareaServicio TareaServicio; // Servicio para operaciones CRUD de tareas
+    private TareaIndex tareaIndex; // Índice en memoria de las tareas para las consultas de la tabla
     
     @Autowired
-    private HistorialTareaServicio historialTareaServicio; // Servicio para gestionar el historial de tareas eliminadas
+    private ITareaServicio tareaServicio; // Consultas filtradas y ordenadas en la base de datos, desde el hilo del paginador
     
     @Autowired
-    private PrioridadActualizadorService prioridadActualizadorService; // Servicio para actualizar prioridades automáticamente
+    private NotificacionService notificacionService; // Servicio para gestionar notificaciones de tareas vencidas
+    
+    @Autowired
+    private ImportacionTareasService importacionTareasService; // Servicio para importar tareas desde Excel o CSV
 
     @Autowired
-    private NotificacionService notificacionService; // Servicio para gestionar notificaciones de tareas vencidas
+    private ExportacionExcelService exportacionExcelService; // Servicio para exportar tareas a Excel
+    
+    @Autowired
+    private RelojDiario relojDiario; // Fecha actual y plazo de cada tarea, calculado una vez por día
+    
+    @Autowired
+    private ServiciosAsincronos serviciosAsincronos; // Ejecuta las operaciones de los servicios fuera del hilo de JavaFX
     
     @Autowired
     private ApplicationContext applicationContext; // Contexto de Spring para la creación de beans
+    
+    @Autowired
+    private MeterRegistry registro; // Métricas: mide cada consulta del sondeo de notificaciones
 
     // Componentes de la interfaz de usuario definidos en el archivo FXML
     @FXML
@@ -86,10 +129,10 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
     private TableColumn<Tarea, String> responsableColumna;
 
     @FXML
-    private TableColumn<Tarea, String> estadoColumna;
+    private TableColumn<Tarea, EstadoTarea> estadoColumna;
 
     @FXML
-    private TableColumn<Tarea, String> prioridadColumna;
+    private TableColumn<Tarea, PrioridadTarea> prioridadColumna;
 
     @FXML
     private TableColumn<Tarea, LocalDate> fechaInicioColumna;
@@ -97,21 +140,95 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
     @FXML
     private TableColumn<Tarea, LocalDate> fechaFinColumna;
 
+    @FXML
+    private Button agregarBoton;
+
+    @FXML
+    private Button modificarBoton;
+
+    @FXML
+    private Button eliminarBoton;
+
     @FXML
     private Button historialBoton;
 
     @FXML
     private Button actualizarPrioridadesBoton;
+
+    @FXML
+    private Button completarBoton;
     
     @FXML
     private Button notificacionesBoton;
     
     @FXML
     private Circle indicadorNotificaciones;
+    
+    @FXML
+    private ProgressIndicator indicadorOcupado; // Visible mientras hay operaciones en curso
 
     // Lista observable para almacenar y mostrar las tareas en la tabla
     private final ObservableList<Tarea> tareaList = FXCollections.observableArrayList();
 
+    // Número de tareas que se piden por página y páginas que se mantienen cargadas en la tabla
+    private static final int TAMANO_PAGINA = 200;
+    private static final int MAX_PAGINAS_RESIDENTES = 5;
+
+    // Carga las tareas por páginas a medida que el usuario se desplaza por la tabla
+    private PaginadorTabla<Tarea> paginadorTareas;
+
+    @FXML
+    private TextField busquedaTexto; // Filtra la tabla mientras se escribe
+
+    // Texto de la búsqueda aplicada; lo lee la fuente de páginas desde el hilo del paginador
+    private volatile String textoBuscado = "";
+
+    // Controles del filtro de la tabla
+    @FXML
+    private ComboBox<EstadoTarea> filtroEstadoCombo;
+
+    @FXML
+    private ComboBox<PrioridadTarea> filtroPrioridadCombo;
+
+    @FXML
+    private TextField filtroResponsableTexto;
+
+    @FXML
+    private DatePicker filtroInicioDesdePicker;
+
+    @FXML
+    private DatePicker filtroFinHastaPicker;
+
+    // Orden por defecto de la tabla: el del índice en memoria
+    private static final Sort.Order ORDEN_POR_ID = Sort.Order.asc("idTarea");
+
+    // Filtro y orden aplicados; los lee la fuente de páginas desde el hilo del paginador
+    private volatile FiltroTareas filtroAplicado = FiltroTareas.NINGUNO;
+    private volatile Sort.Order ordenAplicado = ORDEN_POR_ID;
+
+    // Compara el texto sin distinguir mayúsculas ni tildes, como la intercalación de MySQL
+    private static final Collator INTERCALACION = Collator.getInstance(Locale.ROOT);
+    static {
+        INTERCALACION.setStrength(Collator.PRIMARY);
+    }
+
+    // Comparador de las filas cargadas, según el orden aplicado
+    private Comparator<Tarea> comparadorFilas = comparador(ORDEN_POR_ID);
+
+    // Propiedad de Tarea por la que ordena cada columna
+    private final Map<TableColumn<Tarea, ?>, String> propiedadesColumnas = new HashMap<>();
+
+    // Espera a que el usuario deje de escribir antes de consultar la base de datos
+    private final PauseTransition esperaEscritura = new PauseTransition(javafx.util.Duration.millis(300));
+
+    // Intervalos de verificación de notificaciones según el estado de la ventana
+    private static final Duration SONDEO_ACTIVO = Duration.ofSeconds(5);
+    private static final Duration SONDEO_INACTIVO = Duration.ofSeconds(60);
+    private static final Duration SONDEO_MINIMIZADO = Duration.ofMinutes(5);
+
+    // Verifica periódicamente si cambiaron las notificaciones
+    private SondeoAdaptativo sondeoNotificaciones;
+
     // Componentes del formulario para agregar/editar tareas
     @FXML
     private TextField nombreTareaTexto;
@@ -123,10 +240,10 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
     private TextField responsableTareaTexto;
 
     @FXML
-    private ComboBox<String> estadoCombo;
+    private ComboBox<EstadoTarea> estadoCombo;
 
     @FXML
-    private ComboBox<String> prioridadCombo;
+    private ComboBox<PrioridadTarea> prioridadCombo;
 
     @FXML
     private DatePicker fechaInicioPicker;
@@ -143,60 +260,125 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        // Configurar el modo de selección de la tabla a una sola fila
-        tareaTabla.getSelectionModel().setSelectionMode(SelectionMode.SINGLE);
+        // Permitir seleccionar varias filas para eliminarlas o completarlas en una sola operación
+        tareaTabla.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         
         // Configurar las columnas de la tabla
         configurarColumnas();
         
+        // Al cambiar el día cambian los plazos de las tareas: se vuelven a pintar las filas
+        relojDiario.agregarOyente(dia -> Platform.runLater(tareaTabla::refresh));
+        
+        // Configurar la carga por páginas de la tabla. Sin filtros y en el orden por ID se pagina
+        // sobre el índice en memoria (si hay una búsqueda, sobre los IDs que devuelve el índice de
+        // trigramas); con filtros u otro orden, la base de datos filtra, ordena y devuelve solo
+        // la página pedida
+        paginadorTareas = new PaginadorTabla<>(tareaTabla, tareaList, new PaginadorTabla.FuentePaginas<>() {
+            @Override
+            public List<Tarea> siguientes(Tarea ultima, int tamano) {
+                FiltroTareas filtro = filtroAplicado;
+                Sort.Order orden = ordenAplicado;
+                String texto = textoBuscado;
+                if (consultaBaseDatos(filtro, orden)) {
+                    return tareaServicio.buscarTareasSiguientes(filtro.conTexto(texto), orden, ultima, tamano);
+                }
+                Integer ultimoId = ultima != null ? ultima.getIdTarea() : null;
+                return texto.isEmpty() ? tareaIndex.listarSiguientes(ultimoId, tamano)
+                        : tareaIndex.buscarSiguientes(texto, ultimoId, tamano);
+            }
+
+            @Override
+            public List<Tarea> anteriores(Tarea primera, int tamano) {
+                FiltroTareas filtro = filtroAplicado;
+                Sort.Order orden = ordenAplicado;
+                String texto = textoBuscado;
+                if (consultaBaseDatos(filtro, orden)) {
+                    return tareaServicio.buscarTareasAnteriores(filtro.conTexto(texto), orden, primera, tamano);
+                }
+                return texto.isEmpty() ? tareaIndex.listarAnteriores(primera.getIdTarea(), tamano)
+                        : tareaIndex.buscarAnteriores(texto, primera.getIdTarea(), tamano);
+            }
+        }, (a, b) -> comparadorFilas.compare(a, b), TAMANO_PAGINA, MAX_PAGINAS_RESIDENTES);
+        
+        // Al hacer clic en un encabezado no se ordenan las filas cargadas: el orden se pide a la base de datos
+        tareaTabla.setSortPolicy(tabla -> {
+            aplicarOrden();
+            return true;
+        });
+        
+        // Filtrar con cada tecla: la búsqueda se resuelve en el índice en memoria, sin consultar la base
+        // de datos; con filtros u otro orden se espera a que el usuario deje de escribir
+        busquedaTexto.textProperty().addListener((obs, anterior, texto) -> {
+            if (consultaBaseDatos(filtroAplicado, ordenAplicado)) {
+                esperaEscritura.playFromStart();
+            } else {
+                buscarTareas(texto);
+            }
+        });
+        
+        // Configurar los controles del filtro; cada cambio vuelve a cargar la tabla
+        configurarFiltros();
+        
         // Cargar la lista de tareas en la tabla
         listarTareas();
         
         // Configurar los valores disponibles en los combobox
-        estadoCombo.setItems(FXCollections.observableArrayList("Pendiente", "En progreso", "Completada"));
-        prioridadCombo.setItems(FXCollections.observableArrayList("Alta", "Media", "Baja"));
+        estadoCombo.setItems(FXCollections.observableArrayList(EstadoTarea.values()));
+        prioridadCombo.setItems(FXCollections.observableArrayList(PrioridadTarea.values()));
 
         // Seleccionar el primer elemento de cada combobox por defecto
         estadoCombo.getSelectionModel().selectFirst();
         prioridadCombo.getSelectionModel().selectFirst();
         
+        // Mientras haya operaciones en curso se muestra el indicador y se deshabilitan las
+        // acciones que modifican datos, para que no se envíen dos veces
+        var ocupado = serviciosAsincronos.ocupadoProperty();
+        indicadorOcupado.visibleProperty().bind(ocupado);
+        agregarBoton.disableProperty().bind(ocupado);
+        modificarBoton.disableProperty().bind(ocupado);
+        eliminarBoton.disableProperty().bind(ocupado);
+        actualizarPrioridadesBoton.disableProperty().bind(ocupado);
+        completarBoton.disableProperty().bind(ocupado);
+        
         // Configurar el indicador de notificaciones
         if (indicadorNotificaciones != null) {
             indicadorNotificaciones.setFill(Paint.valueOf("#E0E0E0")); // Gris claro si no hay notificaciones
-            // Verificar si hay notificaciones al iniciar
-            verificarNotificacionesPendientes();
+            // Verificar si hay notificaciones al iniciar, cuando la ventana ya se muestra
+            // (el índice puede haber publicado vencidas antes de cargar la vista)
+            Platform.runLater(this::verificarNotificacionesPendientes);
         }
         
-        // Programar la verificación periódica de notificaciones (cada 60 segundos)
+        // Programar la verificación periódica de notificaciones
         programarVerificacionNotificaciones();
     }
 
     /**
      * Programa la verificación periódica de notificaciones.
+     * Solo se consulta la versión de las notificaciones (sin acceder a la base de datos) y el
+     * indicador se actualiza únicamente cuando cambió. El intervalo se alarga cuando la ventana
+     * pierde el foco o se minimiza, y se verifica de inmediato al recuperar el foco.
+     * Cada consulta se mide con la métrica tareas.notificaciones.sondeo.
      */
     private void programarVerificacionNotificaciones() {
-        // Crear un hilo que se ejecuta cada 60 segundos
-        Thread notificacionesThread = new Thread(() -> {
-            while (true) {
-                try {
-                    // Verificar si hay nuevas tareas vencidas
-                    notificacionService.verificarTareasVencidasManual();
-                    
-                    // Actualizar la interfaz en el hilo de la UI
-                    Platform.runLater(this::verificarNotificacionesPendientes);
-                    
-                    // Esperar 60 segundos
-                    Thread.sleep(60000);
-                } catch (InterruptedException e) {
-                    logger.error("Error en hilo de notificaciones", e);
-                    break;
-                }
-            }
-        });
-        
-        // Configurar como demonio para que no impida cerrar la aplicación
-        notificacionesThread.setDaemon(true);
-        notificacionesThread.start();
+        Timer consultaSondeo = registro.timer("tareas.notificaciones.sondeo");
+        sondeoNotificaciones = new SondeoAdaptativo("sondeo-notificaciones", tareaTabla,
+                () -> consultaSondeo.record(() -> notificacionService.getVersion()), this::verificarNotificacionesPendientes,
+                SONDEO_ACTIVO, SONDEO_INACTIVO, SONDEO_MINIMIZADO);
+        sondeoNotificaciones.iniciar();
+    }
+
+    /**
+     * Detiene los hilos de fondo del controlador cuando se cierra el contexto de Spring
+     * (al terminar la aplicación JavaFX).
+     */
+    @PreDestroy
+    public void detener() {
+        if (sondeoNotificaciones != null) {
+            sondeoNotificaciones.detener();
+        }
+        if (paginadorTareas != null) {
+            paginadorTareas.detener();
+        }
     }
     
     /**
@@ -209,7 +391,9 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
                 indicadorNotificaciones.setFill(Paint.valueOf("#FF4136"));
                 
                 // Si la aplicación está activa, mostrar un mensaje pequeño
-                if (notificacionesBoton.getScene().getWindow().isFocused()) {
+                // (mientras se carga la vista todavía no hay escena ni ventana)
+                Scene escena = notificacionesBoton.getScene();
+                if (escena != null && escena.getWindow() != null && escena.getWindow().isFocused()) {
                     mostrarNotificacionToast();
                 }
             } else {
@@ -263,80 +447,33 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
         estadoColumna.setCellValueFactory(new PropertyValueFactory<>("estadoTarea"));
         prioridadColumna.setCellValueFactory(new PropertyValueFactory<>("prioridadTarea"));
         
-        // Configurar el estilo visual de la columna de prioridad según su valor (Alta, Media, Baja)
-        prioridadColumna.setCellFactory(column -> {
-            return new TableCell<Tarea, String>() {
-                @Override
-                protected void updateItem(String prioridad, boolean empty) {
-                    super.updateItem(prioridad, empty);
-                    
-                    if (empty || prioridad == null) {
-                        setText(null);
-                        setStyle("");
-                        getStyleClass().clear();
-                    } else {
-                        // Obtener la tarea de la fila actual
-                        Tarea tarea = null;
-                        if (getTableRow() != null) {
-                            tarea = (Tarea) getTableRow().getItem();
-                        }
-                        
-                        // Verificar si la tarea está vencida
-                        boolean tareaVencida = false;
-                        if (tarea != null && tarea.getFechaFinTarea() != null && !"Completada".equals(tarea.getEstadoTarea())) {
-                            // Convertir la fecha de finalización a LocalDate
-                            LocalDate fechaFinLD = tarea.getFechaFinTarea().toInstant()
-                                                  .atZone(ZoneId.systemDefault())
-                                                  .toLocalDate();
-                            // Verificar si la fecha de fin es anterior o igual a hoy
-                            LocalDate hoy = LocalDate.now();
-                            tareaVencida = fechaFinLD.isBefore(hoy) || fechaFinLD.isEqual(hoy);
-                        }
-                        
-                        // Limpiar clases de estilo anteriores
-                        getStyleClass().removeAll("prioridad-alta", "prioridad-media", "prioridad-baja", "prioridad-vencida");
-                        
-                        if (tareaVencida) {
-                            // Si está vencida, mostrar "Vencida" en lugar de la prioridad
-                            setText("Vencida");
-                            getStyleClass().add("prioridad-vencida");
-                        } else {
-                            // Si no está vencida, mostrar la prioridad normal
-                            setText(prioridad);
-                            
-                            // Aplicar estilo según la prioridad
-                            if (prioridad.equals("Alta")) {
-                                getStyleClass().add("prioridad-alta");
-                            } else if (prioridad.equals("Media")) {
-                                getStyleClass().add("prioridad-media");
-                            } else if (prioridad.equals("Baja")) {
-                                getStyleClass().add("prioridad-baja");
-                            }
-                        }
-                    }
-                }
-            };
-        });
+        // Columnas que se ordenan en la base de datos; la descripción no tiene índice y no se ordena
+        propiedadesColumnas.put(idTareaColumna, "idTarea");
+        propiedadesColumnas.put(nombreTareaColumna, "nombreTarea");
+        propiedadesColumnas.put(responsableColumna, "responsableTarea");
+        propiedadesColumnas.put(fechaInicioColumna, "fechaInicioTarea");
+        propiedadesColumnas.put(fechaFinColumna, "fechaFinTarea");
+        propiedadesColumnas.put(estadoColumna, "estadoTarea");
+        propiedadesColumnas.put(prioridadColumna, "prioridadTarea");
+        descripcionColumna.setSortable(false);
+        
+        // Configurar la columna de prioridad: las tareas vencidas muestran "Vencida" según el plazo
+        // que el reloj compartido calcula una vez por día, y el color se aplica con pseudoclases
+        prioridadColumna.setCellFactory(column -> new CeldaPrioridad<>(tarea -> {
+            RelojDiario.Plazo plazo = relojDiario.plazo(tarea);
+            return plazo != null && plazo.vencida();
+        }));
     }
 
     /**
-     * Carga la lista de tareas desde la base de datos y la muestra en la tabla.
-     * Limpia la lista actual y la reemplaza con los datos actualizados.
+     * Carga la primera página de tareas desde la base de datos y la muestra en la tabla.
+     * Las páginas siguientes se cargan en segundo plano al desplazarse por la tabla.
      */
     private void listarTareas(){
         logger.info("Ejecutando listado de tareas");
         
-        // Limpiar la lista actual para recargarla
-        tareaList.clear();
-        
-        // Obtener todas las tareas desde el servicio
-        List<Tarea> tareas = TareaServicio.listarTareas();
-        
-        // Agregar las tareas a la lista observable
-        tareaList.addAll(tareas);
-        
-        // Asignar la lista observable a la tabla para mostrarla
-        tareaTabla.setItems(tareaList);
+        // Descartar las páginas cargadas y volver a cargar desde la primera
+        paginadorTareas.reiniciar();
         
         // Verificar si hay tareas vencidas y actualizar notificaciones
         verificarNotificacionesPendientes();
@@ -358,12 +495,13 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
             var tarea = new Tarea();
             recolectarDatosFormulario(tarea);
             tarea.setIdTarea(null); // Asegurar que es una tarea nueva (ID = null)
-            TareaServicio.guardarTarea(tarea); // Guardar la tarea en la base de datos
             
-            // Mostrar mensaje de éxito, limpiar el formulario y actualizar la tabla
-            mostrarMensaje("Informacion", "Tarea agregada");
-            limpiarFormulario();
-            listarTareas();
+            // Guardar la tarea en la base de datos en segundo plano; al terminar se muestra
+            // el mensaje de éxito y se limpia el formulario (la tabla se actualiza con el evento)
+            serviciosAsincronos.guardarTarea(tarea).thenRun(() -> {
+                mostrarMensaje("Informacion", "Tarea agregada");
+                limpiarFormulario();
+            }).exceptionally(error -> mostrarError("No se pudo agregar la tarea", error));
         }
     }
 
@@ -382,14 +520,12 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
             estadoCombo.setValue(tarea.getEstadoTarea());
             prioridadCombo.setValue(tarea.getPrioridadTarea());
             
-            // Convertir las fechas de java.sql.Date a LocalDate para los DatePicker
-            fechaInicioPicker.setValue(tarea.getFechaInicioTarea()
-                    .toInstant()
+            // Convertir las fechas a LocalDate para los DatePicker
+            fechaInicioPicker.setValue(Instant.ofEpochMilli(tarea.getFechaInicioTarea().getTime())
                     .atZone(ZoneId.systemDefault())
                     .toLocalDate());
 
-            fechaFinPicker.setValue(tarea.getFechaFinTarea()
-                    .toInstant()
+            fechaFinPicker.setValue(Instant.ofEpochMilli(tarea.getFechaFinTarea().getTime())
                     .atZone(ZoneId.systemDefault())
                     .toLocalDate());
         }
@@ -450,28 +586,33 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
         var tarea = new Tarea();
         recolectarDatosFormulario(tarea);
         
-        // Guardar la tarea modificada en la base de datos
-        TareaServicio.guardarTarea(tarea);
-        
-        // Mostrar mensaje de éxito, limpiar formulario y actualizar la tabla
-        mostrarMensaje("Información", "Tarea modificada con exito");
-        limpiarFormulario();
-        listarTareas();
+        // Guardar la tarea modificada en segundo plano; al terminar se muestra el mensaje
+        // de éxito y se limpia el formulario (la tabla se actualiza con el evento)
+        serviciosAsincronos.guardarTarea(tarea).thenRun(() -> {
+            mostrarMensaje("Información", "Tarea modificada con exito");
+            limpiarFormulario();
+        }).exceptionally(error -> mostrarError("No se pudo modificar la tarea", error));
     }
 
     /**
-     * Elimina una tarea seleccionada en la tabla, previa confirmación del usuario.
-     * También registra la eliminación en el historial para posible recuperación.
+     * Elimina las tareas seleccionadas en la tabla, previa confirmación del usuario.
+     * También registra la eliminación en el historial para posible recuperación; todo se
+     * hace en una sola transacción, con una sola confirmación para todas las tareas.
      */
     public void eliminarTarea(){
-        // Obtener la tarea seleccionada en la tabla
-        var tarea = tareaTabla.getSelectionModel().getSelectedItem();
-        if(tarea != null ) {
+        // Obtener las tareas seleccionadas en la tabla
+        List<Tarea> tareas = List.copyOf(tareaTabla.getSelectionModel().getSelectedItems());
+        if(!tareas.isEmpty()) {
             // Mostrar diálogo de confirmación
             Alert confirmacion = new Alert(Alert.AlertType.CONFIRMATION);
             confirmacion.setTitle("Confirmar eliminación");
-            confirmacion.setHeaderText("¿Está seguro de eliminar esta tarea?");
-            confirmacion.setContentText("Tarea: " + tarea.getNombreTarea());
+            if (tareas.size() == 1) {
+                confirmacion.setHeaderText("¿Está seguro de eliminar esta tarea?");
+                confirmacion.setContentText("Tarea: " + tareas.get(0).getNombreTarea());
+            } else {
+                confirmacion.setHeaderText("¿Está seguro de eliminar " + tareas.size() + " tareas?");
+                confirmacion.setContentText("Las tareas se podrán recuperar desde el historial.");
+            }
             
             // Botones personalizados
             ButtonType botonSi = new ButtonType("Sí, eliminar");
@@ -482,15 +623,15 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
             // Esperar respuesta del usuario
             confirmacion.showAndWait().ifPresent(respuesta -> {
                 if (respuesta == botonSi) {
-                    // Registrar en el historial antes de eliminar para posible recuperación
-                    historialTareaServicio.registrarEliminacion(tarea);
-                    
-                    // Proceder con la eliminación
-                    logger.info("Registro a eliminar: " + tarea.toString());
-                    TareaServicio.eliminarTarea(tarea);
-                    mostrarMensaje("Información", "Tarea eliminada con éxito: " + tarea.getIdTarea());
-                    limpiarFormulario();
-                    listarTareas();
+                    // Registrar en el historial y eliminar en segundo plano
+                    // (la tabla se actualiza con el evento TareasEliminadas)
+                    logger.info("Tareas a eliminar: {}", tareas.size());
+                    serviciosAsincronos.eliminarTareas(idsDe(tareas)).thenAccept(eliminadas -> {
+                        mostrarMensaje("Información", eliminadas == 1
+                                ? "Tarea eliminada con éxito: " + tareas.get(0).getIdTarea()
+                                : eliminadas + " tareas eliminadas con éxito");
+                        limpiarFormulario();
+                    }).exceptionally(error -> mostrarError("No se pudieron eliminar las tareas", error));
                 }
             });
         }
@@ -499,6 +640,26 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
         }
     }
 
+    /**
+     * Marca como completadas las tareas seleccionadas en la tabla, en una sola transacción.
+     */
+    @FXML
+    private void completarTareas() {
+        List<Tarea> tareas = List.copyOf(tareaTabla.getSelectionModel().getSelectedItems());
+        if (tareas.isEmpty()) {
+            mostrarMensaje("Error", "No se ha seleccionado ninguna tarea");
+            return;
+        }
+        // La tabla se actualiza con el evento TareasGuardadas
+        serviciosAsincronos.completarTareas(idsDe(tareas))
+                .thenAccept(completadas -> mostrarMensaje("Información", completadas + " tarea(s) marcada(s) como completada(s)"))
+                .exceptionally(error -> mostrarError("No se pudieron completar las tareas", error));
+    }
+
+    private static List<Integer> idsDe(List<Tarea> tareas) {
+        return tareas.stream().map(Tarea::getIdTarea).toList();
+    }
+
     /**
      * Limpia todos los campos del formulario y reinicia el estado de edición.
      */
@@ -535,8 +696,23 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
     }
 
     /**
-     * Exporta la lista actual de tareas a un archivo Excel.
-     * Permite al usuario seleccionar la ubicación donde guardar el archivo.
+     * Registra y muestra el error de una operación en segundo plano.
+     * Devuelve null para poder usarse directamente en CompletableFuture.exceptionally.
+     * 
+     * @param mensaje Descripción de la operación que falló
+     * @param error Error recibido del CompletableFuture
+     */
+    private Void mostrarError(String mensaje, Throwable error) {
+        Throwable causa = ServiciosAsincronos.causa(error);
+        logger.error(mensaje, causa);
+        mostrarMensaje("Error", mensaje + ": " + causa.getMessage());
+        return null;
+    }
+
+    /**
+     * Exporta todas las tareas de la base de datos a un archivo Excel.
+     * Permite al usuario seleccionar la ubicación donde guardar el archivo; la exportación
+     * se hace en un hilo de fondo mostrando el avance con la opción de cancelar.
      */
     @FXML
     private void exportarExcel() {
@@ -549,48 +725,93 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
         // Mostrar el diálogo de guardar archivo
         Stage stage = (Stage) tareaTabla.getScene().getWindow();
         File file = fileChooser.showSaveDialog(stage);
+        if (file == null) {
+            return;
+        }
 
-        if (file != null) {
-            try (Workbook workbook = new XSSFWorkbook();
-                 FileOutputStream fileOut = new FileOutputStream(file)) {
-
-                // Crear una hoja en el libro de Excel
-                Sheet sheet = workbook.createSheet("Tareas");
-
-                // Crear la fila de encabezados
-                Row header = sheet.createRow(0);
-                header.createCell(0).setCellValue("ID");
-                header.createCell(1).setCellValue("Nombre");
-                header.createCell(2).setCellValue("Descripción");
-                header.createCell(3).setCellValue("Responsable");
-                header.createCell(4).setCellValue("Estado");
-                header.createCell(5).setCellValue("Prioridad");
-                header.createCell(6).setCellValue("Fecha Inicio");
-                header.createCell(7).setCellValue("Fecha Fin");
-
-                // Agregar los datos de las tareas
-                int rowIndex = 1;
-                for (Tarea tarea : tareaTabla.getItems()) {
-                    Row row = sheet.createRow(rowIndex++);
-                    row.createCell(0).setCellValue(tarea.getIdTarea());
-                    row.createCell(1).setCellValue(tarea.getNombreTarea());
-                    row.createCell(2).setCellValue(tarea.getDescripcionTarea());
-                    row.createCell(3).setCellValue(tarea.getResponsableTarea());
-                    row.createCell(4).setCellValue(tarea.getEstadoTarea());
-                    row.createCell(5).setCellValue(tarea.getPrioridadTarea());
-                    row.createCell(6).setCellValue(tarea.getFechaInicioTarea().toString());
-                    row.createCell(7).setCellValue(tarea.getFechaFinTarea().toString());
-                }
+        // Bandera que el diálogo activa al cancelar; el servicio la consulta periódicamente
+        AtomicBoolean cancelado = new AtomicBoolean(false);
+        Task<ResultadoExportacion> exportacion = new Task<>() {
+            @Override
+            protected ResultadoExportacion call() throws Exception {
+                updateMessage("Preparando " + file.getName() + "...");
+                return exportacionExcelService.exportarTareas(file, (filas, total) -> {
+                    updateMessage(filas + " de " + total + " tareas exportadas");
+                    updateProgress(filas, Math.max(total, filas));
+                }, cancelado::get);
+            }
+        };
+        exportacion.setOnSucceeded(e -> {
+            ResultadoExportacion resultado = exportacion.getValue();
+            if (resultado.cancelada()) {
+                mostrarMensaje("Exportación", "Exportación cancelada.");
+            } else {
+                mostrarMensaje("Éxito", "Archivo exportado correctamente (" + resultado.filas() + " tareas):\n"
+                        + file.getAbsolutePath());
+            }
+        });
+        exportacion.setOnFailed(e -> {
+            logger.error("Error al exportar tareas", exportacion.getException());
+            mostrarMensaje("Error", "Ocurrió un error al exportar: " + exportacion.getException().getMessage());
+        });
 
-                // Escribir el libro en el archivo
-                workbook.write(fileOut);
-                mostrarMensaje("Éxito", "Archivo exportado correctamente:\n" + file.getAbsolutePath());
+        DialogoProgreso.mostrar(stage, "Exportando tareas", exportacion, () -> cancelado.set(true));
+        Thread hilo = new Thread(exportacion, "exportacion-tareas");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
 
-            } catch (Exception e) {
-                e.printStackTrace();
-                mostrarMensaje("Error", "Ocurrió un error al exportar: " + e.getMessage());
-            }
+    /**
+     * Importa tareas desde un archivo Excel (.xlsx) o CSV seleccionado por el usuario.
+     * La lectura y el guardado se hacen en un hilo de fondo; mientras tanto se muestra
+     * el avance con la opción de cancelar.
+     */
+    @FXML
+    private void importarTareas() {
+        // Crear un diálogo para seleccionar el archivo a importar
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Importar tareas");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Archivos Excel o CSV (*.xlsx, *.csv)", "*.xlsx", "*.csv"));
+        Stage stage = (Stage) tareaTabla.getScene().getWindow();
+        File file = fileChooser.showOpenDialog(stage);
+        if (file == null) {
+            return;
         }
+
+        // Bandera que el diálogo activa al cancelar; el servicio la consulta en cada fila
+        AtomicBoolean cancelado = new AtomicBoolean(false);
+        Task<ResultadoImportacion> importacion = new Task<>() {
+            @Override
+            protected ResultadoImportacion call() throws Exception {
+                updateMessage("Leyendo " + file.getName() + "...");
+                return importacionTareasService.importar(file, (filas, fraccion) -> {
+                    updateMessage(filas + " filas procesadas");
+                    updateProgress(fraccion, 1);
+                }, cancelado::get);
+            }
+        };
+        importacion.setOnSucceeded(e -> {
+            ResultadoImportacion resultado = importacion.getValue();
+            StringBuilder texto = new StringBuilder();
+            if (resultado.cancelada()) {
+                texto.append("Importación cancelada.\n");
+            }
+            texto.append("Tareas importadas: ").append(resultado.importadas())
+                 .append("\nFilas rechazadas: ").append(resultado.rechazadas());
+            // Mostrar solo los primeros errores para no saturar el mensaje
+            resultado.errores().stream().limit(10).forEach(error -> texto.append("\n- ").append(error));
+            mostrarMensaje("Importación", texto.toString());
+        });
+        importacion.setOnFailed(e -> {
+            logger.error("Error al importar tareas", importacion.getException());
+            mostrarMensaje("Error", "Ocurrió un error al importar: " + importacion.getException().getMessage());
+        });
+
+        DialogoProgreso.mostrar(stage, "Importando tareas", importacion, () -> cancelado.set(true));
+        Thread hilo = new Thread(importacion, "importacion-tareas");
+        hilo.setDaemon(true);
+        hilo.start();
     }
 
     /**
@@ -605,10 +826,6 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
             loader.setControllerFactory(applicationContext::getBean);
             Parent root = loader.load();
             
-            // Obtener el controlador y establecer el listener para actualizar la lista cuando se recupere una tarea
-            HistorialControlador historialControlador = loader.getController();
-            historialControlador.setRecuperacionListener(this);
-            
             // Crear una nueva ventana modal
             Stage stage = new Stage();
             stage.initModality(Modality.APPLICATION_MODAL);
@@ -622,23 +839,223 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
     }
     
     /**
-     * Método implementado de la interfaz RecuperacionListener.
-     * Se llama cuando una tarea es recuperada desde la ventana de historial.
+     * Configura los valores de los filtros y vuelve a cargar la tabla cada vez que cambian.
+     * El responsable espera a que el usuario deje de escribir, igual que la búsqueda.
      */
-    @Override
-    public void onTareaRecuperada() {
-        // Actualizar la lista de tareas cuando se recupera una tarea del historial
-        listarTareas();
+    private void configurarFiltros() {
+        filtroEstadoCombo.setItems(FXCollections.observableArrayList(EstadoTarea.values()));
+        filtroPrioridadCombo.setItems(FXCollections.observableArrayList(PrioridadTarea.values()));
+        filtroEstadoCombo.valueProperty().addListener((obs, anterior, valor) -> aplicarFiltros());
+        filtroPrioridadCombo.valueProperty().addListener((obs, anterior, valor) -> aplicarFiltros());
+        filtroInicioDesdePicker.valueProperty().addListener((obs, anterior, valor) -> aplicarFiltros());
+        filtroFinHastaPicker.valueProperty().addListener((obs, anterior, valor) -> aplicarFiltros());
+        filtroResponsableTexto.textProperty().addListener((obs, anterior, texto) -> esperaEscritura.playFromStart());
+        esperaEscritura.setOnFinished(e -> {
+            aplicarFiltros();
+            buscarTareas(busquedaTexto.getText());
+        });
     }
 
     /**
-     * Método implementado de la interfaz NotificacionListener.
-     * Se llama cuando una tarea es actualizada desde la ventana de notificaciones.
+     * Quita todos los filtros y el orden por columna de la tabla.
      */
-    @Override
-    public void onTareaActualizada() {
-        // Actualizar la lista de tareas cuando se modifica una tarea desde las notificaciones
-        listarTareas();
+    @FXML
+    private void limpiarFiltros() {
+        filtroEstadoCombo.setValue(null);
+        filtroPrioridadCombo.setValue(null);
+        filtroResponsableTexto.clear();
+        filtroInicioDesdePicker.setValue(null);
+        filtroFinHastaPicker.setValue(null);
+        tareaTabla.getSortOrder().clear();
+        esperaEscritura.stop();
+        aplicarFiltros();
+    }
+
+    /**
+     * Lee los controles del filtro y, si cambió, vuelve a cargar la tabla desde la primera página.
+     */
+    private void aplicarFiltros() {
+        FiltroTareas filtro = new FiltroTareas(filtroEstadoCombo.getValue(), filtroPrioridadCombo.getValue(),
+                filtroResponsableTexto.getText(), fecha(filtroInicioDesdePicker.getValue()),
+                fecha(filtroFinHastaPicker.getValue()), null);
+        if (filtro.vacio()) {
+            filtro = FiltroTareas.NINGUNO;
+        }
+        if (filtro.equals(filtroAplicado)) {
+            return;
+        }
+        filtroAplicado = filtro;
+        paginadorTareas.reiniciar();
+    }
+
+    /**
+     * Traduce la primera columna del orden de la tabla a un orden de la base de datos y vuelve
+     * a cargar la tabla si cambió. Sin columnas de orden se vuelve al orden por ID.
+     */
+    private void aplicarOrden() {
+        Sort.Order orden = ORDEN_POR_ID;
+        if (!tareaTabla.getSortOrder().isEmpty()) {
+            TableColumn<Tarea, ?> columna = tareaTabla.getSortOrder().get(0);
+            String propiedad = propiedadesColumnas.get(columna);
+            if (propiedad != null) {
+                orden = columna.getSortType() == TableColumn.SortType.ASCENDING
+                        ? Sort.Order.asc(propiedad) : Sort.Order.desc(propiedad);
+            }
+        }
+        if (orden.equals(ordenAplicado) || paginadorTareas == null) {
+            return;
+        }
+        ordenAplicado = orden;
+        comparadorFilas = comparador(orden);
+        paginadorTareas.reiniciar();
+    }
+
+    /**
+     * Indica si las páginas se piden a la base de datos (hay filtros o un orden distinto del ID)
+     * en lugar de al índice en memoria.
+     */
+    private static boolean consultaBaseDatos(FiltroTareas filtro, Sort.Order orden) {
+        return !filtro.vacio() || !orden.equals(ORDEN_POR_ID);
+    }
+
+    /**
+     * Comparador de las filas en el mismo orden que la consulta: la columna (null primero,
+     * texto sin distinguir mayúsculas ni tildes) y el ID como desempate, invertido si es descendente.
+     */
+    private static Comparator<Tarea> comparador(Sort.Order orden) {
+        String propiedad = orden.getProperty();
+        Comparator<Tarea> comparador = Comparator
+                .<Tarea, Comparable<?>>comparing(tarea -> EspecificacionesTarea.valor(tarea, propiedad),
+                        IndexControlador::compararValores)
+                .thenComparing(Tarea::getIdTarea);
+        return orden.isAscending() ? comparador : comparador.reversed();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compararValores(Comparable<?> a, Comparable<?> b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        if (a instanceof String x && b instanceof String y) {
+            return INTERCALACION.compare(x, y);
+        }
+        if (a instanceof Date x && b instanceof Date y) {
+            return Long.compare(x.getTime(), y.getTime());
+        }
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    private static Date fecha(LocalDate fecha) {
+        return fecha != null ? java.sql.Date.valueOf(fecha) : null;
+    }
+
+    /**
+     * Aplica el texto de búsqueda y vuelve a cargar la tabla desde la primera página de resultados.
+     */
+    private void buscarTareas(String texto) {
+        String normalizado = texto == null ? "" : texto.strip();
+        if (normalizado.equals(textoBuscado)) {
+            return;
+        }
+        textoBuscado = normalizado;
+        paginadorTareas.reiniciar();
+    }
+
+    /**
+     * Inserta o reemplaza una tarea en la tabla si coincide con la búsqueda y el filtro actuales;
+     * si no coincide (por ejemplo, porque se modificó su nombre) se quita de la tabla.
+     */
+    private void mostrarTarea(Tarea tarea) {
+        Tarea copia = TareaIndex.copiar(tarea);
+        String texto = textoBuscado;
+        FiltroTareas filtro = filtroAplicado;
+        boolean coincide = consultaBaseDatos(filtro, ordenAplicado) ? filtro.conTexto(texto).coincide(copia)
+                : texto.isEmpty() || TareaIndex.coincideConTexto(copia, texto);
+        // Si cambió el valor de la columna de orden, la fila cargada está en otra posición
+        Tarea anterior = filaCargada(copia.getIdTarea());
+        if (anterior != null && comparadorFilas.compare(anterior, copia) != 0) {
+            paginadorTareas.quitarFila(anterior);
+        }
+        if (coincide) {
+            paginadorTareas.actualizarFila(copia);
+        } else {
+            paginadorTareas.quitarFila(copia);
+        }
+    }
+
+    /**
+     * Aplica un cambio de varias tareas: si son más que una página se vuelve a cargar la tabla.
+     */
+    private void mostrarTareas(List<Tarea> tareas) {
+        if (tareas.size() > TAMANO_PAGINA) {
+            paginadorTareas.reiniciar();
+        } else {
+            tareas.forEach(this::mostrarTarea);
+        }
+    }
+
+    /**
+     * Quita la fila cargada con el ID indicado. Se busca por ID porque la tabla puede estar
+     * ordenada por otra columna.
+     */
+    private void quitarTarea(Integer idTarea) {
+        Tarea fila = filaCargada(idTarea);
+        if (fila == null) {
+            // No está cargada, pero pudo estar en la página precargada
+            fila = new Tarea();
+            fila.setIdTarea(idTarea);
+        }
+        paginadorTareas.quitarFila(fila);
+    }
+
+    private Tarea filaCargada(Integer idTarea) {
+        for (Tarea fila : tareaList) {
+            if (fila.getIdTarea().equals(idTarea)) {
+                return fila;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Recibe los eventos de tareas publicados por la capa de servicio (desde esta ventana,
+     * el historial, las notificaciones o los procesos de fondo) una vez confirmado el cambio,
+     * y los aplica a la tabla en el hilo de JavaFX.
+     * 
+     * @param evento Evento de tarea
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarTareas(EventoTarea evento) {
+        // La vista aún no se cargó (por ejemplo, al arrancar el contexto sin interfaz)
+        if (paginadorTareas == null) {
+            return;
+        }
+        Platform.runLater(() -> aplicarEvento(evento));
+    }
+
+    /**
+     * Aplica un evento a las filas cargadas: cada tarea creada, modificada o eliminada se
+     * inserta, reemplaza o quita en su lugar sin consultar de nuevo las tareas. Los cambios
+     * masivos vuelven a cargar la tabla desde el índice en memoria.
+     */
+    private void aplicarEvento(EventoTarea evento) {
+        switch (evento) {
+            case TareaCreada creada -> mostrarTarea(creada.tarea());
+            case TareaActualizada actualizada -> mostrarTarea(actualizada.tarea());
+            case TareaRecuperada recuperada -> mostrarTarea(recuperada.tarea());
+            case TareaEliminada eliminada -> quitarTarea(eliminada.idTarea());
+            case TareasEliminadas eliminadas -> {
+                if (eliminadas.idsTareas().size() > TAMANO_PAGINA) {
+                    paginadorTareas.reiniciar();
+                } else {
+                    eliminadas.idsTareas().forEach(this::quitarTarea);
+                }
+            }
+            case TareasRecuperadas recuperadas -> mostrarTareas(recuperadas.tareas());
+            case TareasGuardadas guardadas -> mostrarTareas(guardadas.tareas());
+            case PrioridadesRecalculadas recalculadas -> paginadorTareas.reiniciar();
+            case TareasRecargadas recargadas -> paginadorTareas.reiniciar();
+        }
     }
 
     /**
@@ -647,9 +1064,18 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
      */
     @FXML
     private void actualizarPrioridades() {
-        // Llamar al servicio para actualizar las prioridades
-        int tareasActualizadas = prioridadActualizadorService.actualizarPrioridadesManual();
-        
+        // Llamar al servicio para actualizar las prioridades en segundo plano
+        serviciosAsincronos.actualizarPrioridades()
+                .thenAccept(this::mostrarPrioridadesActualizadas)
+                .exceptionally(error -> mostrarError("No se pudieron actualizar las prioridades", error));
+    }
+    
+    /**
+     * Muestra el resultado de la actualización de prioridades.
+     * 
+     * @param tareasActualizadas Número de tareas cuya prioridad cambió
+     */
+    private void mostrarPrioridadesActualizadas(int tareasActualizadas) {
         // Crear una ventana de diálogo para mostrar el resultado
         Alert alerta = new Alert(Alert.AlertType.INFORMATION);
         alerta.setTitle("Prioridades Actualizadas");
@@ -662,9 +1088,6 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
                     "- 1 día o menos: Prioridad Alta\n" +
                     "- 3 días o menos: Prioridad Media\n" +
                     "- Más de 3 días: Prioridad Baja");
-            
-            // Refrescar la tabla para mostrar los cambios
-            listarTareas();
         } else {
             alerta.setContentText("No se requirieron cambios en las prioridades de las tareas.");
         }
@@ -677,10 +1100,17 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
      */
     @FXML
     private void mostrarNotificaciones() {
+        // Verificar tareas vencidas en segundo plano antes de mostrar la ventana
+        serviciosAsincronos.verificarTareasVencidas()
+                .thenRun(this::abrirVentanaNotificaciones)
+                .exceptionally(error -> mostrarError("No se pudieron verificar las tareas vencidas", error));
+    }
+    
+    /**
+     * Abre la ventana modal de notificaciones, o informa que no hay tareas vencidas.
+     */
+    private void abrirVentanaNotificaciones() {
         try {
-            // Verificar tareas vencidas antes de mostrar la ventana
-            notificacionService.verificarTareasVencidasManual();
-            
             // Si no hay notificaciones, mostrar mensaje y no abrir la ventana
             if (notificacionService.getNumeroNotificaciones() == 0) {
                 Alert alerta = new Alert(Alert.AlertType.INFORMATION);
@@ -696,10 +1126,6 @@ public class IndexControlador implements Initializable, RecuperacionListener, No
             loader.setControllerFactory(applicationContext::getBean);
             Parent root = loader.load();
             
-            // Obtener el controlador y establecer el listener para actualizar la lista cuando se actualice una tarea
-            NotificacionesControlador notificacionesControlador = loader.getController();
-            notificacionesControlador.setNotificacionListener(this);
-            
             // Crear una nueva ventana modal
             Stage stage = new Stage();
             stage.initModality(Modality.APPLICATION_MODAL);
@@ -1,5 +1,6 @@
 package poo.tareas.controlador;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -10,19 +11,36 @@ import javafx.stage.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import poo.tareas.evento.EventoTarea;
+import poo.tareas.evento.EventoTarea.PrioridadesRecalculadas;
+import poo.tareas.evento.EventoTarea.TareaActualizada;
+import poo.tareas.evento.EventoTarea.TareaCreada;
+import poo.tareas.evento.EventoTarea.TareaEliminada;
+import poo.tareas.evento.EventoTarea.TareaRecuperada;
+import poo.tareas.evento.EventoTarea.TareasEliminadas;
+import poo.tareas.evento.EventoTarea.TareasGuardadas;
+import poo.tareas.evento.EventoTarea.TareasRecargadas;
+import poo.tareas.evento.EventoTarea.TareasRecuperadas;
+import poo.tareas.modelo.EstadoTarea;
 import poo.tareas.modelo.Tarea;
 import poo.tareas.servicio.NotificacionService;
-import poo.tareas.servicio.tareaServicio;
+import poo.tareas.servicio.TareaIndex;
 
 import java.net.URL;
+import java.util.HashSet;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.Set;
 
 /**
  * Controlador para la ventana de notificaciones de tareas vencidas.
  * Muestra una lista de tareas que han vencido y permite marcarlas como completadas.
  */
 @Component
+@Profile("!lote")
 public class NotificacionesControlador implements Initializable {
     // Logger para registrar eventos
     private static final Logger logger = LoggerFactory.getLogger(NotificacionesControlador.class);
@@ -32,10 +50,7 @@ public class NotificacionesControlador implements Initializable {
     private NotificacionService notificacionService;
     
     @Autowired
-    private tareaServicio tareaServicio;
-    
-    // Interfaz para comunicar actualizaciones de tareas al controlador principal
-    private NotificacionListener notificacionListener;
+    private ServiciosAsincronos serviciosAsincronos;
     
     // Elementos de la interfaz de usuario
     @FXML
@@ -59,6 +74,9 @@ public class NotificacionesControlador implements Initializable {
     @FXML
     private Button cerrarButton;
     
+    @FXML
+    private ProgressIndicator indicadorOcupado;
+    
     // Lista para almacenar los datos de las tareas vencidas
     private final ObservableList<Tarea> tareasVencidasList = FXCollections.observableArrayList();
     
@@ -68,7 +86,7 @@ public class NotificacionesControlador implements Initializable {
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         // Configurar la tabla
-        tareasVencidasTabla.getSelectionModel().setSelectionMode(SelectionMode.SINGLE);
+        tareasVencidasTabla.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         
         // Configurar las columnas
         idColumna.setCellValueFactory(new PropertyValueFactory<>("idTarea"));
@@ -76,6 +94,10 @@ public class NotificacionesControlador implements Initializable {
         fechaFinColumna.setCellValueFactory(new PropertyValueFactory<>("fechaFinTarea"));
         responsableColumna.setCellValueFactory(new PropertyValueFactory<>("responsableTarea"));
         
+        // Mientras se guarda una tarea se muestra el indicador y se deshabilita la acción
+        indicadorOcupado.visibleProperty().bind(serviciosAsincronos.ocupadoProperty());
+        marcarCompletadaButton.disableProperty().bind(serviciosAsincronos.ocupadoProperty());
+        
         // Cargar las tareas vencidas
         cargarTareasVencidas();
         
@@ -98,38 +120,38 @@ public class NotificacionesControlador implements Initializable {
     }
     
     /**
-     * Marca la tarea seleccionada como completada.
+     * Marca las tareas seleccionadas como completadas, todas en una sola transacción.
      */
     @FXML
     public void marcarCompletada() {
-        // Obtener la tarea seleccionada
-        Tarea tarea = tareasVencidasTabla.getSelectionModel().getSelectedItem();
+        // Obtener las tareas seleccionadas
+        List<Tarea> tareas = List.copyOf(tareasVencidasTabla.getSelectionModel().getSelectedItems());
         
-        if (tarea != null) {
-            // Actualizar el estado de la tarea a "Completada"
-            tarea.setEstadoTarea("Completada");
-            tareaServicio.actualizarTarea(tarea);
-            
-            // Eliminar la tarea de la lista de notificaciones
-            notificacionService.eliminarNotificacion(tarea.getIdTarea());
-            
-            // Actualizar la tabla de tareas vencidas
-            cargarTareasVencidas();
-            
-            // Notificar al controlador principal sobre el cambio
-            if (notificacionListener != null) {
-                notificacionListener.onTareaActualizada();
-            }
-            
-            // Mostrar mensaje de confirmación
-            mostrarMensaje("Tarea Completada", "La tarea \"" + tarea.getNombreTarea() + "\" ha sido marcada como completada.");
-            
-            // Si no quedan tareas vencidas, cerrar la ventana
-            if (tareasVencidasList.isEmpty()) {
-                cerrarVentana();
-            }
+        if (!tareas.isEmpty()) {
+            // La tabla (y la de la ventana principal) se actualiza con el evento TareasGuardadas,
+            // que llega al hilo de JavaFX antes que el resultado de la operación
+            List<Integer> ids = tareas.stream().map(Tarea::getIdTarea).toList();
+            serviciosAsincronos.completarTareas(ids).thenAccept(completadas -> {
+                // Eliminar las tareas de la lista de notificaciones
+                ids.forEach(notificacionService::eliminarNotificacion);
+                
+                // Mostrar mensaje de confirmación
+                mostrarMensaje("Tarea Completada", tareas.size() == 1
+                        ? "La tarea \"" + tareas.get(0).getNombreTarea() + "\" ha sido marcada como completada."
+                        : completadas + " tareas han sido marcadas como completadas.");
+                
+                // Si no quedan tareas vencidas, cerrar la ventana
+                if (tareasVencidasList.isEmpty()) {
+                    cerrarVentana();
+                }
+            }).exceptionally(error -> {
+                Throwable causa = ServiciosAsincronos.causa(error);
+                logger.error("Error al marcar {} tarea(s) como completadas", ids.size(), causa);
+                mostrarMensaje("Error", "No se pudieron marcar las tareas como completadas: " + causa.getMessage());
+                return null;
+            });
         } else {
-            mostrarMensaje("Selección Requerida", "Por favor, seleccione una tarea para marcarla como completada.");
+            mostrarMensaje("Selección Requerida", "Por favor, seleccione una o más tareas para marcarlas como completadas.");
         }
     }
     
@@ -144,10 +166,53 @@ public class NotificacionesControlador implements Initializable {
     }
     
     /**
-     * Establece el listener para comunicar cambios al controlador principal.
+     * Recibe los eventos de tareas publicados por la capa de servicio una vez confirmado el
+     * cambio y actualiza en su lugar las tareas vencidas mostradas: las completadas o
+     * eliminadas se quitan y las demás se reemplazan por su versión guardada.
+     * 
+     * @param evento Evento de tarea
      */
-    public void setNotificacionListener(NotificacionListener listener) {
-        this.notificacionListener = listener;
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarTareas(EventoTarea evento) {
+        // La ventana aún no se abrió; al abrirla se cargan las tareas vencidas
+        if (tareasVencidasTabla == null) {
+            return;
+        }
+        Platform.runLater(() -> {
+            switch (evento) {
+                case TareaCreada creada -> actualizarTareaVencida(creada.tarea());
+                case TareaActualizada actualizada -> actualizarTareaVencida(actualizada.tarea());
+                case TareaRecuperada recuperada -> actualizarTareaVencida(recuperada.tarea());
+                case TareasGuardadas guardadas -> guardadas.tareas().forEach(this::actualizarTareaVencida);
+                case TareaEliminada eliminada -> quitarTareaVencida(eliminada.idTarea());
+                case TareasEliminadas eliminadas -> {
+                    Set<Integer> ids = new HashSet<>(eliminadas.idsTareas());
+                    tareasVencidasList.removeIf(tarea -> ids.contains(tarea.getIdTarea()));
+                }
+                case TareasRecuperadas recuperadas -> recuperadas.tareas().forEach(this::actualizarTareaVencida);
+                case PrioridadesRecalculadas recalculadas -> {
+                    // La tabla no muestra la prioridad
+                }
+                case TareasRecargadas recargadas -> cargarTareasVencidas();
+            }
+        });
+    }
+    
+    private void actualizarTareaVencida(Tarea tarea) {
+        if (tarea.getEstadoTarea() == EstadoTarea.COMPLETADA) {
+            quitarTareaVencida(tarea.getIdTarea());
+            return;
+        }
+        for (int i = 0; i < tareasVencidasList.size(); i++) {
+            if (tareasVencidasList.get(i).getIdTarea().equals(tarea.getIdTarea())) {
+                tareasVencidasList.set(i, TareaIndex.copiar(tarea));
+                return;
+            }
+        }
+    }
+    
+    private void quitarTareaVencida(Integer idTarea) {
+        tareasVencidasList.removeIf(tarea -> tarea.getIdTarea().equals(idTarea));
     }
     
     /**
@@ -160,11 +225,4 @@ public class NotificacionesControlador implements Initializable {
         alerta.setContentText(mensaje);
         alerta.showAndWait();
     }
-    
-    /**
-     * Interfaz para comunicar eventos de actualización de tareas.
-     */
-    public interface NotificacionListener {
-        void onTareaActualizada();
-    }
 } 
\ No newline at end of file
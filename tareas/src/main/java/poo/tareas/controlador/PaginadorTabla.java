@@ -0,0 +1,346 @@
+package poo.tareas.controlador;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Carga las filas de una tabla por páginas a medida que el usuario se desplaza.
+ *
+ * Las páginas se piden a una {@link FuentePaginas} en un hilo de fondo (paginación por clave:
+ * cada página se pide a partir de la última o la primera fila cargada) y se agregan a la lista
+ * de la tabla en el hilo de JavaFX. Mientras el usuario ve una página, la siguiente ya se está
+ * precargando. Solo se mantienen en memoria {@code maxPaginas} páginas: al cargar una página
+ * nueva por un extremo se descarta la más lejana por el otro, y se vuelve a pedir si el usuario
+ * regresa hacia ella.
+ *
+ * Las filas que cambian en otra parte (por ejemplo, al recibir un evento de dominio) se pueden
+ * insertar, reemplazar o quitar en su lugar con {@link #actualizarFila} y {@link #quitarFila},
+ * sin volver a cargar las páginas.
+ *
+ * @param <T> Tipo de las filas de la tabla
+ */
+public class PaginadorTabla<T> {
+    // Logger para registrar errores de carga
+    private static final Logger logger = LoggerFactory.getLogger(PaginadorTabla.class);
+
+    // Fracción del desplazamiento a partir de la cual se pide la página siguiente o la anterior
+    private static final double UMBRAL_DESPLAZAMIENTO = 0.9;
+
+    /**
+     * Interfaz que obtiene las páginas desde el servicio.
+     * Ambos métodos se ejecutan fuera del hilo de JavaFX y deben devolver las filas
+     * en el mismo orden en que se muestran en la tabla.
+     *
+     * @param <T> Tipo de las filas
+     */
+    public interface FuentePaginas<T> {
+        /**
+         * Obtiene las filas que siguen a la indicada.
+         * @param ultima Última fila cargada, o null para obtener la primera página
+         * @param tamano Número máximo de filas
+         * @return Filas posteriores a la indicada
+         */
+        List<T> siguientes(T ultima, int tamano);
+
+        /**
+         * Obtiene las filas que preceden a la indicada.
+         * @param primera Primera fila cargada
+         * @param tamano Número máximo de filas
+         * @return Filas anteriores a la indicada
+         */
+        List<T> anteriores(T primera, int tamano);
+    }
+
+    private final TableView<T> tabla;
+    private final ObservableList<T> filas;
+    private final FuentePaginas<T> fuente;
+    private final Comparator<? super T> orden;
+    private final int tamanoPagina;
+    private final int maxPaginas;
+
+    // Hilo de fondo para consultar la base de datos sin bloquear la interfaz
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "paginador-tabla");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    // Tamaño de cada página residente, en el mismo orden que en la tabla
+    private final List<Integer> paginasResidentes = new ArrayList<>();
+
+    // Página siguiente solicitada por adelantado (precarga)
+    private CompletableFuture<List<T>> precargaSiguiente;
+
+    private boolean hayMasAdelante = true;
+    private boolean hayMasAtras = false;
+    private boolean cargando = false;
+
+    // Se incrementa en cada reinicio para descartar respuestas de cargas anteriores
+    private long generacion = 0;
+
+    /**
+     * Crea un paginador para la tabla indicada.
+     *
+     * @param tabla Tabla que mostrará las filas
+     * @param filas Lista observable asignada a la tabla
+     * @param fuente Fuente de las páginas
+     * @param orden Orden de las filas en la tabla (el mismo de la fuente)
+     * @param tamanoPagina Número de filas por página
+     * @param maxPaginas Número máximo de páginas que se mantienen cargadas
+     */
+    public PaginadorTabla(TableView<T> tabla, ObservableList<T> filas, FuentePaginas<T> fuente,
+                          Comparator<? super T> orden, int tamanoPagina, int maxPaginas) {
+        this.tabla = tabla;
+        this.filas = filas;
+        this.fuente = fuente;
+        this.orden = orden;
+        this.tamanoPagina = tamanoPagina;
+        this.maxPaginas = maxPaginas;
+        tabla.setItems(filas);
+        // La barra de desplazamiento solo existe cuando la tabla ya tiene su skin
+        tabla.skinProperty().addListener((obs, anterior, nuevo) -> escucharDesplazamiento());
+        escucharDesplazamiento();
+    }
+
+    /**
+     * Descarta las filas cargadas y vuelve a cargar la primera página.
+     */
+    public void reiniciar() {
+        generacion++;
+        cancelarPrecarga();
+        paginasResidentes.clear();
+        filas.clear();
+        hayMasAdelante = true;
+        hayMasAtras = false;
+        cargando = false;
+        cargarSiguiente();
+    }
+
+    /**
+     * Carga la página posterior a la última fila cargada, si existe.
+     */
+    public void cargarSiguiente() {
+        if (cargando || !hayMasAdelante) {
+            return;
+        }
+        cargando = true;
+        long generacionActual = generacion;
+        CompletableFuture<List<T>> pagina = precargaSiguiente != null ? precargaSiguiente : pedirSiguiente(ultimaFila());
+        precargaSiguiente = null;
+        pagina.whenComplete((resultado, error) -> Platform.runLater(() -> {
+            if (generacionActual != generacion) {
+                return;
+            }
+            cargando = false;
+            if (error != null) {
+                logger.error("Error al cargar la página siguiente", error);
+                return;
+            }
+            agregarAlFinal(resultado);
+        }));
+    }
+
+    /**
+     * Carga la página anterior a la primera fila de la lista, si fue descartada antes.
+     */
+    public void cargarAnterior() {
+        if (cargando || !hayMasAtras || filas.isEmpty()) {
+            return;
+        }
+        cargando = true;
+        long generacionActual = generacion;
+        T primera = filas.get(0);
+        CompletableFuture.supplyAsync(() -> fuente.anteriores(primera, tamanoPagina), ejecutor)
+                .whenComplete((resultado, error) -> Platform.runLater(() -> {
+                    if (generacionActual != generacion) {
+                        return;
+                    }
+                    cargando = false;
+                    if (error != null) {
+                        logger.error("Error al cargar la página anterior", error);
+                        return;
+                    }
+                    agregarAlInicio(resultado);
+                }));
+    }
+
+    /**
+     * Inserta una fila nueva o reemplaza la fila equivalente según el orden de la tabla, sin
+     * consultar la fuente. Si la fila queda fuera de las páginas cargadas no se agrega: se
+     * obtendrá de la fuente cuando el usuario se desplace hasta ella.
+     *
+     * @param fila Fila nueva o modificada
+     */
+    public void actualizarFila(T fila) {
+        int posicion = Collections.binarySearch(filas, fila, orden);
+        if (posicion >= 0) {
+            filas.set(posicion, fila);
+            return;
+        }
+        posicion = -posicion - 1;
+        if (posicion == filas.size() && (hayMasAdelante || cargando)) {
+            // Pertenece a una página aún no cargada; la precarga pudo leerse antes del cambio
+            cancelarPrecarga();
+            return;
+        }
+        if (posicion == 0 && hayMasAtras) {
+            // Pertenece a una página descartada por el inicio
+            return;
+        }
+        filas.add(posicion, fila);
+        ajustarPagina(posicion, 1);
+    }
+
+    /**
+     * Quita la fila equivalente a la indicada, si está cargada, sin consultar la fuente.
+     *
+     * @param fila Fila eliminada (basta con que tenga la clave del orden)
+     */
+    public void quitarFila(T fila) {
+        int posicion = Collections.binarySearch(filas, fila, orden);
+        if (posicion < 0) {
+            // Pudo estar en la página precargada
+            cancelarPrecarga();
+            return;
+        }
+        filas.remove(posicion);
+        ajustarPagina(posicion, -1);
+    }
+
+    /**
+     * Detiene el hilo de fondo del paginador.
+     */
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    private void agregarAlFinal(List<T> pagina) {
+        if (pagina.size() < tamanoPagina) {
+            hayMasAdelante = false;
+        }
+        if (pagina.isEmpty()) {
+            return;
+        }
+        int primeraVisible = primeraFilaVisible();
+        filas.addAll(pagina);
+        paginasResidentes.add(pagina.size());
+
+        // Si se supera el máximo, se descarta la página más antigua del inicio
+        if (paginasResidentes.size() > maxPaginas) {
+            int descartadas = paginasResidentes.remove(0);
+            filas.remove(0, descartadas);
+            hayMasAtras = true;
+            tabla.scrollTo(Math.max(0, primeraVisible - descartadas));
+        }
+
+        // Se precarga la siguiente página mientras el usuario ve la actual
+        if (hayMasAdelante) {
+            precargaSiguiente = pedirSiguiente(ultimaFila());
+        }
+    }
+
+    private void agregarAlInicio(List<T> pagina) {
+        if (pagina.size() < tamanoPagina) {
+            hayMasAtras = false;
+        }
+        if (pagina.isEmpty()) {
+            return;
+        }
+        int primeraVisible = primeraFilaVisible();
+        filas.addAll(0, pagina);
+        paginasResidentes.add(0, pagina.size());
+
+        // Si se supera el máximo, se descarta la página del final y la precarga deja de ser válida
+        if (paginasResidentes.size() > maxPaginas) {
+            int descartadas = paginasResidentes.remove(paginasResidentes.size() - 1);
+            filas.remove(filas.size() - descartadas, filas.size());
+            hayMasAdelante = true;
+            cancelarPrecarga();
+        }
+        tabla.scrollTo(primeraVisible + pagina.size());
+    }
+
+    /**
+     * Ajusta el tamaño de la página residente que contiene la posición indicada después de
+     * insertar o quitar una fila; una inserción al final cuenta para la última página.
+     */
+    private void ajustarPagina(int posicion, int delta) {
+        if (paginasResidentes.isEmpty()) {
+            paginasResidentes.add(delta);
+            return;
+        }
+        int inicio = 0;
+        for (int i = 0; i < paginasResidentes.size(); i++) {
+            int tamano = paginasResidentes.get(i);
+            if (posicion < inicio + tamano || i == paginasResidentes.size() - 1) {
+                if (tamano + delta == 0) {
+                    paginasResidentes.remove(i);
+                } else {
+                    paginasResidentes.set(i, tamano + delta);
+                }
+                return;
+            }
+            inicio += tamano;
+        }
+    }
+
+    private CompletableFuture<List<T>> pedirSiguiente(T ultima) {
+        return CompletableFuture.supplyAsync(() -> fuente.siguientes(ultima, tamanoPagina), ejecutor);
+    }
+
+    private void cancelarPrecarga() {
+        if (precargaSiguiente != null) {
+            precargaSiguiente.cancel(false);
+            precargaSiguiente = null;
+        }
+    }
+
+    private T ultimaFila() {
+        return filas.isEmpty() ? null : filas.get(filas.size() - 1);
+    }
+
+    private int primeraFilaVisible() {
+        VirtualFlow<?> flujo = (VirtualFlow<?>) tabla.lookup(".virtual-flow");
+        if (flujo == null || flujo.getFirstVisibleCell() == null) {
+            return 0;
+        }
+        return flujo.getFirstVisibleCell().getIndex();
+    }
+
+    /**
+     * Registra el listener de la barra de desplazamiento vertical para pedir páginas
+     * cuando el usuario se acerca a alguno de los extremos.
+     */
+    private void escucharDesplazamiento() {
+        if (tabla.getSkin() == null) {
+            return;
+        }
+        for (Node nodo : tabla.lookupAll(".scroll-bar")) {
+            if (nodo instanceof ScrollBar barra && barra.getOrientation() == Orientation.VERTICAL) {
+                barra.valueProperty().addListener((obs, anterior, valor) -> {
+                    double posicion = (valor.doubleValue() - barra.getMin()) / (barra.getMax() - barra.getMin());
+                    if (posicion >= UMBRAL_DESPLAZAMIENTO) {
+                        cargarSiguiente();
+                    } else if (posicion <= 1 - UMBRAL_DESPLAZAMIENTO) {
+                        cargarAnterior();
+                    }
+                });
+            }
+        }
+    }
+}
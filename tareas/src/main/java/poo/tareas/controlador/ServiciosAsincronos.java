@@ -0,0 +1,174 @@
+package poo.tareas.controlador;
+
+import jakarta.annotation.PreDestroy;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import poo.tareas.modelo.Tarea;
+import poo.tareas.servicio.IHistorialTareaServicio;
+import poo.tareas.servicio.ITareaServicio;
+import poo.tareas.servicio.NotificacionService;
+import poo.tareas.servicio.PrioridadActualizadorService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Fachada asíncrona sobre los servicios de tareas e historial para los controladores.
+ *
+ * Cada operación se ejecuta en un hilo virtual, de modo que ninguna consulta a la base de
+ * datos bloquea el hilo de JavaFX. Los CompletableFuture devueltos se completan siempre en el
+ * hilo de JavaFX (también cuando fallan), así que las acciones encadenadas con thenAccept,
+ * exceptionally, etc. pueden modificar la interfaz directamente.
+ *
+ * Mientras haya operaciones en curso, {@link #ocupadoProperty()} vale true; los controladores
+ * lo usan para mostrar un indicador de actividad y deshabilitar las acciones que modifican datos.
+ */
+@Component
+@Profile("!lote")
+public class ServiciosAsincronos {
+    @Autowired
+    private ITareaServicio tareaServicio;
+
+    @Autowired
+    private IHistorialTareaServicio historialTareaServicio;
+
+    @Autowired
+    private PrioridadActualizadorService prioridadActualizadorService;
+
+    @Autowired
+    private NotificacionService notificacionService;
+
+    private final ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Operaciones en curso; solo se modifica en el hilo de JavaFX
+    private int pendientes = 0;
+    private final ReadOnlyBooleanWrapper ocupado = new ReadOnlyBooleanWrapper(false);
+
+    /**
+     * Indica si hay operaciones en curso. Solo debe leerse desde el hilo de JavaFX.
+     */
+    public ReadOnlyBooleanProperty ocupadoProperty() {
+        return ocupado.getReadOnlyProperty();
+    }
+
+    /**
+     * Guarda una tarea nueva o modificada.
+     */
+    public CompletableFuture<Void> guardarTarea(Tarea tarea) {
+        return ejecutar(() -> {
+            tareaServicio.guardarTarea(tarea);
+            return null;
+        });
+    }
+
+    /**
+     * Registra las tareas en el historial y las elimina, en una sola transacción.
+     *
+     * @return Número de tareas eliminadas
+     */
+    public CompletableFuture<Integer> eliminarTareas(List<Integer> idsTareas) {
+        return ejecutar(() -> tareaServicio.eliminarTareas(idsTareas));
+    }
+
+    /**
+     * Marca las tareas como completadas, en una sola transacción.
+     *
+     * @return Número de tareas cuyo estado cambió
+     */
+    public CompletableFuture<Integer> completarTareas(List<Integer> idsTareas) {
+        return ejecutar(() -> tareaServicio.completarTareas(idsTareas));
+    }
+
+    /**
+     * Recupera varias tareas del historial y las vuelve a guardar entre las tareas,
+     * en una sola transacción.
+     *
+     * @return Las tareas recuperadas
+     */
+    public CompletableFuture<List<Tarea>> recuperarTareas(List<Integer> idsHistorial) {
+        return ejecutar(() -> historialTareaServicio.recuperarTareas(idsHistorial));
+    }
+
+    /**
+     * Elimina permanentemente varios registros del historial, en una sola transacción.
+     *
+     * @return Número de registros eliminados
+     */
+    public CompletableFuture<Integer> eliminarDefinitivamente(List<Integer> idsHistorial) {
+        return ejecutar(() -> historialTareaServicio.eliminarDefinitivamente(idsHistorial));
+    }
+
+    /**
+     * Recalcula las prioridades de las tareas.
+     *
+     * @return Número de tareas cuya prioridad cambió
+     */
+    public CompletableFuture<Integer> actualizarPrioridades() {
+        return ejecutar(prioridadActualizadorService::actualizarPrioridadesManual);
+    }
+
+    /**
+     * Verifica las tareas vencidas pendientes de notificar.
+     *
+     * @return Número de tareas vencidas nuevas desde la última verificación
+     */
+    public CompletableFuture<Integer> verificarTareasVencidas() {
+        return ejecutar(notificacionService::verificarTareasVencidasManual);
+    }
+
+    /**
+     * Ejecuta una operación cualquiera en un hilo virtual y entrega su resultado en el hilo de JavaFX.
+     *
+     * @param operacion Operación a ejecutar fuera del hilo de JavaFX
+     * @return Resultado de la operación, completado en el hilo de JavaFX
+     */
+    public <T> CompletableFuture<T> ejecutar(Supplier<T> operacion) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        enHiloFx(() -> cambiarPendientes(1));
+        CompletableFuture.supplyAsync(operacion, ejecutor).whenComplete((valor, error) -> Platform.runLater(() -> {
+            cambiarPendientes(-1);
+            if (error != null) {
+                resultado.completeExceptionally(causa(error));
+            } else {
+                resultado.complete(valor);
+            }
+        }));
+        return resultado;
+    }
+
+    /**
+     * Obtiene la excepción original de un error de un CompletableFuture.
+     */
+    public static Throwable causa(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Deja de aceptar operaciones al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdown();
+    }
+
+    private void cambiarPendientes(int delta) {
+        pendientes += delta;
+        ocupado.set(pendientes > 0);
+    }
+
+    private static void enHiloFx(Runnable accion) {
+        if (Platform.isFxApplicationThread()) {
+            accion.run();
+        } else {
+            Platform.runLater(accion);
+        }
+    }
+}
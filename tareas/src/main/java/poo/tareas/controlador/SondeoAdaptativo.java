@@ -0,0 +1,170 @@
+package poo.tareas.controlador;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Consulta periódicamente una versión (un contador que cambia cuando cambian los datos) y
+ * ejecuta una acción en el hilo de JavaFX solo cuando la versión cambió.
+ *
+ * El intervalo se adapta al estado de la ventana que contiene el nodo indicado: es corto
+ * mientras la ventana tiene el foco, más largo cuando no lo tiene y mucho más largo cuando
+ * está minimizada. Al recuperar el foco se consulta de inmediato.
+ */
+public class SondeoAdaptativo {
+    // Logger para registrar errores del sondeo
+    private static final Logger logger = LoggerFactory.getLogger(SondeoAdaptativo.class);
+
+    private final LongSupplier version;
+    private final Runnable alCambiar;
+    private final Duration intervaloActivo;
+    private final Duration intervaloInactivo;
+    private final Duration intervaloMinimizado;
+
+    private final ScheduledExecutorService ejecutor;
+
+    // Estado de la ventana, actualizado desde el hilo de JavaFX
+    private volatile boolean enfocada = true;
+    private volatile boolean minimizada = false;
+
+    private ScheduledFuture<?> siguiente;
+    // Se incrementa al consultar de inmediato, para que una consulta anterior en curso no
+    // programe una segunda cadena de consultas
+    private long ronda = 0;
+    private long ultimaVersion = Long.MIN_VALUE;
+    private boolean detenido = false;
+
+    private final ChangeListener<Boolean> oyenteFoco = (obs, anterior, valor) -> {
+        enfocada = valor;
+        if (valor) {
+            consultarAhora();
+        }
+    };
+    private final ChangeListener<Boolean> oyenteMinimizada = (obs, anterior, valor) -> {
+        minimizada = valor;
+        if (!valor) {
+            consultarAhora();
+        }
+    };
+
+    /**
+     * Crea el sondeo; no empieza a consultar hasta llamar a {@link #iniciar()}.
+     *
+     * @param nombreHilo Nombre del hilo de fondo
+     * @param nodo Nodo cuya ventana determina el intervalo
+     * @param version Devuelve la versión actual de los datos; se llama fuera del hilo de JavaFX
+     * @param alCambiar Acción que se ejecuta en el hilo de JavaFX cuando la versión cambia
+     * @param intervaloActivo Intervalo con la ventana enfocada
+     * @param intervaloInactivo Intervalo con la ventana sin foco
+     * @param intervaloMinimizado Intervalo con la ventana minimizada
+     */
+    public SondeoAdaptativo(String nombreHilo, Node nodo, LongSupplier version, Runnable alCambiar,
+                            Duration intervaloActivo, Duration intervaloInactivo, Duration intervaloMinimizado) {
+        this.version = version;
+        this.alCambiar = alCambiar;
+        this.intervaloActivo = intervaloActivo;
+        this.intervaloInactivo = intervaloInactivo;
+        this.intervaloMinimizado = intervaloMinimizado;
+        this.ejecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, nombreHilo);
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        // La ventana solo existe cuando el nodo ya forma parte de una escena mostrada
+        nodo.sceneProperty().addListener((obs, anterior, escena) -> escucharEscena(escena));
+        escucharEscena(nodo.getScene());
+    }
+
+    /**
+     * Programa la primera consulta de inmediato.
+     */
+    public void iniciar() {
+        consultarAhora();
+    }
+
+    /**
+     * Detiene el sondeo y su hilo de fondo.
+     */
+    public synchronized void detener() {
+        detenido = true;
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Cancela la consulta programada y consulta de inmediato.
+     */
+    private synchronized void consultarAhora() {
+        if (detenido) {
+            return;
+        }
+        if (siguiente != null) {
+            siguiente.cancel(false);
+        }
+        long rondaActual = ++ronda;
+        siguiente = ejecutor.schedule(() -> consultar(rondaActual), 0, TimeUnit.MILLISECONDS);
+    }
+
+    private void consultar(long rondaActual) {
+        try {
+            long actual = version.getAsLong();
+            boolean cambio;
+            synchronized (this) {
+                cambio = actual != ultimaVersion;
+                ultimaVersion = actual;
+            }
+            if (cambio) {
+                Platform.runLater(alCambiar);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error en el sondeo {}", Thread.currentThread().getName(), e);
+        }
+        programarSiguiente(rondaActual);
+    }
+
+    private synchronized void programarSiguiente(long rondaActual) {
+        if (detenido || rondaActual != ronda) {
+            return;
+        }
+        Duration intervalo = minimizada ? intervaloMinimizado : enfocada ? intervaloActivo : intervaloInactivo;
+        siguiente = ejecutor.schedule(() -> consultar(rondaActual), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void escucharEscena(Scene escena) {
+        if (escena == null) {
+            return;
+        }
+        escena.windowProperty().addListener((obs, anterior, ventana) -> escucharVentana(anterior, ventana));
+        escucharVentana(null, escena.getWindow());
+    }
+
+    private void escucharVentana(Window anterior, Window ventana) {
+        if (anterior != null) {
+            anterior.focusedProperty().removeListener(oyenteFoco);
+            if (anterior instanceof Stage escenario) {
+                escenario.iconifiedProperty().removeListener(oyenteMinimizada);
+            }
+        }
+        if (ventana == null) {
+            return;
+        }
+        ventana.focusedProperty().addListener(oyenteFoco);
+        enfocada = ventana.isFocused();
+        if (ventana instanceof Stage escenario) {
+            escenario.iconifiedProperty().addListener(oyenteMinimizada);
+            minimizada = escenario.isIconified();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package poo.tareas.evento;
+
+import poo.tareas.modelo.HistorialTarea;
+
+import java.util.List;
+
+/**
+ * Eventos de dominio que publica la capa de servicio cuando cambia el historial de tareas
+ * eliminadas. La recuperación de una tarea se publica como {@link EventoTarea.TareaRecuperada}.
+ */
+public sealed interface EventoHistorial {
+
+    /**
+     * Se registraron tareas eliminadas en el historial.
+     *
+     * @param registros Registros guardados, con su ID asignado
+     */
+    record HistorialRegistrado(List<HistorialTarea> registros) implements EventoHistorial {
+    }
+
+    /**
+     * Se eliminó definitivamente un registro del historial.
+     *
+     * @param idHistorial ID del registro eliminado
+     */
+    record HistorialEliminado(Integer idHistorial) implements EventoHistorial {
+    }
+
+    /**
+     * Se eliminaron definitivamente varios registros del historial en una sola operación.
+     *
+     * @param idsHistorial IDs de los registros eliminados
+     */
+    record HistorialesEliminados(List<Integer> idsHistorial) implements EventoHistorial {
+    }
+
+    /**
+     * Se purgaron los registros del historial anteriores a una fecha. No trae los IDs, que pueden
+     * ser muchos: quien muestre el historial debe volver a cargarlo.
+     *
+     * @param eliminados Número de registros eliminados
+     */
+    record HistorialPurgado(int eliminados) implements EventoHistorial {
+    }
+
+    /**
+     * Otro proceso modificó el historial (por ejemplo, el comando purgar-historial del modo por
+     * lotes): quien muestre el historial debe volver a cargarlo.
+     */
+    record HistorialRecargado() implements EventoHistorial {
+    }
+}
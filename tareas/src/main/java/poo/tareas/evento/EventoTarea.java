@@ -0,0 +1,88 @@
+package poo.tareas.evento;
+
+import poo.tareas.modelo.Tarea;
+
+import java.util.List;
+
+/**
+ * Eventos de dominio que publica la capa de servicio cuando cambian las tareas.
+ *
+ * Se publican con el ApplicationEventPublisher de Spring y se entregan cuando se confirma la
+ * transacción (o de inmediato si no hay una). Llevan la tarea guardada o el ID de la tarea
+ * eliminada, de modo que quien escucha puede actualizar sus datos sin volver a consultarlos.
+ */
+public sealed interface EventoTarea {
+
+    /**
+     * Se guardó una tarea nueva.
+     *
+     * @param tarea Tarea guardada, con su ID asignado
+     */
+    record TareaCreada(Tarea tarea) implements EventoTarea {
+    }
+
+    /**
+     * Se guardaron los cambios de una tarea existente (incluido marcarla como completada).
+     *
+     * @param tarea Tarea con los datos guardados
+     */
+    record TareaActualizada(Tarea tarea) implements EventoTarea {
+    }
+
+    /**
+     * Se guardaron varias tareas en una sola operación (importación o actualización masiva).
+     *
+     * @param tareas Tareas nuevas o existentes guardadas
+     */
+    record TareasGuardadas(List<Tarea> tareas) implements EventoTarea {
+    }
+
+    /**
+     * Se eliminó una tarea.
+     *
+     * @param idTarea ID de la tarea eliminada
+     */
+    record TareaEliminada(Integer idTarea) implements EventoTarea {
+    }
+
+    /**
+     * Se eliminaron varias tareas en una sola operación.
+     *
+     * @param idsTareas IDs de las tareas eliminadas
+     */
+    record TareasEliminadas(List<Integer> idsTareas) implements EventoTarea {
+    }
+
+    /**
+     * Se recuperó una tarea desde el historial: la tarea se guardó de nuevo y el registro
+     * del historial se eliminó.
+     *
+     * @param tarea Tarea recuperada, con su nuevo ID
+     * @param idHistorial ID del registro del historial eliminado
+     */
+    record TareaRecuperada(Tarea tarea, Integer idHistorial) implements EventoTarea {
+    }
+
+    /**
+     * Se recuperaron varias tareas desde el historial en una sola operación.
+     *
+     * @param tareas Tareas recuperadas, con sus nuevos IDs
+     * @param idsHistorial IDs de los registros del historial eliminados
+     */
+    record TareasRecuperadas(List<Tarea> tareas, List<Integer> idsHistorial) implements EventoTarea {
+    }
+
+    /**
+     * Se recalcularon las prioridades con una sentencia masiva; las tareas modificadas no se
+     * conocen una por una, pero el índice en memoria ya refleja las nuevas prioridades.
+     */
+    record PrioridadesRecalculadas() implements EventoTarea {
+    }
+
+    /**
+     * Otro proceso modificó las tareas (por ejemplo, un comando del modo por lotes) y el índice
+     * se volvió a cargar desde la base de datos; quien muestre tareas debe volver a cargarlas.
+     */
+    record TareasRecargadas() implements EventoTarea {
+    }
+}
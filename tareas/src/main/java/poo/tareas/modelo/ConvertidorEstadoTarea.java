@@ -0,0 +1,22 @@
+package poo.tareas.modelo;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Convierte {@link EstadoTarea} en su código de un byte para guardarlo en una columna TINYINT,
+ * y viceversa. Los valores nulos se guardan como NULL.
+ */
+@Converter(autoApply = true)
+public class ConvertidorEstadoTarea implements AttributeConverter<EstadoTarea, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(EstadoTarea valor) {
+        return valor != null ? valor.getCodigo() : null;
+    }
+
+    @Override
+    public EstadoTarea convertToEntityAttribute(Byte codigo) {
+        return codigo != null ? EstadoTarea.desdeCodigo(codigo) : null;
+    }
+}
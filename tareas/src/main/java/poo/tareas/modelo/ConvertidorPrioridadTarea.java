@@ -0,0 +1,22 @@
+package poo.tareas.modelo;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Convierte {@link PrioridadTarea} en su código de un byte para guardarlo en una columna TINYINT,
+ * y viceversa. Los valores nulos se guardan como NULL.
+ */
+@Converter(autoApply = true)
+public class ConvertidorPrioridadTarea implements AttributeConverter<PrioridadTarea, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(PrioridadTarea valor) {
+        return valor != null ? valor.getCodigo() : null;
+    }
+
+    @Override
+    public PrioridadTarea convertToEntityAttribute(Byte codigo) {
+        return codigo != null ? PrioridadTarea.desdeCodigo(codigo) : null;
+    }
+}
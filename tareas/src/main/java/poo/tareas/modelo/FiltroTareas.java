@@ -0,0 +1,138 @@
+package poo.tareas.modelo;
+
+import java.text.Normalizer;
+import java.util.Date;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Criterios con los que se filtran las tareas en la base de datos. Los criterios null no filtran.
+ *
+ * @param estado Estado exacto de la tarea
+ * @param prioridad Prioridad exacta de la tarea
+ * @param responsable Inicio del nombre del responsable (en MySQL sin distinguir mayúsculas, según la
+ *                    intercalación de la columna)
+ * @param inicioDesde Fecha mínima de inicio (incluida)
+ * @param finHasta Fecha máxima de finalización (incluida)
+ * @param texto Palabras separadas por espacios; cada una debe aparecer en el nombre, la descripción
+ *              o el responsable, sin distinguir mayúsculas ni tildes (ver palabras)
+ */
+public record FiltroTareas(EstadoTarea estado, PrioridadTarea prioridad, String responsable,
+                           Date inicioDesde, Date finHasta, String texto) {
+
+    /**
+     * Filtro que no descarta ninguna tarea.
+     */
+    public static final FiltroTareas NINGUNO = new FiltroTareas(null, null, null, null, null, null);
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    /**
+     * @return true si ningún criterio filtra
+     */
+    public boolean vacio() {
+        return estado == null && prioridad == null && (responsable == null || responsable.isBlank())
+                && inicioDesde == null && finHasta == null && (texto == null || texto.isBlank());
+    }
+
+    /**
+     * @param texto Texto buscado en el nombre, la descripción o el responsable
+     * @return Copia del filtro con otro texto
+     */
+    public FiltroTareas conTexto(String texto) {
+        return new FiltroTareas(estado, prioridad, responsable, inicioDesde, finHasta, texto);
+    }
+
+    /**
+     * Evalúa el filtro sobre una tarea ya cargada, con el mismo criterio que la consulta (el
+     * responsable sin distinguir mayúsculas; el texto, además, sin distinguir tildes). Sirve para decidir si una tarea que
+     * cambió sigue en la tabla filtrada sin volver a consultar la base de datos.
+     *
+     * @param tarea Tarea a evaluar
+     * @return true si la tarea cumple todos los criterios
+     */
+    public boolean coincide(Tarea tarea) {
+        if (estado != null && estado != tarea.getEstadoTarea()) {
+            return false;
+        }
+        if (prioridad != null && prioridad != tarea.getPrioridadTarea()) {
+            return false;
+        }
+        if (responsable != null && !responsable.isBlank()
+                && !minusculas(tarea.getResponsableTarea()).startsWith(minusculas(responsable.strip()))) {
+            return false;
+        }
+        if (inicioDesde != null && (tarea.getFechaInicioTarea() == null
+                || tarea.getFechaInicioTarea().getTime() < inicioDesde.getTime())) {
+            return false;
+        }
+        if (finHasta != null && (tarea.getFechaFinTarea() == null
+                || tarea.getFechaFinTarea().getTime() > finHasta.getTime())) {
+            return false;
+        }
+        return texto == null || contienePalabras(texto, tarea.getNombreTarea(), tarea.getDescripcionTarea(),
+                tarea.getResponsableTarea());
+    }
+
+    /**
+     * Indica si cada palabra del texto aparece en alguno de los campos, sin distinguir mayúsculas
+     * ni tildes. Es la búsqueda por texto de coincide, y también la del historial.
+     *
+     * @param texto Texto buscado (ver palabras)
+     * @param campos Campos donde se busca; los null no contienen ninguna palabra
+     * @return true si todas las palabras aparecen, o si el texto está en blanco
+     */
+    public static boolean contienePalabras(String texto, String... campos) {
+        String[] palabras = palabras(texto);
+        if (palabras.length == 0) {
+            return true;
+        }
+        String[] normalizados = new String[campos.length];
+        for (int i = 0; i < campos.length; i++) {
+            normalizados[i] = normalizar(campos[i]);
+        }
+        for (String palabra : palabras) {
+            boolean encontrada = false;
+            for (String campo : normalizados) {
+                if (campo.contains(palabra)) {
+                    encontrada = true;
+                    break;
+                }
+            }
+            if (!encontrada) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Separa el texto buscado en palabras normalizadas. Es el criterio común de la búsqueda por
+     * texto: la consulta a la base de datos, coincide, el índice de tareas en memoria y la
+     * búsqueda en el historial.
+     *
+     * @param texto Texto buscado
+     * @return Palabras en minúsculas y sin tildes; vacío si el texto está en blanco
+     */
+    public static String[] palabras(String texto) {
+        String normalizado = normalizar(texto).strip();
+        return normalizado.isEmpty() ? new String[0] : ESPACIOS.split(normalizado);
+    }
+
+    /**
+     * @param texto Texto a normalizar, o null
+     * @return Texto en minúsculas y sin tildes ("" si es null)
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinTildes.toLowerCase(Locale.ROOT);
+    }
+
+    private static String minusculas(String texto) {
+        return texto == null ? "" : texto.toLowerCase(Locale.ROOT);
+    }
+}
@@ -4,11 +4,18 @@
  package poo.tareas.modelo;
 
 // Importaciones necesarias para la entidad JPA y otras funcionalidades
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
@@ -24,8 +31,16 @@ import java.util.Date;
  * @NoArgsConstructor - Genera un constructor sin argumentos requerido por JPA
  * @AllArgsConstructor - Genera un constructor con todos los argumentos
  * @ToString - Genera el método toString() para representación en texto del objeto
+ * @Cacheable / @Cache - Guarda los registros en la caché de segundo nivel (lectura y escritura)
+ * @Table - Declara el índice (fechaEliminacion, idHistorial) que usa la paginación por clave del historial
  */
 @Entity
+@Table(indexes = {
+        // Índice para recorrer el historial de la eliminación más reciente a la más antigua
+        @Index(name = "idx_historial_fecha_eliminacion", columnList = "fechaEliminacion, idHistorial")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "historial_tarea")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,10 +49,12 @@ public class HistorialTarea {
     /**
      * Identificador único del registro de historial
      * @Id - Indica que este campo es la clave primaria
-     * @GeneratedValue - Configura la estrategia de generación automática de valores para la clave primaria
+     * @GeneratedValue - Configura la estrategia de generación automática de valores para la clave primaria.
+     * Se usa una secuencia con bloques de 50 IDs para que los INSERT puedan agruparse en lotes JDBC.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historial_tarea_seq")
+    @SequenceGenerator(name = "historial_tarea_seq", sequenceName = "historial_tarea_seq", allocationSize = 50)
     private Integer idHistorial;
     
     /**
@@ -71,14 +88,17 @@ public class HistorialTarea {
     private Date fechaFinTarea;
     
     /**
-     * Estado de la tarea en el momento de la acción (ej: pendiente, en progreso, completada)
+     * Estado de la tarea en el momento de la acción (ej: pendiente, en progreso, completada),
+     * guardado como TINYINT
      */
-    private String estadoTarea;
+    @Convert(converter = ConvertidorEstadoTarea.class)
+    private EstadoTarea estadoTarea;
     
     /**
-     * Nivel de prioridad asignado a la tarea en el momento de la acción
+     * Nivel de prioridad asignado a la tarea en el momento de la acción, guardado como TINYINT
      */
-    private String prioridadTarea;
+    @Convert(converter = ConvertidorPrioridadTarea.class)
+    private PrioridadTarea prioridadTarea;
     
     /**
      * Fecha y hora en que se realizó la acción sobre la tarea
@@ -113,6 +133,21 @@ public class HistorialTarea {
         // Se guarda el tipo de acción realizada
         this.accion = accion;
     }
+
+    /**
+     * Crea la vista de historial de una tarea borrada de forma lógica (no se guarda en la tabla
+     * del historial). El ID del registro es el de la tarea, que lo conserva al restaurarse, y la
+     * fecha de eliminación es la fecha de borrado.
+     * 
+     * @param tarea La tarea borrada
+     * @return Registro de historial que representa a la tarea
+     */
+    public static HistorialTarea deTareaBorrada(Tarea tarea) {
+        HistorialTarea historial = new HistorialTarea(tarea, "ELIMINACIÓN");
+        historial.idHistorial = tarea.getIdTarea();
+        historial.fechaEliminacion = tarea.getFechaBorrado();
+        return historial;
+    }
     
     /**
      * Obtiene la fecha de finalización de la tarea en el historial.
@@ -126,7 +161,7 @@ public class HistorialTarea {
      * Obtiene el estado de la tarea en el historial.
      * @return Estado de la tarea
      */
-    public String getEstadoTarea() {
+    public EstadoTarea getEstadoTarea() {
         return estadoTarea;
     }
     
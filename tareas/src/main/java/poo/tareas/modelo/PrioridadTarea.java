@@ -0,0 +1,74 @@
+package poo.tareas.modelo;
+
+/**
+ * Prioridad de una tarea, de la más urgente a la menos urgente.
+ * Se guarda en la base de datos como un código de un byte (columna TINYINT) mediante
+ * {@link ConvertidorPrioridadTarea}; la etiqueta es el texto que se muestra en la interfaz y en los
+ * archivos importados o exportados.
+ */
+public enum PrioridadTarea {
+    ALTA(0, "Alta"),
+    MEDIA(1, "Media"),
+    BAJA(2, "Baja");
+
+    private final byte codigo;
+    private final String etiqueta;
+
+    PrioridadTarea(int codigo, String etiqueta) {
+        this.codigo = (byte) codigo;
+        this.etiqueta = etiqueta;
+    }
+
+    /**
+     * Obtiene el código con que se guarda en la base de datos.
+     * @return El código del valor
+     */
+    public byte getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Obtiene el texto que se muestra al usuario.
+     * @return La etiqueta del valor
+     */
+    public String getEtiqueta() {
+        return etiqueta;
+    }
+
+    /**
+     * Obtiene el valor que corresponde a un código guardado en la base de datos.
+     * @param codigo Código guardado
+     * @return El valor correspondiente
+     * @throws IllegalArgumentException Si el código no corresponde a ningún valor
+     */
+    public static PrioridadTarea desdeCodigo(byte codigo) {
+        for (PrioridadTarea valor : values()) {
+            if (valor.codigo == codigo) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Código de prioridad desconocido: " + codigo);
+    }
+
+    /**
+     * Obtiene el valor que corresponde a una etiqueta, por ejemplo al importar un archivo.
+     * @param etiqueta Texto de la etiqueta
+     * @return El valor correspondiente, o null si la etiqueta no corresponde a ningún valor
+     */
+    public static PrioridadTarea desdeEtiqueta(String etiqueta) {
+        for (PrioridadTarea valor : values()) {
+            if (valor.etiqueta.equals(etiqueta)) {
+                return valor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Devuelve la etiqueta, que es lo que muestran las tablas y los combobox.
+     */
+    @Override
+    public String toString() {
+        return etiqueta;
+    }
+}
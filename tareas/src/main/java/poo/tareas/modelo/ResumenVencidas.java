@@ -0,0 +1,13 @@
+package poo.tareas.modelo;
+
+/**
+ * Resumen de las tareas vencidas obtenido con una sola consulta de agregación.
+ * Se utiliza como sonda económica para saber si el conjunto de tareas vencidas cambió
+ * sin tener que cargar las tareas: si el total y el mayor ID coinciden con la última
+ * verificación, no es necesario volver a consultarlas.
+ *
+ * @param total Número de tareas vencidas
+ * @param maxIdTarea Mayor ID entre las tareas vencidas (null si no hay ninguna)
+ */
+public record ResumenVencidas(long total, Integer maxIdTarea) {
+}
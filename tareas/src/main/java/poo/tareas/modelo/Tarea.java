@@ -1,14 +1,22 @@
 package poo.tareas.modelo;
 
 // Importaciones necesarias para la entidad JPA y funcionalidades de Lombok
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.SQLRestriction;
 import java.util.Date;
 
 /**
@@ -17,21 +25,48 @@ import java.util.Date;
  * Se utilizan anotaciones de Lombok para reducir el código.
  */
 @Entity // Marca esta clase como una entidad JPA que se mapea a una tabla
+@Table(indexes = {
+        // Índice compuesto para la consulta de tareas vencidas (estado distinto de Completada y fecha fin <= hoy)
+        @Index(name = "idx_tarea_estado_fecha_fin", columnList = "estadoTarea, fechaFinTarea"),
+        // Índices de los filtros y del orden por columna de la tabla (paginación por clave: columna, ID)
+        @Index(name = "idx_tarea_estado", columnList = "estadoTarea, idTarea"),
+        @Index(name = "idx_tarea_prioridad_fecha_fin", columnList = "prioridadTarea, fechaFinTarea, idTarea"),
+        @Index(name = "idx_tarea_responsable", columnList = "responsableTarea, idTarea"),
+        @Index(name = "idx_tarea_nombre", columnList = "nombreTarea, idTarea"),
+        @Index(name = "idx_tarea_fecha_inicio", columnList = "fechaInicioTarea, idTarea"),
+        @Index(name = "idx_tarea_fecha_fin", columnList = "fechaFinTarea, idTarea"),
+        // Índice del borrado lógico: las tareas activas (fecha null) quedan juntas y ordenadas por ID,
+        // y las borradas ordenadas por fecha de borrado para la paginación del historial
+        @Index(name = "idx_tarea_borrado", columnList = "fechaBorrado, idTarea")
+})
+// Las consultas de Hibernate solo ven las tareas activas; las borradas en el modo de borrado
+// lógico se consultan con SQL nativo (ver tareaRepositorio)
+@SQLRestriction("fecha_borrado is null")
+// Guarda las tareas en la caché de segundo nivel; Hibernate actualiza o invalida la entrada
+// al guardar, actualizar o eliminar la tarea dentro de la misma transacción
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tarea")
 @Data // Anotación de Lombok que genera getters, setters, equals, hashCode y toString
 @NoArgsConstructor // Genera un constructor sin argumentos
 @AllArgsConstructor // Genera un constructor con todos los argumentos
 @ToString // Genera el método toString()
 public class Tarea {
     @Id // Identifica el campo como clave primaria
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Genera valor automáticamente (auto-increment)
+    // Genera el valor con una secuencia que reserva bloques de 50 IDs, lo que permite agrupar
+    // los INSERT en lotes JDBC (con IDENTITY Hibernate debe insertar fila por fila)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tarea_seq")
+    @SequenceGenerator(name = "tarea_seq", sequenceName = "tarea_seq", allocationSize = 50)
     private Integer idTarea; // Identificador único de la tarea
     private String nombreTarea; // Nombre descriptivo de la tarea
     private String responsableTarea; // Persona responsable de completar la tarea
     private String descripcionTarea; // Descripción detallada de la tarea
     private Date fechaInicioTarea; // Fecha de inicio planificada para la tarea
     private Date fechaFinTarea; // Fecha límite para completar la tarea
-    private String estadoTarea; // Estado actual de la tarea 
-    private String prioridadTarea; // Prioridad de la tarea 
+    @Convert(converter = ConvertidorEstadoTarea.class) // Se guarda como TINYINT
+    private EstadoTarea estadoTarea; // Estado actual de la tarea 
+    @Convert(converter = ConvertidorPrioridadTarea.class) // Se guarda como TINYINT
+    private PrioridadTarea prioridadTarea; // Prioridad de la tarea 
+    private Date fechaBorrado; // Fecha de eliminación en el modo de borrado lógico (null si está activa)
     
     /**
      * Obtiene el identificador único de la tarea.
@@ -93,7 +128,7 @@ public class Tarea {
      * Obtiene el estado actual de la tarea.
      * @return El estado de la tarea
      */
-    public String getEstadoTarea() {
+    public EstadoTarea getEstadoTarea() {
         return estadoTarea;
     }
 
@@ -101,7 +136,7 @@ public class Tarea {
      * Obtiene la prioridad asignada a la tarea.
      * @return La prioridad de la tarea
      */
-    public String getPrioridadTarea() {
+    public PrioridadTarea getPrioridadTarea() {
         return prioridadTarea;
     }
 
@@ -149,7 +184,7 @@ public class Tarea {
      * Establece el estado de la tarea.
      * @param estadoTarea El nuevo estado de la tarea
      */
-    public void setEstadoTarea(String estadoTarea) {
+    public void setEstadoTarea(EstadoTarea estadoTarea) {
         this.estadoTarea = estadoTarea;
     }
 
@@ -157,7 +192,7 @@ public class Tarea {
      * Establece la prioridad de la tarea.
      * @param prioridadTarea La nueva prioridad de la tarea
      */
-    public void setPrioridadTarea(String prioridadTarea) {
+    public void setPrioridadTarea(PrioridadTarea prioridadTarea) {
         this.prioridadTarea = prioridadTarea;
     }
 }
@@ -0,0 +1,34 @@
+package poo.tareas.modelo;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Versión de los datos compartida entre procesos: una sola fila con un contador que los
+ * comandos del modo por lotes incrementan en la misma transacción en que modifican tareas o
+ * historial. La interfaz gráfica lo consulta para saber cuándo volver a cargar los datos que
+ * tiene en memoria (ver SincronizacionProcesos).
+ *
+ * No se guarda en la caché de segundo nivel: cada consulta debe leer la base de datos.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionDatos {
+    /**
+     * ID de la única fila de la tabla.
+     */
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    /**
+     * Número de modificaciones hechas por otros procesos.
+     */
+    private long version;
+}
@@ -0,0 +1,186 @@
+package poo.tareas.presentacion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import poo.tareas.servicio.BarridoNocturnoService;
+import poo.tareas.servicio.BarridoNocturnoService.ResultadoBarrido;
+import poo.tareas.servicio.ExportacionExcelService;
+import poo.tareas.servicio.ExportacionExcelService.ResultadoExportacion;
+import poo.tareas.servicio.IHistorialTareaServicio;
+import poo.tareas.servicio.ImportacionTareasService;
+import poo.tareas.servicio.PrioridadActualizadorService;
+import poo.tareas.servicio.RelojDiario;
+import poo.tareas.servicio.ResultadoImportacion;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Comandos del modo por lotes (ver SistemasTareasLote). Cada comando llama al mismo servicio
+ * que la acción equivalente de la interfaz gráfica y escribe el resultado en el log:
+ * - prioridades: recalcula las prioridades según las fechas de finalización
+ * - barrido [fecha]: barrido nocturno (prioridades y tareas vencidas), con la fecha de hoy o la indicada (aaaa-mm-dd)
+ * - exportar archivo.xlsx: exporta todas las tareas a Excel
+ * - importar archivo: importa tareas desde un archivo .xlsx o .csv
+ * - purgar-historial [dias]: elimina del historial los registros más antiguos que los días indicados
+ *   (por defecto, la propiedad tareas.lote.dias-historial)
+ */
+@Component
+@Profile("lote")
+public class ComandosLote {
+    // Logger donde se escribe el resultado de cada comando
+    private static final Logger logger = LoggerFactory.getLogger(ComandosLote.class);
+
+    /**
+     * Códigos de salida del proceso.
+     */
+    public static final int CORRECTO = 0;
+    public static final int ERROR = 1;
+    public static final int USO_INCORRECTO = 2;
+
+    private static final String USO = """
+            Uso: java -jar tareas.jar lote <comando> [parámetros] [--propiedad=valor ...]
+              prioridades                 Recalcula las prioridades de las tareas
+              barrido [aaaa-mm-dd]        Ejecuta el barrido nocturno (por defecto, con la fecha de hoy)
+              exportar <archivo.xlsx>     Exporta todas las tareas a Excel
+              importar <archivo>          Importa tareas desde un archivo .xlsx o .csv
+              purgar-historial [días]     Elimina del historial los registros más antiguos que los días indicados
+              servicio                    Queda en ejecución con las tareas programadas, sin interfaz""";
+
+    // Antigüedad por defecto de los registros que elimina purgar-historial
+    @Value("${tareas.lote.dias-historial:90}")
+    private int diasHistorial;
+
+    @Autowired
+    private PrioridadActualizadorService prioridadActualizadorService;
+
+    @Autowired
+    private BarridoNocturnoService barridoNocturnoService;
+
+    @Autowired
+    private ExportacionExcelService exportacionExcelService;
+
+    @Autowired
+    private ImportacionTareasService importacionTareasService;
+
+    @Autowired
+    private IHistorialTareaServicio historialTareaServicio;
+
+    @Autowired
+    private RelojDiario relojDiario;
+
+    /**
+     * Ejecuta un comando.
+     *
+     * @param argumentos Nombre del comando seguido de sus parámetros
+     * @return Código de salida: CORRECTO, ERROR o USO_INCORRECTO
+     */
+    public int ejecutar(List<String> argumentos) {
+        if (argumentos.isEmpty()) {
+            logger.error("Falta el comando\n{}", USO);
+            return USO_INCORRECTO;
+        }
+        String comando = argumentos.get(0);
+        List<String> parametros = argumentos.subList(1, argumentos.size());
+        try {
+            return switch (comando) {
+                case "prioridades" -> prioridades();
+                case "barrido" -> barrido(parametros);
+                case "exportar" -> exportar(parametros);
+                case "importar" -> importar(parametros);
+                case "purgar-historial" -> purgarHistorial(parametros);
+                default -> {
+                    logger.error("Comando desconocido: {}\n{}", comando, USO);
+                    yield USO_INCORRECTO;
+                }
+            };
+        } catch (IllegalArgumentException e) {
+            logger.error("{}\n{}", e.getMessage(), USO);
+            return USO_INCORRECTO;
+        } catch (Exception e) {
+            logger.error("Error al ejecutar el comando {}", comando, e);
+            return ERROR;
+        }
+    }
+
+    private int prioridades() {
+        int actualizadas = prioridadActualizadorService.actualizarPrioridadesManual();
+        logger.info("Prioridades recalculadas: {} tareas actualizadas", actualizadas);
+        return CORRECTO;
+    }
+
+    private int barrido(List<String> parametros) {
+        LocalDate hoy = parametros.isEmpty() ? relojDiario.hoy() : fecha(parametros.get(0));
+        ResultadoBarrido resultado = barridoNocturnoService.barrer(hoy);
+        logger.info("Barrido del {}: {} tareas revisadas, {} prioridades cambiadas, {} vencidas ({} nuevas) en {} ms",
+                hoy, resultado.leidas(), resultado.prioridadesCambiadas(), resultado.vencidas(),
+                resultado.nuevasVencidas(), resultado.milisegundos());
+        return CORRECTO;
+    }
+
+    private int exportar(List<String> parametros) throws IOException {
+        File archivo = archivo(parametros, "exportar");
+        ResultadoExportacion resultado = exportacionExcelService.exportarTareas(archivo, (filas, total) -> { }, () -> false);
+        logger.info("Exportadas {} tareas a {}", resultado.filas(), archivo.getAbsolutePath());
+        return CORRECTO;
+    }
+
+    private int importar(List<String> parametros) throws IOException {
+        File archivo = archivo(parametros, "importar");
+        if (!archivo.isFile()) {
+            throw new IllegalArgumentException("No existe el archivo " + archivo.getAbsolutePath());
+        }
+        ResultadoImportacion resultado = importacionTareasService.importar(archivo, (filas, fraccion) -> { }, () -> false);
+        for (String error : resultado.errores()) {
+            logger.warn("Fila rechazada: {}", error);
+        }
+        logger.info("Importadas {} tareas de {}, {} filas rechazadas",
+                resultado.importadas(), archivo.getName(), resultado.rechazadas());
+        return CORRECTO;
+    }
+
+    private int purgarHistorial(List<String> parametros) {
+        int dias = parametros.isEmpty() ? diasHistorial : numeroDias(parametros.get(0));
+        LocalDate limite = relojDiario.hoy().minusDays(dias);
+        int eliminados = historialTareaServicio.purgarHistorial(
+                Date.from(limite.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        logger.info("Historial purgado: {} registros eliminados antes del {}", eliminados, limite);
+        return CORRECTO;
+    }
+
+    private static LocalDate fecha(String texto) {
+        try {
+            return LocalDate.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("La fecha no es válida (aaaa-mm-dd): " + texto);
+        }
+    }
+
+    private static int numeroDias(String texto) {
+        try {
+            int dias = Integer.parseInt(texto);
+            if (dias >= 0) {
+                return dias;
+            }
+        } catch (NumberFormatException e) {
+            // Se informa igual que un número negativo
+        }
+        throw new IllegalArgumentException("El número de días no es válido: " + texto);
+    }
+
+    private static File archivo(List<String> parametros, String comando) {
+        if (parametros.isEmpty()) {
+            throw new IllegalArgumentException("El comando " + comando + " necesita el nombre del archivo");
+        }
+        return new File(parametros.get(0));
+    }
+}
@@ -0,0 +1,62 @@
+package poo.tareas.presentacion;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import poo.tareas.TareasApplication;
+
+import java.util.List;
+
+/**
+ * Modo por lotes: inicia solo el contexto de Spring con el perfil "lote", sin JavaFX (no se
+ * crean los controladores ni se cargan FXML ni CSS), para ejecutar los servicios desde cron o
+ * desde un gestor de servicios. Se inicia con el argumento "lote" de TareasApplication:
+ *
+ *   java -Xmx128m -jar tareas.jar lote barrido
+ *   java -jar tareas.jar lote servicio
+ *
+ * Con un comando de ComandosLote el contexto se inicia con inicialización diferida (solo se crean
+ * los componentes que usa el comando), el índice de tareas no se precarga y el proceso termina
+ * con el código de salida del comando. Con "servicio" el proceso queda en ejecución con las tareas
+ * programadas (barrido nocturno, reloj diario, resúmenes del log) hasta que se detiene.
+ *
+ * Los comandos pueden ejecutarse con la interfaz gráfica abierta sobre la misma base de datos:
+ * cada cambio incrementa la versión de los datos y la interfaz, al detectarlo, vacía su caché de
+ * segundo nivel y vuelve a cargar el índice de tareas (ver SincronizacionProcesos).
+ */
+public class SistemasTareasLote {
+    /**
+     * Perfil de Spring del modo por lotes (ver application-lote.properties).
+     */
+    public static final String PERFIL = "lote";
+
+    // Comando que deja la aplicación en ejecución con las tareas programadas
+    private static final String COMANDO_SERVICIO = "servicio";
+
+    /**
+     * @param args Comando, sus parámetros y, opcionalmente, propiedades de Spring (--propiedad=valor)
+     */
+    public static void main(String[] args) {
+        List<String> argumentos = new DefaultApplicationArguments(args).getNonOptionArgs();
+        boolean servicio = !argumentos.isEmpty() && argumentos.get(0).equals(COMANDO_SERVICIO);
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(TareasApplication.class)
+                .profiles(PERFIL)
+                .web(WebApplicationType.NONE)
+                .headless(true)
+                // Las tareas programadas solo se registran si sus componentes se crean al iniciar
+                .lazyInitialization(!servicio)
+                .run(args);
+        if (servicio) {
+            // Los hilos del planificador mantienen el proceso; Spring cierra el contexto al detenerlo
+            return;
+        }
+        int codigo;
+        try (contexto) {
+            codigo = contexto.getBean(ComandosLote.class)
+                    .ejecutar(contexto.getBean(ApplicationArguments.class).getNonOptionArgs());
+        }
+        System.exit(codigo);
+    }
+}
@@ -0,0 +1,53 @@
+package poo.tareas.repositorio;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import poo.tareas.modelo.HistorialTarea;
+
+import java.util.Date;
+
+/**
+ * Especificaciones (JpaSpecificationExecutor) para buscar por texto en el historial sin el índice
+ * FULLTEXT de MySQL (por ejemplo en H2, o si alguna palabra no puede buscarse en el índice).
+ *
+ * La búsqueda usa las mismas reglas que el filtro de las tareas (EspecificacionesTarea): cada
+ * palabra debe estar en el nombre, la descripción o el responsable. La paginación es por clave
+ * sobre el índice (fechaEliminacion, idHistorial), igual que en HistorialTareaRepositorio.
+ */
+public final class EspecificacionesHistorial {
+    /**
+     * Orden del historial: la eliminación más reciente primero y el ID como desempate.
+     */
+    public static final Sort ORDEN = Sort.by(Sort.Direction.DESC, "fechaEliminacion", "idHistorial");
+
+    private EspecificacionesHistorial() {
+    }
+
+    /**
+     * @param texto Palabras buscadas (ver FiltroTareas.palabras)
+     * @return Registros que contienen todas las palabras
+     */
+    public static Specification<HistorialTarea> contienePalabras(String texto) {
+        return (raiz, consulta, cb) -> EspecificacionesTarea.contienePalabras(texto, raiz, cb);
+    }
+
+    /**
+     * @return Registros eliminados antes del indicado, en el orden del historial
+     */
+    public static Specification<HistorialTarea> anteriorA(Date fechaEliminacion, Integer idHistorial) {
+        return (raiz, consulta, cb) -> cb.or(
+                cb.lessThan(raiz.get("fechaEliminacion"), fechaEliminacion),
+                cb.and(cb.equal(raiz.get("fechaEliminacion"), fechaEliminacion),
+                        cb.lessThan(raiz.get("idHistorial"), idHistorial)));
+    }
+
+    /**
+     * @return Registros eliminados después del indicado, en el orden del historial
+     */
+    public static Specification<HistorialTarea> posteriorA(Date fechaEliminacion, Integer idHistorial) {
+        return (raiz, consulta, cb) -> cb.or(
+                cb.greaterThan(raiz.get("fechaEliminacion"), fechaEliminacion),
+                cb.and(cb.equal(raiz.get("fechaEliminacion"), fechaEliminacion),
+                        cb.greaterThan(raiz.get("idHistorial"), idHistorial)));
+    }
+}
@@ -0,0 +1,169 @@
+package poo.tareas.repositorio;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import poo.tareas.modelo.FiltroTareas;
+import poo.tareas.modelo.Tarea;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Especificaciones (JpaSpecificationExecutor) para filtrar, ordenar y paginar las tareas en la
+ * base de datos.
+ *
+ * La paginación es por clave sobre la columna de orden elegida y el ID como desempate: cada
+ * página se pide a partir de los valores de la última fila cargada, de modo que la consulta
+ * recorre el índice compuesto (columna, idTarea) en lugar de saltar filas con OFFSET. Los valores
+ * null se tratan como los menores, igual que MySQL y H2 al ordenar.
+ */
+public final class EspecificacionesTarea {
+    /**
+     * Propiedades de Tarea por las que se puede ordenar; cada una tiene un índice compuesto con el
+     * ID en la entidad Tarea. La descripción no se ordena: su índice sería demasiado grande.
+     */
+    public static final Set<String> PROPIEDADES_ORDENABLES = Set.of("idTarea", "nombreTarea", "responsableTarea",
+            "fechaInicioTarea", "fechaFinTarea", "estadoTarea", "prioridadTarea");
+
+    private EspecificacionesTarea() {
+    }
+
+    /**
+     * Aplica los criterios del filtro que no son null.
+     *
+     * @param filtro Criterios del filtro
+     * @return Especificación con todos los criterios combinados con AND
+     */
+    public static Specification<Tarea> conFiltro(FiltroTareas filtro) {
+        return (raiz, consulta, cb) -> {
+            List<Predicate> condiciones = new ArrayList<>();
+            if (filtro.estado() != null) {
+                condiciones.add(cb.equal(raiz.get("estadoTarea"), filtro.estado()));
+            }
+            if (filtro.prioridad() != null) {
+                condiciones.add(cb.equal(raiz.get("prioridadTarea"), filtro.prioridad()));
+            }
+            if (filtro.responsable() != null && !filtro.responsable().isBlank()) {
+                // Prefijo sobre la columna sin transformar, para usar el índice (responsableTarea, idTarea)
+                condiciones.add(cb.like(raiz.get("responsableTarea"), escapar(filtro.responsable().strip()) + "%", '!'));
+            }
+            if (filtro.inicioDesde() != null) {
+                condiciones.add(cb.greaterThanOrEqualTo(raiz.get("fechaInicioTarea"), filtro.inicioDesde()));
+            }
+            if (filtro.finHasta() != null) {
+                condiciones.add(cb.lessThanOrEqualTo(raiz.get("fechaFinTarea"), filtro.finHasta()));
+            }
+            condiciones.add(contienePalabras(filtro.texto(), raiz, cb));
+            return cb.and(condiciones.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Obtiene el orden completo de la consulta: la columna elegida y el ID en la misma dirección,
+     * para que el orden sea total y coincida con la condición de posteriorA.
+     *
+     * @param orden Columna y dirección del orden
+     * @return Orden por la columna y por ID
+     */
+    public static Sort ordenConDesempate(Sort.Order orden) {
+        if (orden.getProperty().equals("idTarea")) {
+            return Sort.by(orden);
+        }
+        return Sort.by(orden, new Sort.Order(orden.getDirection(), "idTarea"));
+    }
+
+    /**
+     * Selecciona las tareas que van después de la indicada en el orden dado (con el ID como desempate).
+     *
+     * @param orden Columna y dirección del orden
+     * @param fila Última fila cargada
+     * @return Especificación de las filas posteriores
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Tarea> posteriorA(Sort.Order orden, Tarea fila) {
+        return (raiz, consulta, cb) -> {
+            boolean ascendente = orden.isAscending();
+            Path<Integer> id = raiz.get("idTarea");
+            Predicate desempate = ascendente ? cb.greaterThan(id, fila.getIdTarea()) : cb.lessThan(id, fila.getIdTarea());
+            if (orden.getProperty().equals("idTarea")) {
+                return desempate;
+            }
+            Path<Comparable> columna = raiz.get(orden.getProperty());
+            Comparable valor = valor(fila, orden.getProperty());
+            if (valor == null) {
+                // null es el menor valor: en orden ascendente siguen las filas con valor, en descendente ninguna
+                Predicate mismaClave = cb.and(cb.isNull(columna), desempate);
+                return ascendente ? cb.or(mismaClave, cb.isNotNull(columna)) : mismaClave;
+            }
+            Predicate mismaClave = cb.and(cb.equal(columna, valor), desempate);
+            if (ascendente) {
+                return cb.or(cb.greaterThan(columna, valor), mismaClave);
+            }
+            return cb.or(cb.lessThan(columna, valor), cb.isNull(columna), mismaClave);
+        };
+    }
+
+    /**
+     * Obtiene el valor de una propiedad ordenable de la tarea.
+     *
+     * @param tarea Tarea
+     * @param propiedad Nombre de la propiedad (una de PROPIEDADES_ORDENABLES)
+     * @return Valor de la propiedad, o null
+     */
+    public static Comparable<?> valor(Tarea tarea, String propiedad) {
+        return switch (propiedad) {
+            case "idTarea" -> tarea.getIdTarea();
+            case "nombreTarea" -> tarea.getNombreTarea();
+            case "responsableTarea" -> tarea.getResponsableTarea();
+            case "fechaInicioTarea" -> tarea.getFechaInicioTarea();
+            case "fechaFinTarea" -> tarea.getFechaFinTarea();
+            case "estadoTarea" -> tarea.getEstadoTarea();
+            case "prioridadTarea" -> tarea.getPrioridadTarea();
+            default -> throw new IllegalArgumentException("No se puede ordenar por " + propiedad);
+        };
+    }
+
+    /**
+     * Cada palabra del texto (FiltroTareas.palabras) debe estar en el nombre, la descripción o el
+     * responsable, como en FiltroTareas.contienePalabras: un LIKE por palabra y campo. Sirve para
+     * Tarea y para HistorialTarea, que tienen los mismos nombres de propiedades.
+     */
+    static Predicate contienePalabras(String texto, Path<?> raiz, CriteriaBuilder cb) {
+        List<Predicate> condiciones = new ArrayList<>();
+        for (String palabra : FiltroTareas.palabras(texto)) {
+            condiciones.add(cb.or(
+                    contiene(cb, raiz.get("nombreTarea"), palabra),
+                    contiene(cb, raiz.get("descripcionTarea"), palabra),
+                    contiene(cb, raiz.get("responsableTarea"), palabra)));
+        }
+        return cb.and(condiciones.toArray(new Predicate[0]));
+    }
+
+    /**
+     * La palabra ya está en minúsculas y sin tildes; las tildes de la columna se ignoran según su
+     * intercalación (en MySQL, utf8mb4_0900_ai_ci por defecto).
+     */
+    private static Predicate contiene(CriteriaBuilder cb, Expression<String> campo, String palabra) {
+        return cb.like(cb.lower(campo), patronPalabra(palabra), '!');
+    }
+
+    /**
+     * @param palabra Palabra en minúsculas y sin tildes
+     * @return Patrón LIKE que busca la palabra en cualquier posición, con '!' como carácter de escape
+     */
+    static String patronPalabra(String palabra) {
+        return "%" + escapar(palabra) + "%";
+    }
+
+    /**
+     * Escapa los comodines de LIKE con '!' como carácter de escape.
+     */
+    private static String escapar(String texto) {
+        return texto.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -1,8 +1,17 @@
 package poo.tareas.repositorio;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import poo.tareas.modelo.HistorialTarea;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 /**
  * Repositorio para gestionar el historial de tareas en la base de datos.
  * 
@@ -21,8 +30,105 @@ import poo.tareas.modelo.HistorialTarea;
  * - delete(): Para eliminar una entidad
  * - entre otros
  * 
+ * También extiende JpaSpecificationExecutor para la búsqueda por texto sin índice FULLTEXT
+ * (ver EspecificacionesHistorial).
+ * 
  * Spring Data JPA implementará esta interfaz automáticamente en tiempo de ejecución,
  * por lo que no es necesario crear una clase que implemente los métodos.
  */
-public interface HistorialTareaRepositorio extends JpaRepository<HistorialTarea, Integer> {
+public interface HistorialTareaRepositorio extends JpaRepository<HistorialTarea, Integer>,
+        JpaSpecificationExecutor<HistorialTarea> {
+
+    /**
+     * Obtiene la primera página del historial: las eliminaciones más recientes primero.
+     * Usa el índice (fechaEliminacion, idHistorial) recorrido hacia atrás.
+     *
+     * @param limite Número máximo de registros a devolver
+     * @return Registros ordenados por fecha de eliminación e ID descendentes
+     */
+    @Query("select h from HistorialTarea h order by h.fechaEliminacion desc, h.idHistorial desc")
+    List<HistorialTarea> buscarMasRecientes(Limit limite);
+
+    /**
+     * Paginación por clave (keyset): obtiene los registros eliminados antes del indicado,
+     * en el orden del historial (fecha de eliminación e ID descendentes). El ID desempata
+     * los registros eliminados en el mismo instante.
+     *
+     * @param fechaEliminacion Fecha de eliminación del último registro cargado
+     * @param idHistorial ID del último registro cargado
+     * @param limite Número máximo de registros a devolver
+     * @return Registros más antiguos, ordenados por fecha de eliminación e ID descendentes
+     */
+    @Query("select h from HistorialTarea h where h.fechaEliminacion < :fecha " +
+           "or (h.fechaEliminacion = :fecha and h.idHistorial < :id) " +
+           "order by h.fechaEliminacion desc, h.idHistorial desc")
+    List<HistorialTarea> buscarAnterioresA(@Param("fecha") Date fechaEliminacion, @Param("id") Integer idHistorial, Limit limite);
+
+    /**
+     * Paginación por clave hacia atrás: obtiene los registros eliminados después del indicado,
+     * ordenados de forma ascendente (los más cercanos al registro primero).
+     *
+     * @param fechaEliminacion Fecha de eliminación del primer registro cargado
+     * @param idHistorial ID del primer registro cargado
+     * @param limite Número máximo de registros a devolver
+     * @return Registros más recientes, ordenados por fecha de eliminación e ID ascendentes
+     */
+    @Query("select h from HistorialTarea h where h.fechaEliminacion > :fecha " +
+           "or (h.fechaEliminacion = :fecha and h.idHistorial > :id) " +
+           "order by h.fechaEliminacion asc, h.idHistorial asc")
+    List<HistorialTarea> buscarPosterioresA(@Param("fecha") Date fechaEliminacion, @Param("id") Integer idHistorial, Limit limite);
+
+    /**
+     * Búsqueda por palabras clave con el índice FULLTEXT (nombre, descripción, responsable) de MySQL,
+     * paginada por clave en el orden del historial. El índice se crea en MigracionEsquema; en otras
+     * bases de datos se usan las especificaciones de EspecificacionesHistorial.
+     *
+     * @param consulta Expresión de búsqueda en modo booleano (por ejemplo "+informe* +mensual*")
+     * @param fechaEliminacion Fecha de eliminación del último registro cargado
+     * @param idHistorial ID del último registro cargado
+     * @param limite Número máximo de registros a devolver
+     * @return Registros que coinciden, ordenados por fecha de eliminación e ID descendentes
+     */
+    @Query(value = "select * from historial_tarea " +
+                   "where match(nombre_tarea, descripcion_tarea, responsable_tarea) against (:consulta in boolean mode) " +
+                   "and (fecha_eliminacion < :fecha or (fecha_eliminacion = :fecha and id_historial < :id)) " +
+                   "order by fecha_eliminacion desc, id_historial desc limit :limite",
+           nativeQuery = true)
+    List<HistorialTarea> buscarTextoAnterioresA(@Param("consulta") String consulta, @Param("fecha") Date fechaEliminacion,
+                                                @Param("id") Integer idHistorial, @Param("limite") int limite);
+
+    /**
+     * Igual que buscarTextoAnterioresA, pero hacia los registros más recientes que el indicado,
+     * ordenados de forma ascendente.
+     */
+    @Query(value = "select * from historial_tarea " +
+                   "where match(nombre_tarea, descripcion_tarea, responsable_tarea) against (:consulta in boolean mode) " +
+                   "and (fecha_eliminacion > :fecha or (fecha_eliminacion = :fecha and id_historial > :id)) " +
+                   "order by fecha_eliminacion asc, id_historial asc limit :limite",
+           nativeQuery = true)
+    List<HistorialTarea> buscarTextoPosterioresA(@Param("consulta") String consulta, @Param("fecha") Date fechaEliminacion,
+                                                 @Param("id") Integer idHistorial, @Param("limite") int limite);
+
+    /**
+     * Elimina varios registros con una sola sentencia DELETE ... WHERE idHistorial IN (...).
+     *
+     * @param ids IDs de los registros a eliminar
+     * @return Número de registros eliminados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from HistorialTarea h where h.idHistorial in :ids")
+    int eliminarPorIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Obtiene los IDs de los registros eliminados antes de una fecha, de los más antiguos a los
+     * más recientes, para purgar el historial por bloques. Recorre solo el índice
+     * (fechaEliminacion, idHistorial).
+     *
+     * @param fecha Fecha límite (no incluida)
+     * @param limite Número máximo de IDs
+     * @return IDs de los registros
+     */
+    @Query("select h.idHistorial from HistorialTarea h where h.fechaEliminacion < :fecha " +
+           "order by h.fechaEliminacion, h.idHistorial")
+    List<Integer> buscarIdsAnterioresA(@Param("fecha") Date fecha, Limit limite);
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package poo.tareas.repositorio;
+
+import poo.tareas.modelo.Tarea;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Consultas de las tareas borradas de forma lógica con una condición por palabra buscada.
+ * Las consultas de Hibernate no ven las tareas borradas (@SQLRestriction en Tarea), así que se
+ * arma una consulta SQL con tantas condiciones como palabras (ver TareasBorradasRepositorioImpl).
+ * Forma parte de tareaRepositorio.
+ */
+public interface TareasBorradasRepositorio {
+
+    /**
+     * Paginación por clave de las tareas borradas de forma lógica, de la más reciente a la más
+     * antigua, sobre el índice (fechaBorrado, idTarea). Cada palabra debe estar en el nombre, la
+     * descripción o el responsable, como en EspecificacionesTarea. Las tareas no pasan por la
+     * caché de segundo nivel, donde solo deben estar las activas.
+     *
+     * @param texto Palabras buscadas (ver FiltroTareas.palabras), o null para no filtrar
+     * @param fecha Fecha de borrado de la última tarea cargada
+     * @param idTarea ID de la última tarea cargada
+     * @param limite Número máximo de tareas a devolver
+     * @return Tareas borradas antes de la indicada, ordenadas por fecha de borrado e ID descendentes
+     */
+    List<Tarea> buscarBorradasAnterioresA(String texto, Date fecha, Integer idTarea, int limite);
+
+    /**
+     * Igual que buscarBorradasAnterioresA, pero hacia las tareas borradas después de la indicada,
+     * ordenadas de forma ascendente.
+     */
+    List<Tarea> buscarBorradasPosterioresA(String texto, Date fecha, Integer idTarea, int limite);
+}
@@ -0,0 +1,54 @@
+package poo.tareas.repositorio;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.HibernateHints;
+import poo.tareas.modelo.FiltroTareas;
+import poo.tareas.modelo.Tarea;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Implementación de TareasBorradasRepositorio con SQL nativo.
+ */
+class TareasBorradasRepositorioImpl implements TareasBorradasRepositorio {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tarea> buscarBorradasAnterioresA(String texto, Date fecha, Integer idTarea, int limite) {
+        return buscar(texto, "(fecha_borrado < :fecha or (fecha_borrado = :fecha and id_tarea < :id))",
+                "fecha_borrado desc, id_tarea desc", fecha, idTarea, limite);
+    }
+
+    @Override
+    public List<Tarea> buscarBorradasPosterioresA(String texto, Date fecha, Integer idTarea, int limite) {
+        return buscar(texto, "(fecha_borrado > :fecha or (fecha_borrado = :fecha and id_tarea > :id))",
+                "fecha_borrado asc, id_tarea asc", fecha, idTarea, limite);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Tarea> buscar(String texto, String clave, String orden, Date fecha, Integer idTarea, int limite) {
+        String[] palabras = FiltroTareas.palabras(texto);
+        StringBuilder sql = new StringBuilder("select * from tarea where fecha_borrado is not null and ").append(clave);
+        for (int i = 0; i < palabras.length; i++) {
+            sql.append(" and (lower(nombre_tarea) like :palabra").append(i).append(" escape '!'")
+                    .append(" or lower(descripcion_tarea) like :palabra").append(i).append(" escape '!'")
+                    .append(" or lower(responsable_tarea) like :palabra").append(i).append(" escape '!')");
+        }
+        sql.append(" order by ").append(orden).append(" limit :limite");
+        Query consulta = entityManager.createNativeQuery(sql.toString(), Tarea.class)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .setParameter("fecha", fecha)
+                .setParameter("id", idTarea)
+                .setParameter("limite", limite);
+        for (int i = 0; i < palabras.length; i++) {
+            consulta.setParameter("palabra" + i, EspecificacionesTarea.patronPalabra(palabras[i]));
+        }
+        return consulta.getResultList();
+    }
+}
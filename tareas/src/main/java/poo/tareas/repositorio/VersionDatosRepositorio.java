@@ -0,0 +1,24 @@
+package poo.tareas.repositorio;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import poo.tareas.modelo.VersionDatos;
+
+/**
+ * Repositorio de la versión de los datos compartida entre procesos (ver VersionDatos).
+ */
+public interface VersionDatosRepositorio extends JpaRepository<VersionDatos, Integer> {
+
+    /**
+     * Incrementa la versión con una sola sentencia, sin leerla antes, de modo que dos procesos
+     * que la incrementan a la vez no pierden ninguna modificación.
+     *
+     * @return Filas actualizadas: 0 si la fila todavía no existe
+     */
+    @Transactional
+    @Modifying
+    @Query("update VersionDatos v set v.version = v.version + 1 where v.id = " + VersionDatos.ID)
+    int incrementar();
+}
@@ -1,8 +1,22 @@
 package poo.tareas.repositorio;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import poo.tareas.modelo.PrioridadTarea;
+import poo.tareas.modelo.ResumenVencidas;
 import poo.tareas.modelo.Tarea;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Interfaz tareaRepositorio
  * 
@@ -24,6 +38,201 @@ import poo.tareas.modelo.Tarea;
  * 
  * No se necesita implementar manualmente estos métodos ya que Spring los
  * proporciona automáticamente al momento de la ejecución.
+ * 
+ * También extiende JpaSpecificationExecutor para las consultas con filtros y orden
+ * variables (ver EspecificacionesTarea), y TareasBorradasRepositorio para buscar por texto
+ * en las tareas borradas de forma lógica.
  */
-public interface tareaRepositorio extends JpaRepository<Tarea, Integer> {
+public interface tareaRepositorio extends JpaRepository<Tarea, Integer>, JpaSpecificationExecutor<Tarea>,
+        TareasBorradasRepositorio {
+
+    /**
+     * Obtiene las tareas vencidas: las que no están completadas y cuya fecha de finalización
+     * es anterior al límite indicado. Usa el índice compuesto (estadoTarea, fechaFinTarea).
+     *
+     * El resultado se guarda en la caché de consultas (el límite solo cambia una vez al día);
+     * Hibernate lo invalida cuando se modifica cualquier tarea.
+     *
+     * @param limite Inicio del día siguiente a hoy (las tareas que vencen hoy también se incluyen)
+     * @return Lista de tareas vencidas ordenadas por ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select t from Tarea t where (t.estadoTarea is null or t.estadoTarea <> poo.tareas.modelo.EstadoTarea.COMPLETADA) " +
+           "and t.fechaFinTarea < :limite order by t.idTarea")
+    List<Tarea> buscarVencidas(@Param("limite") Date limite);
+
+    /**
+     * Cuenta las tareas vencidas y obtiene el mayor ID entre ellas sin cargar las entidades.
+     * Al igual que buscarVencidas, el resultado se guarda en la caché de consultas.
+     *
+     * @param limite Inicio del día siguiente a hoy
+     * @return Resumen con el total y el mayor ID de las tareas vencidas
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new poo.tareas.modelo.ResumenVencidas(count(t), max(t.idTarea)) from Tarea t " +
+           "where (t.estadoTarea is null or t.estadoTarea <> poo.tareas.modelo.EstadoTarea.COMPLETADA) and t.fechaFinTarea < :limite")
+    ResumenVencidas resumirVencidas(@Param("limite") Date limite);
+
+    /**
+     * Recalcula la prioridad de todas las tareas no completadas con una sola sentencia UPDATE.
+     * La nueva prioridad se obtiene con una expresión CASE sobre la fecha de finalización y
+     * solo se modifican las filas cuya prioridad realmente cambia.
+     * - Alta: la fecha de finalización es anterior a limiteAlta
+     * - Media: la fecha de finalización es anterior a limiteMedia
+     * - Baja: en cualquier otro caso
+     *
+     * @param limiteAlta Inicio del día a partir del cual la prioridad deja de ser Alta
+     * @param limiteMedia Inicio del día a partir del cual la prioridad deja de ser Media
+     * @return Número de tareas cuya prioridad cambió
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Tarea t set t.prioridadTarea = " +
+           "case when t.fechaFinTarea < :limiteAlta then poo.tareas.modelo.PrioridadTarea.ALTA " +
+           "when t.fechaFinTarea < :limiteMedia then poo.tareas.modelo.PrioridadTarea.MEDIA else poo.tareas.modelo.PrioridadTarea.BAJA end " +
+           "where (t.estadoTarea is null or t.estadoTarea <> poo.tareas.modelo.EstadoTarea.COMPLETADA) and t.fechaFinTarea is not null " +
+           "and (t.prioridadTarea is null or t.prioridadTarea <> " +
+           "case when t.fechaFinTarea < :limiteAlta then poo.tareas.modelo.PrioridadTarea.ALTA " +
+           "when t.fechaFinTarea < :limiteMedia then poo.tareas.modelo.PrioridadTarea.MEDIA else poo.tareas.modelo.PrioridadTarea.BAJA end)")
+    int recalcularPrioridades(@Param("limiteAlta") Date limiteAlta, @Param("limiteMedia") Date limiteMedia);
+
+    /**
+     * Obtiene, entre los IDs indicados, los de las tareas no completadas cuya prioridad es
+     * distinta de la indicada, es decir, las que cambiarían con asignarPrioridad.
+     *
+     * @param ids IDs de las tareas
+     * @param prioridad Nueva prioridad
+     * @return IDs de las tareas cuya prioridad cambiaría
+     */
+    @Query("select t.idTarea from Tarea t where t.idTarea in :ids " +
+           "and (t.prioridadTarea is null or t.prioridadTarea <> :prioridad) " +
+           "and (t.estadoTarea is null or t.estadoTarea <> poo.tareas.modelo.EstadoTarea.COMPLETADA)")
+    List<Integer> buscarIdsConOtraPrioridad(@Param("ids") Collection<Integer> ids, @Param("prioridad") PrioridadTarea prioridad);
+
+    /**
+     * Asigna una prioridad a varias tareas no completadas con una sola sentencia UPDATE que solo
+     * escribe esa columna, así que no sobrescribe otros cambios hechos en las tareas. Los IDs
+     * que no existen se ignoran.
+     *
+     * @param ids IDs de las tareas
+     * @param prioridad Nueva prioridad
+     * @return Número de tareas modificadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Tarea t set t.prioridadTarea = :prioridad where t.idTarea in :ids " +
+           "and (t.estadoTarea is null or t.estadoTarea <> poo.tareas.modelo.EstadoTarea.COMPLETADA)")
+    int asignarPrioridad(@Param("ids") Collection<Integer> ids, @Param("prioridad") PrioridadTarea prioridad);
+
+    /**
+     * Elimina varias tareas con una sola sentencia DELETE ... WHERE idTarea IN (...).
+     * Hibernate invalida las tareas en la caché de segundo nivel al ejecutar la sentencia.
+     *
+     * @param ids IDs de las tareas a eliminar
+     * @return Número de tareas eliminadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Tarea t where t.idTarea in :ids")
+    int eliminarPorIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Obtiene, de las tareas indicadas, las que todavía no están completadas, para saber antes
+     * de completarPorIds cuáles va a modificar.
+     *
+     * @param ids IDs de las tareas
+     * @return IDs de las tareas que no están completadas
+     */
+    @Query("select t.idTarea from Tarea t where t.idTarea in :ids " +
+           "and (t.estadoTarea is null or t.estadoTarea <> poo.tareas.modelo.EstadoTarea.COMPLETADA)")
+    List<Integer> buscarIdsNoCompletadas(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Marca varias tareas como completadas con una sola sentencia UPDATE; las que ya estaban
+     * completadas no se modifican.
+     *
+     * @param ids IDs de las tareas a completar
+     * @return Número de tareas cuyo estado cambió
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Tarea t set t.estadoTarea = poo.tareas.modelo.EstadoTarea.COMPLETADA " +
+           "where t.idTarea in :ids and (t.estadoTarea is null or t.estadoTarea <> poo.tareas.modelo.EstadoTarea.COMPLETADA)")
+    int completarPorIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Borrado lógico: marca varias tareas como eliminadas con una sola sentencia UPDATE que
+     * asigna la fecha de borrado. La restricción de la entidad (fecha_borrado is null) se agrega
+     * también a esta sentencia, así que las tareas ya borradas no se modifican; desde ese momento
+     * la restricción las oculta de todas las consultas.
+     *
+     * @param ids IDs de las tareas a borrar
+     * @param fecha Fecha de borrado
+     * @return Número de tareas borradas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Tarea t set t.fechaBorrado = :fecha where t.idTarea in :ids")
+    int marcarBorradas(@Param("ids") Collection<Integer> ids, @Param("fecha") Date fecha);
+
+    /**
+     * Obtiene, de las tareas indicadas, las que están borradas de forma lógica, para saber antes
+     * de desmarcarBorradas cuáles va a restaurar. Es SQL nativo por la misma razón.
+     *
+     * @param ids IDs de las tareas
+     * @return IDs de las tareas borradas
+     */
+    @Query(value = "select id_tarea from tarea where id_tarea in (:ids) and fecha_borrado is not null",
+           nativeQuery = true)
+    List<Integer> buscarIdsBorradas(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Deshace el borrado lógico de varias tareas, que conservan su ID. Es SQL nativo porque la
+     * restricción de la entidad no deja ver las filas borradas; la tabla se declara en el hint
+     * para que Hibernate invalide la región de tareas de la caché de segundo nivel.
+     *
+     * @param ids IDs de las tareas a restaurar
+     * @return Número de tareas restauradas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tarea"))
+    @Query(value = "update tarea set fecha_borrado = null where id_tarea in (:ids) and fecha_borrado is not null",
+           nativeQuery = true)
+    int desmarcarBorradas(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Elimina definitivamente varias tareas borradas de forma lógica.
+     *
+     * @param ids IDs de las tareas a eliminar
+     * @return Número de tareas eliminadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tarea"))
+    @Query(value = "delete from tarea where id_tarea in (:ids) and fecha_borrado is not null", nativeQuery = true)
+    int eliminarBorradas(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Obtiene los IDs de las tareas borradas de forma lógica antes de una fecha, de las más
+     * antiguas a las más recientes, para purgar el historial por bloques (índice idx_tarea_borrado).
+     *
+     * @param fecha Fecha de borrado límite (no incluida)
+     * @param limite Número máximo de IDs
+     * @return IDs de las tareas
+     */
+    @Query(value = "select id_tarea from tarea where fecha_borrado < :fecha " +
+                   "order by fecha_borrado, id_tarea limit :limite",
+           nativeQuery = true)
+    List<Integer> buscarIdsBorradasAnterioresA(@Param("fecha") Date fecha, @Param("limite") int limite);
+
+    /**
+     * Recorre todas las tareas ordenadas por ID como un Stream, sin cargarlas todas en memoria.
+     * Se pide al controlador JDBC un cursor de solo avance que trae las filas de a bloques
+     * (en MySQL requiere useCursorFetch=true en la URL) y las entidades se cargan en modo
+     * de solo lectura, sin pasar por la caché de segundo nivel para no desplazar las entradas
+     * útiles. Debe usarse dentro de una transacción y cerrarse al terminar.
+     *
+     * @return Stream de tareas ordenadas por ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select t from Tarea t order by t.idTarea")
+    Stream<Tarea> recorrerTodas();
 }
@@ -0,0 +1,157 @@
+package poo.tareas.servicio;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.PrioridadTarea;
+import poo.tareas.modelo.Tarea;
+import poo.tareas.repositorio.tareaRepositorio;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Servicio que ejecuta el barrido nocturno de las tareas.
+ *
+ * En una sola pasada sobre las tareas, leídas con el recorrido en streaming del repositorio
+ * (sin cargar el índice en memoria ni copiar todas las tareas), calcula la nueva prioridad de
+ * cada tarea y si está vencida; después escribe solo la columna de prioridad de las tareas
+ * que cambian, en una sola transacción (tareaServicio.actualizarPrioridades), y publica en
+ * NotificacionService el conjunto completo de tareas vencidas. Reemplaza a las dos tareas programadas de medianoche que antes recorrían las
+ * tareas por separado y podían sobrescribir una la prioridad de la otra.
+ *
+ * Durante el día los vencimientos los detecta MotorVencimientos; el barrido también sirve
+ * para conciliar la lista de notificaciones una vez al día.
+ */
+@Service
+public class BarridoNocturnoService {
+    // Logger para registrar el resultado de cada barrido
+    private static final Logger logger = LoggerFactory.getLogger(BarridoNocturnoService.class);
+
+    @Autowired
+    private tareaServicio tareaServicio;
+
+    @Autowired
+    private tareaRepositorio TareaRepositorio;
+
+    /**
+     * Administrador de entidades de JPA, para separar cada tarea leída del contexto de persistencia.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private NotificacionService notificacionService;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    /**
+     * Resultado de un barrido.
+     *
+     * @param leidas Tareas revisadas
+     * @param prioridadesCambiadas Tareas cuya prioridad se actualizó
+     * @param vencidas Tareas vencidas publicadas
+     * @param nuevasVencidas Tareas vencidas que no estaban en las notificaciones
+     * @param milisegundos Duración del barrido
+     */
+    public record ResultadoBarrido(int leidas, int prioridadesCambiadas, int vencidas, int nuevasVencidas,
+                                   long milisegundos) {
+    }
+
+    /**
+     * Ejecuta el barrido cada día a la medianoche.
+     */
+    @Scheduled(cron = "0 0 0 * * ?") // Expresión cron: segundos minutos horas día-del-mes mes día-de-la-semana
+    @Timed(value = "tareas.programadas", description = "Tareas programadas")
+    public void barridoProgramado() {
+        barrer(LocalDate.now());
+    }
+
+    /**
+     * Recorre una sola vez todas las tareas, actualiza prioridades y publica las vencidas.
+     * Cada tarea se separa del contexto de persistencia después de leerla, así que en memoria
+     * solo quedan las prioridades que cambian y las tareas vencidas.
+     *
+     * @param hoy Fecha de referencia
+     * @return Resultado del barrido
+     */
+    public ResultadoBarrido barrer(LocalDate hoy) {
+        long inicio = System.nanoTime();
+
+        // Nueva prioridad de las tareas que cambian y tareas vencidas, obtenidas en la misma pasada
+        Map<Integer, PrioridadTarea> prioridades = new HashMap<>();
+        List<Tarea> vencidas = new ArrayList<>();
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        // La transacción de solo lectura mantiene abierto el cursor mientras se recorren las tareas
+        int leidas = lectura.execute(estado -> {
+            int total = 0;
+            // Las tareas recorridas no se guardan en la caché de segundo nivel
+            entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+            try (Stream<Tarea> tareas = TareaRepositorio.recorrerTodas()) {
+                Iterator<Tarea> iterador = tareas.iterator();
+                while (iterador.hasNext()) {
+                    Tarea tarea = iterador.next();
+                    total++;
+                    entityManager.detach(tarea);
+                    clasificar(tarea, hoy, prioridades, vencidas);
+                }
+            }
+            return total;
+        });
+
+        // Solo se escribe la prioridad: las tareas editadas o eliminadas durante el barrido no lo hacen fallar
+        int prioridadesCambiadas = prioridades.isEmpty() ? 0 : tareaServicio.actualizarPrioridades(prioridades).size();
+        int nuevasVencidas = notificacionService.publicarVencidas(vencidas);
+
+        ResultadoBarrido resultado = new ResultadoBarrido(leidas, prioridadesCambiadas, vencidas.size(),
+                nuevasVencidas, (System.nanoTime() - inicio) / 1_000_000);
+        registro.counter("tareas.prioridades.actualizadas", "origen", "barrido").increment(resultado.prioridadesCambiadas());
+        logger.info("Barrido nocturno: {} tareas leídas, {} prioridades actualizadas, {} vencidas ({} nuevas) en {} ms",
+                resultado.leidas(), resultado.prioridadesCambiadas(), resultado.vencidas(),
+                resultado.nuevasVencidas(), resultado.milisegundos());
+        return resultado;
+    }
+
+    /**
+     * Calcula la prioridad de una tarea y si está vencida. Las reglas de prioridad son las de
+     * PrioridadActualizadorService; una tarea está vencida si no está completada y su fecha de
+     * finalización es hoy o anterior.
+     */
+    private static void clasificar(Tarea tarea, LocalDate hoy, Map<Integer, PrioridadTarea> prioridades,
+                                   List<Tarea> vencidas) {
+        if (tarea.getEstadoTarea() == EstadoTarea.COMPLETADA || tarea.getFechaFinTarea() == null) {
+            return;
+        }
+        // Una sola conversión de fecha por tarea para ambos cálculos
+        long diasHastaFin = PrioridadActualizadorService.diasHastaFin(tarea.getFechaFinTarea(), hoy);
+        PrioridadTarea nuevaPrioridad = PrioridadActualizadorService.calcularPrioridad(diasHastaFin);
+        if (nuevaPrioridad != tarea.getPrioridadTarea()) {
+            tarea.setPrioridadTarea(nuevaPrioridad);
+            prioridades.put(tarea.getIdTarea(), nuevaPrioridad);
+        }
+        if (diasHastaFin <= 0) {
+            vencidas.add(tarea);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package poo.tareas.servicio;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio que reúne las estadísticas de la caché de segundo nivel para poder dimensionarla.
+ *
+ * Los aciertos, fallos e inserciones de cada región se obtienen de las estadísticas de Hibernate
+ * (hibernate.generate_statistics). Los desalojos por tamaño o expiración solo los conoce la caché,
+ * así que se leen de los MBean de estadísticas de JCache que registra Caffeine
+ * (javax.cache:type=CacheStatistics), que también pueden consultarse con JConsole.
+ */
+@Service
+public class EstadisticasCacheService {
+    // Logger para registrar periódicamente las estadísticas
+    private static final Logger logger = LoggerFactory.getLogger(EstadisticasCacheService.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Estadísticas acumuladas de una región de la caché.
+     *
+     * @param region Nombre de la región (entidad o región de consultas)
+     * @param aciertos Lecturas resueltas desde la caché
+     * @param fallos Lecturas que tuvieron que ir a la base de datos
+     * @param inserciones Entradas agregadas a la caché
+     * @param desalojos Entradas descartadas por tamaño o expiración (-1 si no se conoce)
+     */
+    public record EstadisticaRegion(String region, long aciertos, long fallos, long inserciones, long desalojos) {
+        /**
+         * @return Porcentaje de lecturas resueltas desde la caché
+         */
+        public double porcentajeAciertos() {
+            long lecturas = aciertos + fallos;
+            return lecturas == 0 ? 0 : aciertos * 100.0 / lecturas;
+        }
+    }
+
+    /**
+     * Obtiene las estadísticas de todas las regiones de la caché de segundo nivel.
+     *
+     * @return Una entrada por región
+     */
+    public List<EstadisticaRegion> obtenerEstadisticas() {
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> desalojos = leerDesalojos();
+        List<EstadisticaRegion> regiones = new ArrayList<>();
+        for (String region : estadisticas.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics estadisticaRegion = estadisticas.getCacheRegionStatistics(region);
+            if (estadisticaRegion == null) {
+                continue;
+            }
+            regiones.add(new EstadisticaRegion(region, estadisticaRegion.getHitCount(),
+                    estadisticaRegion.getMissCount(), estadisticaRegion.getPutCount(),
+                    desalojos.getOrDefault(region, -1L)));
+        }
+        return regiones;
+    }
+
+    /**
+     * Registra en el log las estadísticas de cada región, con el intervalo configurado
+     * en la propiedad tareas.cache.intervalo-estadisticas.
+     */
+    @Scheduled(fixedRateString = "${tareas.cache.intervalo-estadisticas:PT10M}",
+               initialDelayString = "${tareas.cache.intervalo-estadisticas:PT10M}")
+    public void registrarEstadisticas() {
+        for (EstadisticaRegion region : obtenerEstadisticas()) {
+            logger.info("Caché {}: {} aciertos, {} fallos ({}% aciertos), {} inserciones, {} desalojos",
+                    region.region(), region.aciertos(), region.fallos(),
+                    String.format("%.1f", region.porcentajeAciertos()), region.inserciones(), region.desalojos());
+        }
+    }
+
+    /**
+     * Lee el número de desalojos de cada caché desde los MBean de estadísticas de JCache.
+     *
+     * @return Desalojos por nombre de caché
+     */
+    private Map<String, Long> leerDesalojos() {
+        Map<String, Long> desalojos = new HashMap<>();
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName nombre : servidor.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                Object valor = servidor.getAttribute(nombre, "CacheEvictions");
+                desalojos.merge(nombre.getKeyProperty("Cache"), ((Number) valor).longValue(), Long::sum);
+            }
+        } catch (Exception e) {
+            logger.warn("No se pudieron leer los desalojos de la caché: {}", e.getMessage());
+        }
+        return desalojos;
+    }
+}
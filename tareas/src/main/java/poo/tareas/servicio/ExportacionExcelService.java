@@ -0,0 +1,192 @@
+package poo.tareas.servicio;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import poo.tareas.modelo.Tarea;
+import poo.tareas.repositorio.tareaRepositorio;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Servicio que exporta todas las tareas de la base de datos a un archivo Excel.
+ *
+ * A diferencia de ExcelExporter, que copia lo que hay cargado en un TableView, este servicio
+ * lee las tareas directamente de la base de datos con una consulta en streaming (cursor de
+ * solo avance con tamaño de lectura fijo) y las escribe en un SXSSFWorkbook, que solo mantiene
+ * en memoria una ventana pequeña de filas y vuelca el resto a un archivo temporal. Así la
+ * memoria usada no depende del número de tareas.
+ */
+@Service
+public class ExportacionExcelService {
+    // Logger para registrar el resultado de las exportaciones
+    private static final Logger logger = LoggerFactory.getLogger(ExportacionExcelService.class);
+
+    // Filas que SXSSF mantiene en memoria antes de volcarlas al archivo temporal
+    private static final int VENTANA_FILAS = 100;
+
+    // Cada cuántas filas se informa el avance y se revisa la cancelación
+    private static final int INTERVALO_PROGRESO = 1000;
+
+    private static final String[] ENCABEZADOS = {
+            "ID", "Nombre", "Descripción", "Responsable", "Estado", "Prioridad", "Fecha Inicio", "Fecha Fin"};
+
+    @Autowired
+    private tareaRepositorio TareaRepositorio;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    /**
+     * Interfaz para informar el avance de la exportación.
+     */
+    public interface ProgresoExportacion {
+        /**
+         * @param filasEscritas Tareas escritas hasta el momento
+         * @param total Número total de tareas a exportar
+         */
+        void actualizar(long filasEscritas, long total);
+    }
+
+    /**
+     * Resultado de una exportación.
+     *
+     * @param filas Número de tareas escritas
+     * @param cancelada Indica si el usuario canceló la exportación (en ese caso no se genera el archivo)
+     */
+    public record ResultadoExportacion(long filas, boolean cancelada) {
+    }
+
+    /**
+     * Exporta todas las tareas al archivo indicado. No debe llamarse desde el hilo de JavaFX.
+     * La transacción de solo lectura mantiene abierto el cursor mientras se recorren las tareas.
+     *
+     * @param archivo Archivo .xlsx de destino
+     * @param progreso Receptor del avance
+     * @param cancelado Se consulta periódicamente; si devuelve true se detiene la exportación
+     * @return Resultado de la exportación
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    @Transactional(readOnly = true)
+    @Timed("tareas.exportacion")
+    public ResultadoExportacion exportarTareas(File archivo, ProgresoExportacion progreso, BooleanSupplier cancelado) throws IOException {
+        long total = TareaRepositorio.count();
+        long filas;
+        try (Stream<Tarea> tareas = TareaRepositorio.recorrerTodas();
+             OutputStream salida = new BufferedOutputStream(new FileOutputStream(archivo))) {
+            // Cada tarea se separa del contexto de persistencia después de escribirla,
+            // para que Hibernate no acumule todas las entidades leídas
+            filas = escribirLibro(tareas.iterator(), total, salida, entityManager::detach, progreso, cancelado);
+        }
+        if (filas < 0) {
+            Files.deleteIfExists(archivo.toPath());
+            logger.info("Exportación a {} cancelada por el usuario", archivo.getName());
+            return new ResultadoExportacion(0, true);
+        }
+        logger.info("Exportación a {} completada: {} tareas", archivo.getName(), filas);
+        registro.counter("tareas.exportacion.filas").increment(filas);
+        return new ResultadoExportacion(filas, false);
+    }
+
+    /**
+     * Escribe las tareas en un libro SXSSF y lo guarda en el flujo de salida.
+     *
+     * @param tareas Tareas a escribir, en orden
+     * @param total Número total de tareas (para el avance)
+     * @param salida Flujo donde se escribe el libro
+     * @param alEscribir Acción que se ejecuta con cada tarea después de escribirla
+     * @param progreso Receptor del avance
+     * @param cancelado Se consulta periódicamente para detener la escritura
+     * @return Número de tareas escritas, o -1 si se canceló
+     * @throws IOException Si ocurre un error al escribir
+     */
+    public long escribirLibro(Iterator<Tarea> tareas, long total, OutputStream salida, Consumer<Tarea> alEscribir,
+                              ProgresoExportacion progreso, BooleanSupplier cancelado) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(VENTANA_FILAS);
+        workbook.setCompressTempFiles(true);
+        try {
+            Sheet sheet = workbook.createSheet("Tareas");
+
+            // Crear la fila de encabezados
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < ENCABEZADOS.length; i++) {
+                header.createCell(i).setCellValue(ENCABEZADOS[i]);
+            }
+
+            // Agregar los datos de las tareas
+            long filas = 0;
+            while (tareas.hasNext()) {
+                Tarea tarea = tareas.next();
+                Row row = sheet.createRow((int) ++filas);
+                row.createCell(0).setCellValue(tarea.getIdTarea());
+                row.createCell(1).setCellValue(tarea.getNombreTarea());
+                row.createCell(2).setCellValue(tarea.getDescripcionTarea());
+                row.createCell(3).setCellValue(tarea.getResponsableTarea());
+                row.createCell(4).setCellValue(etiqueta(tarea.getEstadoTarea()));
+                row.createCell(5).setCellValue(etiqueta(tarea.getPrioridadTarea()));
+                row.createCell(6).setCellValue(formatearFecha(tarea.getFechaInicioTarea()));
+                row.createCell(7).setCellValue(formatearFecha(tarea.getFechaFinTarea()));
+                alEscribir.accept(tarea);
+
+                if (filas % INTERVALO_PROGRESO == 0) {
+                    if (cancelado.getAsBoolean()) {
+                        return -1;
+                    }
+                    progreso.actualizar(filas, total);
+                }
+            }
+            progreso.actualizar(filas, total);
+
+            // Escribir el libro en el flujo de salida
+            workbook.write(salida);
+            return filas;
+        } finally {
+            // Eliminar los archivos temporales de SXSSF
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Obtiene el texto con el que se muestra un estado o una prioridad, o una cadena vacía si no tiene.
+     */
+    private static String etiqueta(Object valor) {
+        return valor == null ? "" : valor.toString();
+    }
+
+    /**
+     * Convierte la fecha al formato ISO (yyyy-MM-dd), que también acepta la importación.
+     */
+    private static String formatearFecha(Date fecha) {
+        if (fecha == null) {
+            return "";
+        }
+        if (fecha instanceof java.sql.Date fechaSql) {
+            return fechaSql.toLocalDate().toString();
+        }
+        return fecha.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toString();
+    }
+}
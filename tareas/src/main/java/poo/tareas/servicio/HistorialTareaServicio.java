@@ -1,22 +1,56 @@
 package poo.tareas.servicio;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import poo.tareas.configuracion.MotorBaseDatos;
+import poo.tareas.evento.EventoHistorial.HistorialEliminado;
+import poo.tareas.evento.EventoHistorial.HistorialesEliminados;
+import poo.tareas.evento.EventoHistorial.HistorialPurgado;
+import poo.tareas.evento.EventoHistorial.HistorialRegistrado;
+import poo.tareas.evento.EventoTarea.TareaRecuperada;
+import poo.tareas.evento.EventoTarea.TareasRecuperadas;
+import poo.tareas.modelo.FiltroTareas;
 import poo.tareas.modelo.HistorialTarea;
 import poo.tareas.modelo.Tarea;
+import poo.tareas.repositorio.EspecificacionesHistorial;
 import poo.tareas.repositorio.HistorialTareaRepositorio;
+import poo.tareas.repositorio.tareaRepositorio;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Clase de servicio para gestionar el historial de tareas.
  * Implementa la interfaz IHistorialTareaServicio.
  * Contiene métodos para listar, registrar, recuperar y eliminar registros del historial.
+ * Cada cambio se publica como un EventoHistorial (o EventoTarea.TareaRecuperada al restaurar).
+ * 
+ * La eliminación de tareas tiene dos modos, configurables con la propiedad
+ * {@code tareas.eliminacion.modo}:
+ * - copia (por defecto): la tarea se copia a la tabla historial_tarea y se elimina
+ * - logico: la tarea queda en su tabla con la fecha de borrado; el historial son las tareas
+ *   borradas, que al restaurarse conservan su ID
  * 
  * La anotación @Service identifica esta clase como un componente de servicio en Spring,
  * lo que permite que sea inyectada automáticamente en otros componentes que la necesiten.
+ * Cada método público se mide con la métrica tareas.servicio (ver MetricasConfiguracion).
  */
 @Service
+@Timed("tareas.servicio")
 public class HistorialTareaServicio implements IHistorialTareaServicio {
 
     /**
@@ -29,6 +63,62 @@ public class HistorialTareaServicio implements IHistorialTareaServicio {
     @Autowired
     private HistorialTareaRepositorio historialTareaRepositorio;
 
+    /**
+     * Repositorio de tareas, usado para guardar las tareas restauradas.
+     */
+    @Autowired
+    private tareaRepositorio TareaRepositorio;
+
+    /**
+     * Índice en memoria de las tareas; se actualiza al restaurar una tarea.
+     */
+    @Autowired
+    private TareaIndex tareaIndex;
+
+    /**
+     * Publicador de los eventos de dominio del historial.
+     */
+    @Autowired
+    private ApplicationEventPublisher publicador;
+
+    /**
+     * Indica si la base de datos es MySQL, para usar el índice FULLTEXT en las búsquedas.
+     */
+    @Autowired
+    private MotorBaseDatos motorBaseDatos;
+
+    /**
+     * Administrador de transacciones, para confirmar la purga del historial por bloques.
+     */
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Modo de eliminación: "copia" (tabla historial_tarea) o "logico" (fecha de borrado en la tarea)
+    @Value("${tareas.eliminacion.modo:copia}")
+    private String modoEliminacion;
+
+    // Número de registros que se procesan por bloque en las operaciones masivas
+    private static final int TAMANO_BLOQUE = 1000;
+
+    // Tamaño mínimo de las palabras que guarda el índice FULLTEXT de InnoDB (innodb_ft_min_token_size)
+    private static final int TAMANO_MINIMO_PALABRA = 3;
+
+    // Palabras que el índice FULLTEXT guarda enteras: solo letras y dígitos (sin operadores del modo booleano)
+    private static final Pattern PALABRA_INDEXADA = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    // Clave de paginación anterior a cualquier registro (la primera página empieza aquí)
+    private static final Date FECHA_MAXIMA = Timestamp.valueOf("9999-12-31 00:00:00");
+
+    /**
+     * Indica si las tareas se eliminan con borrado lógico (propiedad tareas.eliminacion.modo=logico).
+     * 
+     * @return true si el historial son las tareas con fecha de borrado
+     */
+    @Override
+    public boolean usaBorradoLogico() {
+        return "logico".equalsIgnoreCase(modoEliminacion);
+    }
+
     /**
      * Obtiene todos los registros del historial de tareas almacenados en la base de datos.
      * 
@@ -36,10 +126,168 @@ public class HistorialTareaServicio implements IHistorialTareaServicio {
      */
     @Override
     public List<HistorialTarea> listarHistorial() {
+        if (usaBorradoLogico()) {
+            return borradasSiguientes(null, null, Integer.MAX_VALUE);
+        }
         // Utiliza el método findAll() heredado de JpaRepository para obtener todos los registros
         return historialTareaRepositorio.findAll();
     }
 
+    /**
+     * Obtiene la página del historial que sigue al registro indicado, sin recorrer la tabla
+     * completa: la consulta parte de la fecha de eliminación y el ID del último registro cargado.
+     * 
+     * @param ultimo - Último registro cargado, o null para la primera página.
+     * @param tamanoPagina - Número máximo de registros a devolver.
+     * @return List<HistorialTarea> - Registros del más reciente al más antiguo.
+     */
+    @Override
+    public List<HistorialTarea> listarHistorialSiguiente(HistorialTarea ultimo, int tamanoPagina) {
+        if (usaBorradoLogico()) {
+            return borradasSiguientes(null, ultimo, tamanoPagina);
+        }
+        if (ultimo == null) {
+            return historialTareaRepositorio.buscarMasRecientes(Limit.of(tamanoPagina));
+        }
+        return historialTareaRepositorio.buscarAnterioresA(ultimo.getFechaEliminacion(), ultimo.getIdHistorial(),
+                Limit.of(tamanoPagina));
+    }
+
+    /**
+     * Obtiene la página del historial que precede al registro indicado.
+     * 
+     * @param primero - Primer registro cargado.
+     * @param tamanoPagina - Número máximo de registros a devolver.
+     * @return List<HistorialTarea> - Registros del más reciente al más antiguo.
+     */
+    @Override
+    public List<HistorialTarea> listarHistorialAnterior(HistorialTarea primero, int tamanoPagina) {
+        if (usaBorradoLogico()) {
+            return borradasAnteriores(null, primero, tamanoPagina);
+        }
+        List<HistorialTarea> registros = new ArrayList<>(historialTareaRepositorio.buscarPosterioresA(
+                primero.getFechaEliminacion(), primero.getIdHistorial(), Limit.of(tamanoPagina)));
+        // La consulta avanza hacia los registros más recientes; se invierte para mantener el orden de la tabla
+        Collections.reverse(registros);
+        return registros;
+    }
+
+    /**
+     * Busca por texto en el historial con las mismas reglas que el filtro de tareas: el texto se
+     * separa en palabras con FiltroTareas.palabras y cada una debe aparecer en el nombre, la
+     * descripción o el responsable. En MySQL se usa el índice FULLTEXT si todas las palabras
+     * pueden buscarse en él (ver consultaTextoCompleto); si no, o en otras bases de datos, se
+     * usa un LIKE por palabra (EspecificacionesHistorial). HistorialControlador aplica la misma
+     * regla a los registros nuevos con FiltroTareas.contienePalabras.
+     * 
+     * @param texto - Palabras buscadas.
+     * @param ultimo - Último registro cargado, o null para la primera página.
+     * @param tamanoPagina - Número máximo de registros a devolver.
+     * @return List<HistorialTarea> - Registros que coinciden, del más reciente al más antiguo.
+     */
+    @Override
+    public List<HistorialTarea> buscarHistorialSiguiente(String texto, HistorialTarea ultimo, int tamanoPagina) {
+        if (texto == null || texto.isBlank()) {
+            return listarHistorialSiguiente(ultimo, tamanoPagina);
+        }
+        if (usaBorradoLogico()) {
+            return borradasSiguientes(texto, ultimo, tamanoPagina);
+        }
+        // Para la primera página se parte de una clave posterior a cualquier registro
+        Date fecha = ultimo != null ? ultimo.getFechaEliminacion() : FECHA_MAXIMA;
+        Integer id = ultimo != null ? ultimo.getIdHistorial() : Integer.MAX_VALUE;
+        String consulta = consultaTextoCompleto(texto);
+        if (consulta != null) {
+            return historialTareaRepositorio.buscarTextoAnterioresA(consulta, fecha, id, tamanoPagina);
+        }
+        Specification<HistorialTarea> especificacion = EspecificacionesHistorial.contienePalabras(texto)
+                .and(EspecificacionesHistorial.anteriorA(fecha, id));
+        return historialTareaRepositorio.findBy(especificacion,
+                resultado -> resultado.sortBy(EspecificacionesHistorial.ORDEN).limit(tamanoPagina).all());
+    }
+
+    /**
+     * Obtiene la página de resultados de la búsqueda que precede al registro indicado.
+     * 
+     * @param texto - Palabras buscadas.
+     * @param primero - Primer registro cargado.
+     * @param tamanoPagina - Número máximo de registros a devolver.
+     * @return List<HistorialTarea> - Registros que coinciden, del más reciente al más antiguo.
+     */
+    @Override
+    public List<HistorialTarea> buscarHistorialAnterior(String texto, HistorialTarea primero, int tamanoPagina) {
+        if (texto == null || texto.isBlank()) {
+            return listarHistorialAnterior(primero, tamanoPagina);
+        }
+        if (usaBorradoLogico()) {
+            return borradasAnteriores(texto, primero, tamanoPagina);
+        }
+        String consulta = consultaTextoCompleto(texto);
+        List<HistorialTarea> registros;
+        if (consulta != null) {
+            registros = new ArrayList<>(historialTareaRepositorio.buscarTextoPosterioresA(consulta,
+                    primero.getFechaEliminacion(), primero.getIdHistorial(), tamanoPagina));
+        } else {
+            Specification<HistorialTarea> especificacion = EspecificacionesHistorial.contienePalabras(texto)
+                    .and(EspecificacionesHistorial.posteriorA(primero.getFechaEliminacion(), primero.getIdHistorial()));
+            registros = new ArrayList<>(historialTareaRepositorio.findBy(especificacion,
+                    resultado -> resultado.sortBy(EspecificacionesHistorial.ORDEN.reverse()).limit(tamanoPagina).all()));
+        }
+        Collections.reverse(registros);
+        return registros;
+    }
+
+    /**
+     * Página de tareas borradas (modo logico) posterior al registro indicado en el orden del
+     * historial, convertidas en registros de historial.
+     */
+    private List<HistorialTarea> borradasSiguientes(String texto, HistorialTarea ultimo, int tamanoPagina) {
+        Date fecha = ultimo != null ? ultimo.getFechaEliminacion() : FECHA_MAXIMA;
+        Integer id = ultimo != null ? ultimo.getIdHistorial() : Integer.MAX_VALUE;
+        return comoHistorial(TareaRepositorio.buscarBorradasAnterioresA(texto, fecha, id, tamanoPagina));
+    }
+
+    /**
+     * Página de tareas borradas (modo logico) que precede al registro indicado, en el orden del historial.
+     */
+    private List<HistorialTarea> borradasAnteriores(String texto, HistorialTarea primero, int tamanoPagina) {
+        List<HistorialTarea> registros = comoHistorial(TareaRepositorio.buscarBorradasPosterioresA(texto,
+                primero.getFechaEliminacion(), primero.getIdHistorial(), tamanoPagina));
+        Collections.reverse(registros);
+        return registros;
+    }
+
+    private static List<HistorialTarea> comoHistorial(List<Tarea> tareas) {
+        List<HistorialTarea> registros = new ArrayList<>(tareas.size());
+        for (Tarea tarea : tareas) {
+            registros.add(HistorialTarea.deTareaBorrada(tarea));
+        }
+        return registros;
+    }
+
+    /**
+     * Arma la expresión de búsqueda en modo booleano de MySQL ("+palabra*" por cada palabra de
+     * FiltroTareas.palabras). Si alguna palabra es más corta que el tamaño mínimo del índice o
+     * tiene signos que el índice separa (o que el modo booleano toma como operadores), no se usa
+     * el índice: descartarla cambiaría el resultado. El índice busca cada palabra al comienzo de
+     * una palabra del registro y no en cualquier posición, como LIKE.
+     * 
+     * @return La expresión, o null si no se puede usar el índice FULLTEXT
+     */
+    private String consultaTextoCompleto(String texto) {
+        if (!motorBaseDatos.esMySql()) {
+            return null;
+        }
+        StringBuilder consulta = new StringBuilder();
+        for (String palabra : FiltroTareas.palabras(texto)) {
+            if (palabra.length() < TAMANO_MINIMO_PALABRA || !PALABRA_INDEXADA.matcher(palabra).matches()) {
+                return null;
+            }
+            consulta.append(consulta.isEmpty() ? "" : " ").append('+').append(palabra).append('*');
+        }
+        return consulta.isEmpty() ? null : consulta.toString();
+    }
+
     /**
      * Registra la eliminación de una tarea en el historial.
      * Crea un nuevo registro de historial con los datos de la tarea eliminada.
@@ -52,18 +300,153 @@ public class HistorialTareaServicio implements IHistorialTareaServicio {
         HistorialTarea historial = new HistorialTarea(tarea, "ELIMINACIÓN");
         // Guarda el registro de historial en la base de datos
         historialTareaRepositorio.save(historial);
+        publicador.publishEvent(new HistorialRegistrado(List.of(historial)));
+    }
+    
+    /**
+     * Registra la eliminación de varias tareas en el historial.
+     * Todas las inserciones se hacen en una transacción y se envían en lotes JDBC,
+     * en lugar de una transacción y un viaje a la base de datos por tarea.
+     * 
+     * @param tareas - Las tareas eliminadas que se quieren registrar en el historial.
+     */
+    @Override
+    @Transactional
+    public void registrarEliminaciones(Collection<Tarea> tareas) {
+        List<HistorialTarea> registros = new ArrayList<>(tareas.size());
+        for (Tarea tarea : tareas) {
+            registros.add(new HistorialTarea(tarea, "ELIMINACIÓN"));
+        }
+        historialTareaRepositorio.saveAll(registros);
+        publicador.publishEvent(new HistorialRegistrado(registros));
     }
     
     /**
      * Recupera una tarea desde un registro del historial.
      * Este método crea una nueva tarea con los datos almacenados en el historial
      * y elimina el registro del historial una vez recuperada la tarea.
+     * El registro eliminado sale de la caché de segundo nivel; la tarea nueva entra en la caché
+     * cuando quien llama la guarda con guardarTarea.
+     * En el modo logico la tarea se restaura de inmediato, con su ID original.
      * 
      * @param historial - El registro del historial desde el que se recuperará la tarea.
      * @return Tarea - La tarea recuperada del historial.
      */
     @Override
+    @Transactional
     public Tarea recuperarTarea(HistorialTarea historial) {
+        if (usaBorradoLogico()) {
+            return restaurarTarea(historial);
+        }
+        // Crea una nueva tarea con los datos almacenados en el historial
+        Tarea tarea = crearTarea(historial);
+        
+        // Elimina el registro del historial 
+        // Ya no es necesario mantenerlo en el historial porque la tarea ha sido recuperada
+        eliminarDefinitivamente(historial);
+        
+        // Devuelve la nueva tarea creada
+        // Esta tarea deberá ser guardada por quien llame a esta función
+        return tarea;
+    }
+    
+    /**
+     * Recupera una tarea desde un registro del historial y la guarda de nuevo entre las tareas.
+     * El registro del historial se elimina y la tarea se guarda en la misma transacción, y el
+     * cambio se publica como un único evento TareaRecuperada.
+     * En el modo logico se deshace el borrado con una sentencia UPDATE y la tarea conserva su ID.
+     * 
+     * @param historial - El registro del historial desde el que se recuperará la tarea.
+     * @return Tarea - La tarea recuperada, con su nuevo ID.
+     */
+    @Override
+    @Transactional
+    public Tarea restaurarTarea(HistorialTarea historial) {
+        if (usaBorradoLogico()) {
+            List<Tarea> tareas = restaurarBorradas(List.of(historial.getIdHistorial()));
+            return tareas.isEmpty() ? null : tareas.get(0);
+        }
+        Tarea tarea = crearTarea(historial);
+        historialTareaRepositorio.delete(historial);
+        TareaRepositorio.save(tarea);
+        tareaIndex.registrarGuardado(tarea);
+        publicador.publishEvent(new TareaRecuperada(tarea, historial.getIdHistorial()));
+        return tarea;
+    }
+    
+    /**
+     * Recupera varias tareas del historial en una sola transacción: los registros se cargan con
+     * una consulta por bloque, las tareas se guardan en lotes JDBC y los registros se eliminan
+     * con una sentencia DELETE ... WHERE idHistorial IN (...) por bloque. El cambio se publica
+     * como un único evento TareasRecuperadas.
+     * En el modo logico los IDs del historial son los de las tareas borradas (ver restaurarBorradas).
+     * 
+     * @param idsHistorial IDs de los registros del historial a recuperar
+     * @return Las tareas recuperadas, con sus nuevos IDs
+     */
+    @Override
+    @Transactional
+    public List<Tarea> recuperarTareas(Collection<Integer> idsHistorial) {
+        if (usaBorradoLogico()) {
+            return restaurarBorradas(idsHistorial);
+        }
+        List<HistorialTarea> registros = new ArrayList<>(idsHistorial.size());
+        for (List<Integer> bloque : tareaServicio.bloques(idsHistorial, TAMANO_BLOQUE)) {
+            registros.addAll(historialTareaRepositorio.findAllById(bloque));
+        }
+        if (registros.isEmpty()) {
+            return List.of();
+        }
+        List<Tarea> tareas = new ArrayList<>(registros.size());
+        List<Integer> recuperados = new ArrayList<>(registros.size());
+        for (HistorialTarea registro : registros) {
+            tareas.add(crearTarea(registro));
+            recuperados.add(registro.getIdHistorial());
+        }
+        TareaRepositorio.saveAll(tareas);
+        for (List<Integer> bloque : tareaServicio.bloques(recuperados, TAMANO_BLOQUE)) {
+            historialTareaRepositorio.eliminarPorIds(bloque);
+        }
+        tareaIndex.registrarGuardados(tareas);
+        publicador.publishEvent(new TareasRecuperadas(tareas, recuperados));
+        return tareas;
+    }
+    
+    /**
+     * Deshace el borrado lógico con una sentencia UPDATE por bloque; las tareas conservan su ID.
+     * Antes de cada UPDATE se buscan las tareas del bloque que están borradas; solo esas se
+     * restauran, se vuelven a leer para actualizar el índice en memoria y se publican en un
+     * único evento TareasRecuperadas.
+     */
+    private List<Tarea> restaurarBorradas(Collection<Integer> idsTareas) {
+        List<Integer> restauradas = new ArrayList<>();
+        for (List<Integer> bloque : tareaServicio.bloques(idsTareas, TAMANO_BLOQUE)) {
+            List<Integer> borradas = TareaRepositorio.buscarIdsBorradas(bloque);
+            if (!borradas.isEmpty()) {
+                TareaRepositorio.desmarcarBorradas(borradas);
+                restauradas.addAll(borradas);
+            }
+        }
+        if (restauradas.isEmpty()) {
+            return List.of();
+        }
+        List<Tarea> tareas = new ArrayList<>(restauradas.size());
+        for (List<Integer> bloque : tareaServicio.bloques(restauradas, TAMANO_BLOQUE)) {
+            tareas.addAll(TareaRepositorio.findAllById(bloque));
+        }
+        List<Integer> recuperadas = new ArrayList<>(tareas.size());
+        for (Tarea tarea : tareas) {
+            recuperadas.add(tarea.getIdTarea());
+        }
+        tareaIndex.registrarGuardados(tareas);
+        publicador.publishEvent(new TareasRecuperadas(tareas, recuperadas));
+        return tareas;
+    }
+    
+    /**
+     * Crea una tarea nueva (sin ID) con los datos guardados en un registro del historial.
+     */
+    private static Tarea crearTarea(HistorialTarea historial) {
         // Crea una instancia vacía de Tarea
         Tarea tarea = new Tarea();
         
@@ -76,26 +459,98 @@ public class HistorialTareaServicio implements IHistorialTareaServicio {
         tarea.setPrioridadTarea(historial.getPrioridadTarea());
         tarea.setFechaInicioTarea(historial.getFechaInicioTarea());
         tarea.setFechaFinTarea(historial.getFechaFinTarea());
-        
-        // Elimina el registro del historial 
-        // Ya no es necesario mantenerlo en el historial porque la tarea ha sido recuperada
-        eliminarDefinitivamente(historial);
-        
-        // Devuelve la nueva tarea creada
-        // Esta tarea deberá ser guardada por quien llame a esta función
         return tarea;
     }
     
     /**
      * Elimina permanentemente un registro del historial de tareas.
      * Esta operación no puede deshacerse y el registro se pierde definitivamente.
+     * Hibernate quita también el registro de la caché de segundo nivel.
+     * En el modo logico se elimina la fila de la tarea borrada.
      * 
      * @param historial - El registro del historial que se desea eliminar permanentemente.
      */
     @Override
+    @Transactional
     public void eliminarDefinitivamente(HistorialTarea historial) {
+        if (usaBorradoLogico()) {
+            eliminarDefinitivamente(List.of(historial.getIdHistorial()));
+            return;
+        }
         // Utiliza el método delete() del repositorio para eliminar el registro
         // Esta operación elimina el registro de forma permanente de la base de datos
         historialTareaRepositorio.delete(historial);
+        publicador.publishEvent(new HistorialEliminado(historial.getIdHistorial()));
+    }
+    
+    /**
+     * Elimina permanentemente varios registros del historial con una sentencia
+     * DELETE ... WHERE idHistorial IN (...) por bloque, en una sola transacción.
+     * En el modo logico se eliminan las filas de las tareas borradas.
+     * 
+     * @param idsHistorial IDs de los registros a eliminar
+     * @return Número de registros eliminados
+     */
+    @Override
+    @Transactional
+    public int eliminarDefinitivamente(Collection<Integer> idsHistorial) {
+        int total = 0;
+        for (List<Integer> bloque : tareaServicio.bloques(idsHistorial, TAMANO_BLOQUE)) {
+            total += usaBorradoLogico() ? TareaRepositorio.eliminarBorradas(bloque)
+                    : historialTareaRepositorio.eliminarPorIds(bloque);
+        }
+        if (total > 0) {
+            publicador.publishEvent(new HistorialesEliminados(List.copyOf(idsHistorial)));
+        }
+        return total;
+    }
+
+    /**
+     * Elimina permanentemente los registros del historial anteriores a una fecha. Los IDs se
+     * leen por bloques desde el índice de la fecha de eliminación (o de borrado, en el modo
+     * logico) y cada bloque se elimina con una sentencia DELETE ... WHERE id IN (...) en su
+     * propia transacción, para no retener los bloqueos ni el registro de deshacer de toda la
+     * purga. Si falla un bloque, los anteriores quedan eliminados. Al terminar se publica
+     * HistorialPurgado con el total, sin los IDs.
+     * 
+     * @param antesDe Fecha de eliminación límite (no incluida)
+     * @return Número de registros eliminados
+     */
+    @Override
+    public int purgarHistorial(Date antesDe) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        // Cada bloque se confirma por separado aunque el llamador tenga una transacción abierta
+        transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int total = 0;
+        BloquePurgado bloque;
+        do {
+            bloque = transaccion.execute(estado -> purgarBloque(antesDe));
+            total += bloque.eliminados();
+        } while (bloque.leidos() == TAMANO_BLOQUE);
+        if (total > 0) {
+            publicador.publishEvent(new HistorialPurgado(total));
+        }
+        return total;
+    }
+
+    /**
+     * Resultado de un bloque de la purga.
+     *
+     * @param leidos IDs leídos (si son menos que TAMANO_BLOQUE, no quedan más registros)
+     * @param eliminados Registros eliminados
+     */
+    private record BloquePurgado(int leidos, int eliminados) {
+    }
+
+    /**
+     * Elimina el siguiente bloque de registros anteriores a la fecha.
+     */
+    private BloquePurgado purgarBloque(Date antesDe) {
+        if (usaBorradoLogico()) {
+            List<Integer> ids = TareaRepositorio.buscarIdsBorradasAnterioresA(antesDe, TAMANO_BLOQUE);
+            return new BloquePurgado(ids.size(), ids.isEmpty() ? 0 : TareaRepositorio.eliminarBorradas(ids));
+        }
+        List<Integer> ids = historialTareaRepositorio.buscarIdsAnterioresA(antesDe, Limit.of(TAMANO_BLOQUE));
+        return new BloquePurgado(ids.size(), ids.isEmpty() ? 0 : historialTareaRepositorio.eliminarPorIds(ids));
     }
-} 
\ No newline at end of file
+}
@@ -3,6 +3,8 @@ package poo.tareas.servicio;
 import poo.tareas.modelo.HistorialTarea;
 import poo.tareas.modelo.Tarea;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -18,6 +20,54 @@ public interface IHistorialTareaServicio {
      */
     List<HistorialTarea> listarHistorial();
     
+    /**
+     * Indica si las tareas eliminadas se conservan en su propia tabla con una fecha de borrado
+     * (borrado lógico) en lugar de copiarse al historial.
+     * 
+     * @return true si el modo de eliminación es logico
+     */
+    boolean usaBorradoLogico();
+    
+    /**
+     * Obtiene una página del historial (paginación por clave), de la eliminación más reciente
+     * a la más antigua.
+     * 
+     * @param ultimo Último registro cargado, o null para obtener la primera página
+     * @param tamanoPagina Número máximo de registros a devolver
+     * @return Registros eliminados antes del indicado, del más reciente al más antiguo
+     */
+    List<HistorialTarea> listarHistorialSiguiente(HistorialTarea ultimo, int tamanoPagina);
+    
+    /**
+     * Obtiene la página del historial que precede al registro indicado (paginación por clave).
+     * 
+     * @param primero Primer registro cargado
+     * @param tamanoPagina Número máximo de registros a devolver
+     * @return Registros eliminados después del indicado, del más reciente al más antiguo
+     */
+    List<HistorialTarea> listarHistorialAnterior(HistorialTarea primero, int tamanoPagina);
+    
+    /**
+     * Busca en el historial los registros cuyo nombre, descripción o responsable contienen
+     * las palabras indicadas, paginados por clave como listarHistorialSiguiente.
+     * 
+     * @param texto Palabras buscadas; si está vacío se devuelve el historial sin filtrar
+     * @param ultimo Último registro cargado, o null para obtener la primera página
+     * @param tamanoPagina Número máximo de registros a devolver
+     * @return Registros que coinciden, del más reciente al más antiguo
+     */
+    List<HistorialTarea> buscarHistorialSiguiente(String texto, HistorialTarea ultimo, int tamanoPagina);
+    
+    /**
+     * Obtiene la página de resultados de la búsqueda que precede al registro indicado.
+     * 
+     * @param texto Palabras buscadas; si está vacío se devuelve el historial sin filtrar
+     * @param primero Primer registro cargado
+     * @param tamanoPagina Número máximo de registros a devolver
+     * @return Registros que coinciden, del más reciente al más antiguo
+     */
+    List<HistorialTarea> buscarHistorialAnterior(String texto, HistorialTarea primero, int tamanoPagina);
+    
     /**
      * Registra una tarea en el historial cuando es eliminada.
      * Esta operación permite mantener un registro de las tareas eliminadas
@@ -27,6 +77,40 @@ public interface IHistorialTareaServicio {
      */
     void registrarEliminacion(Tarea tarea);
     
+    /**
+     * Registra varias tareas eliminadas en el historial en una sola transacción,
+     * agrupando las inserciones en lotes JDBC.
+     * 
+     * @param tareas Las tareas que se van a registrar como eliminadas
+     */
+    void registrarEliminaciones(Collection<Tarea> tareas);
+    
+    /**
+     * Recupera varias tareas del historial en una sola transacción: las tareas se guardan de
+     * nuevo y sus registros se eliminan del historial.
+     * 
+     * @param idsHistorial IDs de los registros del historial a recuperar
+     * @return Las tareas recuperadas, con sus nuevos IDs
+     */
+    List<Tarea> recuperarTareas(Collection<Integer> idsHistorial);
+    
+    /**
+     * Elimina permanentemente varios registros del historial en una sola transacción.
+     * 
+     * @param idsHistorial IDs de los registros a eliminar
+     * @return Número de registros eliminados
+     */
+    int eliminarDefinitivamente(Collection<Integer> idsHistorial);
+
+    /**
+     * Elimina permanentemente los registros del historial anteriores a una fecha, con una
+     * transacción por bloque de registros.
+     * 
+     * @param antesDe Fecha de eliminación límite (no incluida)
+     * @return Número de registros eliminados
+     */
+    int purgarHistorial(Date antesDe);
+    
     /**
      * Recupera una tarea previamente eliminada a partir de su registro en el historial.
      * Este método permite restaurar tareas que fueron eliminadas por error.
@@ -36,6 +120,15 @@ public interface IHistorialTareaServicio {
      */
     Tarea recuperarTarea(HistorialTarea historial);
     
+    /**
+     * Recupera una tarea del historial y la guarda de nuevo entre las tareas en una sola
+     * operación: el registro del historial se elimina y la tarea recibe un nuevo ID.
+     * 
+     * @param historial El registro de historial que contiene la información de la tarea eliminada
+     * @return La tarea recuperada y guardada
+     */
+    Tarea restaurarTarea(HistorialTarea historial);
+    
     /**
      * Elimina permanentemente una tarea del historial.
      * Esta operación es irreversible y elimina completamente el registro de la tarea
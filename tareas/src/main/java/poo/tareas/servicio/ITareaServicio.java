@@ -1,8 +1,15 @@
 package poo.tareas.servicio;
 
+import org.springframework.data.domain.Sort;
+import poo.tareas.modelo.FiltroTareas;
+import poo.tareas.modelo.PrioridadTarea;
+import poo.tareas.modelo.ResumenVencidas;
 import poo.tareas.modelo.Tarea;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaz que define las operaciones del servicio de tareas
@@ -15,6 +22,59 @@ public interface ITareaServicio {
      * @return Lista de objetos Tarea
      */
     public List<Tarea> listarTareas();
+
+    /**
+     * Método que obtiene una página de tareas filtradas y ordenadas en la base de datos
+     * (paginación por clave sobre la columna de orden y el ID)
+     * @param filtro Criterios del filtro
+     * @param orden Columna y dirección del orden (una de EspecificacionesTarea.PROPIEDADES_ORDENABLES)
+     * @param ultima Última tarea ya cargada, o null para obtener la primera página
+     * @param tamanoPagina Número máximo de tareas a devolver
+     * @return Lista de tareas en el orden indicado
+     */
+    public List<Tarea> buscarTareasSiguientes(FiltroTareas filtro, Sort.Order orden, Tarea ultima, int tamanoPagina);
+
+    /**
+     * Método que obtiene la página de tareas filtradas y ordenadas que precede a la indicada
+     * @param filtro Criterios del filtro
+     * @param orden Columna y dirección del orden
+     * @param primera Primera tarea ya cargada
+     * @param tamanoPagina Número máximo de tareas a devolver
+     * @return Lista de tareas en el orden indicado
+     */
+    public List<Tarea> buscarTareasAnteriores(FiltroTareas filtro, Sort.Order orden, Tarea primera, int tamanoPagina);
+    
+    /**
+     * Método que obtiene las tareas no completadas cuya fecha de finalización es hoy o anterior
+     * @param hoy Fecha de referencia
+     * @return Lista de tareas vencidas ordenadas por ID
+     */
+    public List<Tarea> listarTareasVencidas(LocalDate hoy);
+
+    /**
+     * Método que obtiene el número de tareas vencidas y el mayor ID entre ellas, sin cargarlas
+     * @param hoy Fecha de referencia
+     * @return Resumen de las tareas vencidas
+     */
+    public ResumenVencidas resumirTareasVencidas(LocalDate hoy);
+    
+    /**
+     * Método que recalcula en la base de datos la prioridad de las tareas no completadas
+     * según los días que faltan para su fecha de finalización (Alta: 1 o menos,
+     * Media: 3 o menos, Baja: más de 3)
+     * @param hoy Fecha de referencia para calcular los días restantes
+     * @return Número de tareas cuya prioridad cambió
+     */
+    public int recalcularPrioridades(LocalDate hoy);
+    
+    /**
+     * Método que asigna la prioridad indicada a cada tarea escribiendo solo esa columna, sin
+     * sobrescribir otros cambios de las tareas; se omiten las que no existen, están completadas
+     * o ya tienen esa prioridad
+     * @param prioridades Nueva prioridad de cada tarea, por ID
+     * @return IDs de las tareas cuya prioridad cambió
+     */
+    public List<Integer> actualizarPrioridades(Map<Integer, PrioridadTarea> prioridades);
     
     /**
      * Método que busca una tarea específica por su identificador
@@ -29,12 +89,33 @@ public interface ITareaServicio {
      */
     public void guardarTarea(Tarea tarea);
     
+    /**
+     * Método que almacena o actualiza varias tareas en una sola transacción,
+     * agrupando las sentencias en lotes JDBC
+     * @param tareas Tareas a guardar
+     */
+    public void guardarTareas(Collection<Tarea> tareas);
+    
     /**
      * Método que elimina una tarea existente del sistema
      * @param tarea Objeto Tarea a eliminar
      */
     public void eliminarTarea(Tarea tarea);
     
+    /**
+     * Método que registra varias tareas en el historial y las elimina en una sola transacción
+     * @param idsTareas IDs de las tareas a eliminar
+     * @return Número de tareas eliminadas
+     */
+    public int eliminarTareas(Collection<Integer> idsTareas);
+    
+    /**
+     * Método que marca varias tareas como completadas en una sola transacción
+     * @param idsTareas IDs de las tareas a completar
+     * @return Número de tareas cuyo estado cambió
+     */
+    public int completarTareas(Collection<Integer> idsTareas);
+    
     /**
      * Método que actualiza los datos de una tarea existente
      * @param tarea Objeto Tarea con los nuevos datos
@@ -0,0 +1,422 @@
+package poo.tareas.servicio;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.PrioridadTarea;
+import poo.tareas.modelo.Tarea;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Servicio que importa tareas desde archivos Excel (.xlsx) o CSV.
+ *
+ * Los archivos se leen en modo streaming: las hojas de Excel se recorren con el lector de
+ * eventos SAX de Apache POI (sin construir un XSSFWorkbook en memoria) y los CSV línea por
+ * línea. Cada fila se valida y se convierte en una Tarea, y las tareas válidas se guardan
+ * en bloques de tamaño fijo con tareaServicio.guardarTareas, de modo que la memoria usada
+ * no depende del número de filas del archivo.
+ *
+ * Las columnas esperadas son las mismas que genera la exportación:
+ * ID, Nombre, Descripción, Responsable, Estado, Prioridad, Fecha Inicio, Fecha Fin.
+ * La columna ID se ignora: todas las filas se importan como tareas nuevas.
+ */
+@Service
+public class ImportacionTareasService {
+    // Logger para registrar el resultado de las importaciones
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionTareasService.class);
+
+    // Número de tareas que se guardan en cada transacción
+    private static final int TAMANO_LOTE = 500;
+
+    // Número máximo de mensajes de error que se conservan para mostrar al usuario
+    private static final int MAX_ERRORES = 100;
+
+    // Posición de cada columna en el archivo
+    private static final int COL_NOMBRE = 1;
+    private static final int COL_DESCRIPCION = 2;
+    private static final int COL_RESPONSABLE = 3;
+    private static final int COL_ESTADO = 4;
+    private static final int COL_PRIORIDAD = 5;
+    private static final int COL_FECHA_INICIO = 6;
+    private static final int COL_FECHA_FIN = 7;
+
+
+    // Formatos de fecha aceptados, además de ISO (yyyy-MM-dd) al inicio del texto
+    private static final List<DateTimeFormatter> FORMATOS_FECHA = List.of(
+            DateTimeFormatter.ofPattern("d/M/yyyy"),
+            DateTimeFormatter.ofPattern("d-M-yyyy"),
+            DateTimeFormatter.ofPattern("M/d/yy"));
+
+    @Autowired
+    private tareaServicio tareaServicio;
+
+    /**
+     * Interfaz para informar el avance de la importación.
+     */
+    public interface ProgresoImportacion {
+        /**
+         * @param filasProcesadas Filas leídas hasta el momento
+         * @param fraccion Avance entre 0 y 1, o -1 si no se conoce el tamaño total
+         */
+        void actualizar(long filasProcesadas, double fraccion);
+    }
+
+    /**
+     * Importa las tareas del archivo indicado. El formato se elige según la extensión.
+     * Este método no debe llamarse desde el hilo de JavaFX.
+     *
+     * @param archivo Archivo .xlsx o .csv
+     * @param progreso Receptor del avance
+     * @param cancelado Se consulta en cada fila; si devuelve true la importación se detiene
+     *                  (los bloques ya guardados se conservan)
+     * @return Resumen de la importación
+     * @throws IOException Si el archivo no se puede leer o no tiene un formato válido
+     */
+    public ResultadoImportacion importar(File archivo, ProgresoImportacion progreso, BooleanSupplier cancelado) throws IOException {
+        Acumulador acumulador = new Acumulador(progreso, cancelado);
+        String nombre = archivo.getName().toLowerCase();
+        try {
+            if (nombre.endsWith(".csv")) {
+                leerCsv(archivo, acumulador);
+            } else if (nombre.endsWith(".xlsx")) {
+                leerXlsx(archivo, acumulador);
+            } else {
+                throw new IOException("Formato no soportado: " + archivo.getName());
+            }
+        } catch (ImportacionCancelada e) {
+            logger.info("Importación de {} cancelada por el usuario", archivo.getName());
+        }
+        acumulador.guardarLote();
+        ResultadoImportacion resultado = acumulador.resultado();
+        logger.info("Importación de {}: {} tareas importadas, {} filas rechazadas",
+                archivo.getName(), resultado.importadas(), resultado.rechazadas());
+        return resultado;
+    }
+
+    /**
+     * Lee la primera hoja de un libro .xlsx con el lector de eventos de POI.
+     */
+    private void leerXlsx(File archivo, Acumulador acumulador) throws IOException {
+        OPCPackage paquete = null;
+        try {
+            paquete = OPCPackage.open(archivo, PackageAccess.READ);
+            ReadOnlySharedStringsTable textos = new ReadOnlySharedStringsTable(paquete);
+            XSSFReader lector = new XSSFReader(paquete);
+            StylesTable estilos = lector.getStylesTable();
+            Iterator<InputStream> hojas = lector.getSheetsData();
+            if (!hojas.hasNext()) {
+                return;
+            }
+            try (InputStream hoja = hojas.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(estilos, null, textos,
+                        new LectorFilasXlsx(acumulador), new FormatoFechasIso(), false));
+                parser.parse(new InputSource(hoja));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("No se pudo leer el archivo Excel: " + e.getMessage(), e);
+        } finally {
+            if (paquete != null) {
+                paquete.revert(); // Cierra el paquete abierto en modo lectura sin intentar guardarlo
+            }
+        }
+    }
+
+    /**
+     * Lee un archivo CSV línea por línea. El separador (coma o punto y coma) se detecta
+     * en la primera línea; se admiten campos entre comillas con saltos de línea.
+     */
+    private void leerCsv(File archivo, Acumulador acumulador) throws IOException {
+        long tamano = Math.max(1, archivo.length());
+        try (ContadorBytes entrada = new ContadorBytes(new FileInputStream(archivo));
+             BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            String linea = lector.readLine();
+            if (linea == null) {
+                return;
+            }
+            if (linea.startsWith("\uFEFF")) {
+                linea = linea.substring(1); // Marca de orden de bytes de Excel
+            }
+            char separador = linea.indexOf(';') >= 0 && linea.indexOf(',') < 0 ? ';' : ',';
+            while (linea != null) {
+                List<String> celdas = new ArrayList<>();
+                StringBuilder celda = new StringBuilder();
+                boolean entreComillas = false;
+                // Un registro puede ocupar varias líneas si un campo entre comillas contiene saltos de línea
+                while (true) {
+                    for (int i = 0; i < linea.length(); i++) {
+                        char c = linea.charAt(i);
+                        if (entreComillas) {
+                            if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                                celda.append('"');
+                                i++;
+                            } else if (c == '"') {
+                                entreComillas = false;
+                            } else {
+                                celda.append(c);
+                            }
+                        } else if (c == '"') {
+                            entreComillas = true;
+                        } else if (c == separador) {
+                            celdas.add(celda.toString());
+                            celda.setLength(0);
+                        } else {
+                            celda.append(c);
+                        }
+                    }
+                    if (!entreComillas) {
+                        break;
+                    }
+                    linea = lector.readLine();
+                    if (linea == null) {
+                        break;
+                    }
+                    celda.append('\n');
+                }
+                celdas.add(celda.toString());
+                acumulador.procesarFila(celdas, (double) entrada.leidos / tamano);
+                linea = lector.readLine();
+            }
+        }
+    }
+
+    /**
+     * Recibe las filas leídas, las convierte en tareas y las guarda por bloques.
+     */
+    private class Acumulador {
+        private final ProgresoImportacion progreso;
+        private final BooleanSupplier cancelado;
+        private final List<Tarea> lote = new ArrayList<>(TAMANO_LOTE);
+        private final List<String> errores = new ArrayList<>();
+        private long filasProcesadas = 0;
+        private long importadas = 0;
+        private long rechazadas = 0;
+        private boolean fueCancelada = false;
+
+        Acumulador(ProgresoImportacion progreso, BooleanSupplier cancelado) {
+            this.progreso = progreso;
+            this.cancelado = cancelado;
+        }
+
+        void procesarFila(List<String> celdas, double fraccion) {
+            if (cancelado.getAsBoolean()) {
+                fueCancelada = true;
+                throw new ImportacionCancelada();
+            }
+            filasProcesadas++;
+            // La primera fila puede ser el encabezado; también se ignoran las filas vacías
+            boolean esEncabezado = filasProcesadas == 1 && "Nombre".equalsIgnoreCase(celda(celdas, COL_NOMBRE));
+            if (esEncabezado || celdas.stream().allMatch(String::isBlank)) {
+                return;
+            }
+            try {
+                lote.add(convertirFila(celdas));
+            } catch (IllegalArgumentException e) {
+                rechazadas++;
+                if (errores.size() < MAX_ERRORES) {
+                    errores.add("Fila " + filasProcesadas + ": " + e.getMessage());
+                }
+            }
+            if (lote.size() == TAMANO_LOTE) {
+                guardarLote();
+                progreso.actualizar(filasProcesadas, fraccion);
+            }
+        }
+
+        void guardarLote() {
+            if (!lote.isEmpty()) {
+                tareaServicio.guardarTareas(lote);
+                importadas += lote.size();
+                lote.clear();
+            }
+        }
+
+        ResultadoImportacion resultado() {
+            progreso.actualizar(filasProcesadas, 1);
+            return new ResultadoImportacion(importadas, rechazadas, List.copyOf(errores), fueCancelada);
+        }
+    }
+
+    /**
+     * Valida una fila y la convierte en una tarea nueva.
+     *
+     * @throws IllegalArgumentException Si la fila no es válida, con el motivo
+     */
+    private Tarea convertirFila(List<String> celdas) {
+        String nombre = celda(celdas, COL_NOMBRE);
+        if (nombre.isEmpty()) {
+            throw new IllegalArgumentException("el nombre de la tarea es obligatorio");
+        }
+        String textoEstado = celda(celdas, COL_ESTADO);
+        EstadoTarea estado = textoEstado.isEmpty() ? EstadoTarea.PENDIENTE : EstadoTarea.desdeEtiqueta(textoEstado);
+        if (estado == null) {
+            throw new IllegalArgumentException("estado no válido '" + textoEstado + "'");
+        }
+        String textoPrioridad = celda(celdas, COL_PRIORIDAD);
+        PrioridadTarea prioridad = textoPrioridad.isEmpty() ? PrioridadTarea.BAJA : PrioridadTarea.desdeEtiqueta(textoPrioridad);
+        if (prioridad == null) {
+            throw new IllegalArgumentException("prioridad no válida '" + textoPrioridad + "'");
+        }
+        LocalDate inicio = convertirFecha(celda(celdas, COL_FECHA_INICIO), "fecha de inicio");
+        LocalDate fin = convertirFecha(celda(celdas, COL_FECHA_FIN), "fecha de finalización");
+        if (fin.isBefore(inicio)) {
+            throw new IllegalArgumentException("la fecha de finalización es anterior a la de inicio");
+        }
+
+        Tarea tarea = new Tarea();
+        tarea.setNombreTarea(nombre);
+        tarea.setDescripcionTarea(celda(celdas, COL_DESCRIPCION));
+        tarea.setResponsableTarea(celda(celdas, COL_RESPONSABLE));
+        tarea.setEstadoTarea(estado);
+        tarea.setPrioridadTarea(prioridad);
+        tarea.setFechaInicioTarea(java.sql.Date.valueOf(inicio));
+        tarea.setFechaFinTarea(java.sql.Date.valueOf(fin));
+        return tarea;
+    }
+
+    private static String celda(List<String> celdas, int indice) {
+        if (indice >= celdas.size() || celdas.get(indice) == null) {
+            return "";
+        }
+        return celdas.get(indice).trim();
+    }
+
+    private static LocalDate convertirFecha(String texto, String campo) {
+        if (texto.isEmpty()) {
+            throw new IllegalArgumentException("la " + campo + " es obligatoria");
+        }
+        // yyyy-MM-dd, también con hora a continuación (como lo escribe la exportación)
+        if (texto.length() >= 10 && texto.charAt(4) == '-' && texto.charAt(7) == '-') {
+            try {
+                return LocalDate.parse(texto.substring(0, 10));
+            } catch (DateTimeParseException e) {
+                // Se prueban los demás formatos
+            }
+        }
+        for (DateTimeFormatter formato : FORMATOS_FECHA) {
+            try {
+                return LocalDate.parse(texto, formato);
+            } catch (DateTimeParseException e) {
+                // Se prueba el siguiente formato
+            }
+        }
+        throw new IllegalArgumentException(campo + " no válida '" + texto + "'");
+    }
+
+    /**
+     * Recibe las celdas de cada fila de la hoja desde el lector de eventos de POI.
+     * Las celdas vacías no generan evento, por eso se ubican según su referencia (A1, B1, ...).
+     */
+    private static class LectorFilasXlsx implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final Acumulador acumulador;
+        private final String[] fila = new String[COL_FECHA_FIN + 1];
+
+        LectorFilasXlsx(Acumulador acumulador) {
+            this.acumulador = acumulador;
+        }
+
+        @Override
+        public void startRow(int numeroFila) {
+            Arrays.fill(fila, "");
+        }
+
+        @Override
+        public void endRow(int numeroFila) {
+            acumulador.procesarFila(Arrays.asList(fila), -1);
+        }
+
+        @Override
+        public void cell(String referencia, String valor, XSSFComment comentario) {
+            int columna = new CellReference(referencia).getCol();
+            if (columna < fila.length) {
+                fila[columna] = valor;
+            }
+        }
+    }
+
+    /**
+     * Formateador que escribe las celdas con formato de fecha en ISO (yyyy-MM-dd),
+     * sin importar el formato regional con el que se guardó el libro.
+     */
+    private static class FormatoFechasIso extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double valor, int indiceFormato, String formato) {
+            if (DateUtil.isADateFormat(indiceFormato, formato) && DateUtil.isValidExcelDate(valor)) {
+                return DateUtil.getLocalDateTime(valor).toLocalDate().toString();
+            }
+            return super.formatRawCellContents(valor, indiceFormato, formato);
+        }
+    }
+
+    /**
+     * Flujo que cuenta los bytes leídos, para calcular el avance de los archivos CSV.
+     */
+    private static class ContadorBytes extends FilterInputStream {
+        private long leidos = 0;
+
+        ContadorBytes(InputStream entrada) {
+            super(entrada);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                leidos++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int desde, int longitud) throws IOException {
+            int n = super.read(buffer, desde, longitud);
+            if (n > 0) {
+                leidos += n;
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Se lanza desde el procesamiento de filas para detener la lectura cuando el usuario cancela.
+     */
+    private static class ImportacionCancelada extends RuntimeException {
+        ImportacionCancelada() {
+            super(null, null, false, false);
+        }
+    }
+}
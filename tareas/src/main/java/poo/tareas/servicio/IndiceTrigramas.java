@@ -0,0 +1,254 @@
+package poo.tareas.servicio;
+
+import poo.tareas.modelo.FiltroTareas;
+import poo.tareas.modelo.Tarea;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice de trigramas (secuencias de tres caracteres) del nombre, la descripción y el
+ * responsable de las tareas, para la búsqueda por texto de {@link TareaIndex}.
+ *
+ * Cada trigrama tiene su lista de IDs de tareas (ordenada, en un arreglo de enteros). Para
+ * buscar una palabra se intersecan las listas de sus trigramas, empezando por la más corta, y
+ * se confirma cada candidata con el texto guardado; las palabras de menos de tres caracteres
+ * solo se comparan con el texto. El texto se guarda en minúsculas y sin tildes, así que
+ * "revision" encuentra "Revisión" (con FiltroTareas.normalizar, el mismo criterio de la consulta
+ * a la base de datos).
+ *
+ * No es seguro para varios hilos: TareaIndex lo usa con su propio candado.
+ */
+final class IndiceTrigramas {
+    // Separa los campos en el texto guardado; ningún trigrama lo contiene
+    private static final char SEPARADOR = '\u0001';
+
+    private final Map<Long, ListaIds> porTrigrama = new HashMap<>();
+    // Texto normalizado de cada tarea, con los campos separados por SEPARADOR
+    private final Map<Integer, String> textos = new HashMap<>();
+
+    /**
+     * Lista ordenada de IDs que crece al final sin reordenar en el caso habitual
+     * (los IDs nuevos son mayores que los existentes).
+     */
+    private static final class ListaIds {
+        private int[] ids = new int[4];
+        private int tamano = 0;
+
+        void agregar(int id) {
+            int posicion = tamano == 0 || ids[tamano - 1] < id ? tamano : Arrays.binarySearch(ids, 0, tamano, id);
+            if (posicion >= 0 && posicion < tamano) {
+                return;
+            }
+            posicion = posicion < 0 ? -posicion - 1 : posicion;
+            if (tamano == ids.length) {
+                ids = Arrays.copyOf(ids, tamano * 2);
+            }
+            System.arraycopy(ids, posicion, ids, posicion + 1, tamano - posicion);
+            ids[posicion] = id;
+            tamano++;
+        }
+
+        void quitar(int id) {
+            int posicion = Arrays.binarySearch(ids, 0, tamano, id);
+            if (posicion >= 0) {
+                System.arraycopy(ids, posicion + 1, ids, posicion, tamano - posicion - 1);
+                tamano--;
+            }
+        }
+
+        boolean contiene(int id) {
+            return Arrays.binarySearch(ids, 0, tamano, id) >= 0;
+        }
+    }
+
+    /**
+     * Agrega o reemplaza el texto de una tarea.
+     */
+    void agregar(Tarea tarea) {
+        quitar(tarea.getIdTarea());
+        String texto = normalizar(tarea.getNombreTarea()) + SEPARADOR + normalizar(tarea.getDescripcionTarea())
+                + SEPARADOR + normalizar(tarea.getResponsableTarea());
+        textos.put(tarea.getIdTarea(), texto);
+        for (long trigrama : trigramas(texto)) {
+            porTrigrama.computeIfAbsent(trigrama, t -> new ListaIds()).agregar(tarea.getIdTarea());
+        }
+    }
+
+    /**
+     * Quita el texto de una tarea, si estaba indexado.
+     */
+    void quitar(Integer idTarea) {
+        String texto = textos.remove(idTarea);
+        if (texto == null) {
+            return;
+        }
+        for (long trigrama : trigramas(texto)) {
+            ListaIds ids = porTrigrama.get(trigrama);
+            if (ids != null) {
+                ids.quitar(idTarea);
+                if (ids.tamano == 0) {
+                    porTrigrama.remove(trigrama);
+                }
+            }
+        }
+    }
+
+    void limpiar() {
+        porTrigrama.clear();
+        textos.clear();
+    }
+
+    /**
+     * Busca las tareas que contienen todas las palabras del texto (en cualquier campo y posición).
+     *
+     * @param texto Palabras buscadas separadas por espacios
+     * @param todos IDs de todas las tareas en orden, para las búsquedas sin trigramas
+     * @return IDs de las tareas que coinciden, en orden ascendente
+     */
+    int[] buscar(String texto, Collection<Integer> todos) {
+        String[] palabras = palabras(texto);
+        int[] candidatos = null;
+        for (String palabra : palabras) {
+            if (palabra.length() >= 3) {
+                candidatos = intersecar(candidatos, palabra);
+                if (candidatos.length == 0) {
+                    return candidatos;
+                }
+            }
+        }
+        if (candidatos == null) {
+            // Solo hay palabras cortas: se revisan todos los textos
+            candidatos = todos.stream().mapToInt(Integer::intValue).toArray();
+        }
+        // Confirmar con el texto: los trigramas pueden estar en otro orden o en otros campos
+        return confirmar(candidatos, palabras);
+    }
+
+    /**
+     * Deja en el arreglo solo los IDs cuyo texto contiene todas las palabras.
+     */
+    private int[] confirmar(int[] candidatos, String[] palabras) {
+        int coincidencias = 0;
+        for (int id : candidatos) {
+            if (contieneTodas(textos.get(id), palabras)) {
+                candidatos[coincidencias++] = id;
+            }
+        }
+        return Arrays.copyOf(candidatos, coincidencias);
+    }
+
+    /**
+     * Busca el texto solo entre los resultados de una búsqueda anterior. Sirve cuando el texto
+     * nuevo empieza con el anterior (el usuario siguió escribiendo): cada tarea que coincide con
+     * el texto nuevo también coincidía con el anterior.
+     *
+     * @param texto Palabras buscadas separadas por espacios
+     * @param anteriores IDs que coincidían con la búsqueda anterior, en orden ascendente
+     * @return IDs de las tareas que coinciden, en orden ascendente
+     */
+    int[] refinar(String texto, int[] anteriores) {
+        return confirmar(anteriores.clone(), palabras(texto));
+    }
+
+    /**
+     * Normaliza el texto de búsqueda igual que el texto indexado (minúsculas y sin tildes).
+     */
+    static String normalizarBusqueda(String texto) {
+        return normalizar(texto).strip();
+    }
+
+    /**
+     * Indica si la tarea contiene todas las palabras del texto, con el mismo criterio que buscar.
+     */
+    static boolean coincide(Tarea tarea, String texto) {
+        String contenido = normalizar(tarea.getNombreTarea()) + SEPARADOR + normalizar(tarea.getDescripcionTarea())
+                + SEPARADOR + normalizar(tarea.getResponsableTarea());
+        return contieneTodas(contenido, palabras(texto));
+    }
+
+    private int[] intersecar(int[] candidatos, String palabra) {
+        long[] claves = trigramas(palabra);
+        ListaIds[] listas = new ListaIds[claves.length];
+        for (int i = 0; i < claves.length; i++) {
+            listas[i] = porTrigrama.get(claves[i]);
+            if (listas[i] == null) {
+                return new int[0];
+            }
+        }
+        // Se parte de la lista más corta (o de los candidatos anteriores) y se descartan los IDs que faltan en las demás
+        Arrays.sort(listas, (a, b) -> Integer.compare(a.tamano, b.tamano));
+        int[] resultado = candidatos != null ? candidatos.clone() : Arrays.copyOf(listas[0].ids, listas[0].tamano);
+        int tamano = resultado.length;
+        for (ListaIds lista : listas) {
+            tamano = conservarComunes(resultado, tamano, lista);
+        }
+        return Arrays.copyOf(resultado, tamano);
+    }
+
+    /**
+     * Deja al inicio del arreglo los IDs que también están en la lista y devuelve cuántos son.
+     * Si la lista es mucho más larga, cada ID se busca por bisección; si no, se recorren ambas a la par.
+     */
+    private static int conservarComunes(int[] resultado, int tamano, ListaIds lista) {
+        int conservados = 0;
+        if (lista.tamano > tamano * 16L) {
+            for (int i = 0; i < tamano; i++) {
+                if (lista.contiene(resultado[i])) {
+                    resultado[conservados++] = resultado[i];
+                }
+            }
+            return conservados;
+        }
+        int j = 0;
+        for (int i = 0; i < tamano && j < lista.tamano; i++) {
+            while (j < lista.tamano && lista.ids[j] < resultado[i]) {
+                j++;
+            }
+            if (j < lista.tamano && lista.ids[j] == resultado[i]) {
+                resultado[conservados++] = resultado[i];
+            }
+        }
+        return conservados;
+    }
+
+    private static boolean contieneTodas(String contenido, String[] palabras) {
+        if (contenido == null) {
+            return false;
+        }
+        for (String palabra : palabras) {
+            if (!contenido.contains(palabra)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] palabras(String texto) {
+        return FiltroTareas.palabras(texto);
+    }
+
+    /**
+     * Trigramas distintos del texto; no se forman trigramas que crucen el separador de campos.
+     */
+    private static long[] trigramas(String texto) {
+        long[] claves = new long[Math.max(0, texto.length() - 2)];
+        int total = 0;
+        for (int i = 0; i + 2 < texto.length(); i++) {
+            char a = texto.charAt(i);
+            char b = texto.charAt(i + 1);
+            char c = texto.charAt(i + 2);
+            if (a == SEPARADOR || b == SEPARADOR || c == SEPARADOR) {
+                continue;
+            }
+            claves[total++] = ((long) a << 32) | ((long) b << 16) | c;
+        }
+        return Arrays.stream(claves, 0, total).distinct().toArray();
+    }
+
+    private static String normalizar(String texto) {
+        return FiltroTareas.normalizar(texto);
+    }
+}
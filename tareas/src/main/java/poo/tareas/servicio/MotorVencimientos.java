@@ -0,0 +1,189 @@
+package poo.tareas.servicio;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.Tarea;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Motor que detecta el vencimiento de cada tarea en el momento exacto en que ocurre,
+ * sin recorrer periódicamente las tareas.
+ *
+ * Cada tarea no completada con fecha de finalización tiene una entrada en una DelayQueue
+ * que expira al inicio del día de su fecha de finalización, que es cuando la tarea empieza a
+ * considerarse vencida (el mismo criterio de la consulta de tareas vencidas). Un hilo de fondo
+ * espera la siguiente entrada que expira y entrega las tareas vencidas a NotificacionService.
+ *
+ * Las entradas se crean al cargar el índice de tareas y se actualizan con cada cambio del
+ * índice. Cuando una tarea cambia de fecha, se completa o se elimina, su entrada anterior no
+ * se saca de la cola: queda obsoleta y se descarta al expirar, porque ya no coincide con el
+ * instante registrado para la tarea.
+ */
+@Component
+public class MotorVencimientos implements TareaIndex.OyenteCambios {
+    // Logger para registrar la actividad del motor
+    private static final Logger logger = LoggerFactory.getLogger(MotorVencimientos.class);
+
+    @Autowired
+    private TareaIndex tareaIndex;
+
+    @Autowired
+    private NotificacionService notificacionService;
+
+    /**
+     * Entrada de la cola: una tarea y el instante en que vence.
+     */
+    private record Vencimiento(Integer idTarea, long instante) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unidad) {
+            return unidad.convert(instante - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed otro) {
+            return Long.compare(instante, ((Vencimiento) otro).instante);
+        }
+    }
+
+    private final DelayQueue<Vencimiento> cola = new DelayQueue<>();
+
+    // Instante de vencimiento vigente de cada tarea programada (vencida o no)
+    private final Map<Integer, Long> instantes = new HashMap<>();
+
+    private Thread hilo;
+
+    /**
+     * Se registra como oyente del índice y arranca el hilo que espera los vencimientos.
+     */
+    @PostConstruct
+    public void iniciar() {
+        tareaIndex.agregarOyente(this);
+        hilo = new Thread(this::esperarVencimientos, "motor-vencimientos");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Detiene el hilo del motor al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void detener() {
+        hilo.interrupt();
+    }
+
+    /**
+     * Programa todas las tareas del índice. Las notificaciones se reconstruyen desde cero:
+     * las tareas que ya están vencidas expiran de inmediato.
+     */
+    @Override
+    public void tareasCargadas() {
+        List<Tarea> tareas = tareaIndex.listarTodas();
+        notificacionService.limpiarVencimientos();
+        synchronized (this) {
+            cola.clear();
+            instantes.clear();
+            for (Tarea tarea : tareas) {
+                Long instante = instanteVencimiento(tarea);
+                if (instante != null) {
+                    programar(tarea.getIdTarea(), instante);
+                }
+            }
+        }
+        logger.info("Motor de vencimientos iniciado con {} tareas programadas", cola.size());
+    }
+
+    /**
+     * Vuelve a programar una tarea guardada o eliminada. Si deja de estar vencida (se completó,
+     * se eliminó o su fecha se movió al futuro) se quita de las notificaciones.
+     */
+    @Override
+    public void tareaModificada(Integer idTarea) {
+        boolean descartar;
+        synchronized (this) {
+            Tarea tarea = tareaIndex.buscarPorId(idTarea);
+            Long instante = tarea != null ? instanteVencimiento(tarea) : null;
+            Long anterior = instantes.get(idTarea);
+            if (instante == null) {
+                instantes.remove(idTarea);
+                descartar = anterior != null;
+            } else if (instante.equals(anterior)) {
+                // La fecha de vencimiento no cambió; la entrada actual sigue siendo válida
+                return;
+            } else {
+                programar(idTarea, instante);
+                descartar = instante > System.currentTimeMillis();
+            }
+        }
+        if (descartar) {
+            notificacionService.descartarVencimiento(idTarea);
+        }
+    }
+
+    /**
+     * Bucle del hilo del motor: espera la siguiente entrada que expira, junta las demás que
+     * ya expiraron y entrega las tareas vigentes a NotificacionService.
+     */
+    private void esperarVencimientos() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Vencimiento> expiradas = new ArrayList<>();
+                expiradas.add(cola.take());
+                cola.drainTo(expiradas);
+
+                List<Tarea> vencidas = new ArrayList<>();
+                synchronized (this) {
+                    for (Vencimiento vencimiento : expiradas) {
+                        // Se ignoran las entradas obsoletas (la tarea cambió o ya no existe)
+                        if (Long.valueOf(vencimiento.instante()).equals(instantes.get(vencimiento.idTarea()))) {
+                            Tarea tarea = tareaIndex.buscarPorId(vencimiento.idTarea());
+                            if (tarea != null) {
+                                vencidas.add(tarea);
+                            }
+                        }
+                    }
+                }
+                if (!vencidas.isEmpty()) {
+                    notificacionService.registrarVencimientos(vencidas);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.error("Error al procesar vencimientos de tareas", e);
+            }
+        }
+    }
+
+    private void programar(Integer idTarea, long instante) {
+        instantes.put(idTarea, instante);
+        cola.add(new Vencimiento(idTarea, instante));
+    }
+
+    /**
+     * Calcula el instante en que vence una tarea: el inicio del día de su fecha de finalización.
+     *
+     * @return El instante en milisegundos, o null si la tarea está completada o no tiene fecha
+     */
+    private static Long instanteVencimiento(Tarea tarea) {
+        Date fechaFin = tarea.getFechaFinTarea();
+        if (fechaFin == null || tarea.getEstadoTarea() == EstadoTarea.COMPLETADA) {
+            return null;
+        }
+        ZoneId zona = ZoneId.systemDefault();
+        return Instant.ofEpochMilli(fechaFin.getTime()).atZone(zona).toLocalDate().atStartOfDay(zona).toInstant().toEpochMilli();
+    }
+}
@@ -1,22 +1,29 @@
 package poo.tareas.servicio;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import poo.tareas.modelo.PrioridadTarea;
 import poo.tareas.modelo.Tarea;
 
-import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio encargado de verificar tareas vencidas y notificar al usuario.
  * Mantiene un registro de tareas vencidas y proporciona métodos para
  * verificar si hay notificaciones pendientes.
+ * 
+ * Las tareas vencidas no se buscan periódicamente: MotorVencimientos entrega cada tarea
+ * en el momento en que vence y avisa cuando una tarea deja de estar vencida (se completó,
+ * se eliminó o cambió su fecha), de modo que la lista siempre está al día.
  */
 @Service
 public class NotificacionService {
@@ -27,114 +34,158 @@ public class NotificacionService {
     @Autowired
     private tareaServicio tareaServicio;
     
-    // Lista para almacenar las tareas vencidas que no han sido notificadas
-    private List<Tarea> tareasVencidasSinNotificar = new ArrayList<>();
+    // Registro de métricas: tareas vencidas detectadas y notificaciones pendientes
+    @Autowired
+    private MeterRegistry registro;
+    
+    // Tareas vencidas que no han sido notificadas, indexadas por ID y en orden de llegada
+    private final Map<Integer, Tarea> tareasVencidasSinNotificar = new LinkedHashMap<>();
+    
+    // Tareas vencidas nuevas desde la última verificación manual
+    private int nuevasDesdeUltimaVerificacion = 0;
     
     // Bandera para indicar si hay notificaciones nuevas
     private boolean hayNotificacionesNuevas = false;
     
+    // Se incrementa cada vez que cambia la lista de notificaciones o la bandera
+    private volatile long version = 0;
+    
+    /**
+     * Publica el número de notificaciones pendientes como métrica.
+     */
+    @PostConstruct
+    void registrarMetricas() {
+        Gauge.builder("tareas.notificaciones.pendientes", this, NotificacionService::getNumeroNotificaciones)
+                .description("Tareas vencidas pendientes de notificación")
+                .register(registro);
+    }
+    
     /**
-     * Verifica diariamente si hay tareas vencidas y las marca para notificación.
-     * Se ejecuta automáticamente cada día a la medianoche.
+     * Registra tareas que acaban de vencer. Lo llama MotorVencimientos cuando llega la fecha
+     * de finalización de las tareas.
+     * Las tareas vencidas pasan a prioridad Alta con tareaServicio.actualizarPrioridades, que
+     * solo escribe esa columna. Las tareas se agregan a la lista de notificaciones después de
+     * confirmar el cambio: si falla, no quedan marcadas y el barrido nocturno las vuelve a tomar.
+     * 
+     * @param tareas Tareas que vencieron
      */
-    @Scheduled(cron = "0 0 0 * * ?") // Ejecutar a las 00:00 todos los días
-    public void verificarTareasVencidas() {
-        logger.info("Verificando tareas vencidas...");
-        
-        // Obtener todas las tareas
-        List<Tarea> tareas = tareaServicio.listarTareas();
-        LocalDate hoy = LocalDate.now();
-        
+    public void registrarVencimientos(List<Tarea> tareas) {
+        // Tareas que aún no están en la lista de notificaciones
+        List<Tarea> nuevas = new ArrayList<>();
+        Map<Integer, PrioridadTarea> prioridades = new HashMap<>();
+        synchronized (this) {
+            for (Tarea tarea : tareas) {
+                if (contieneTarea(tareasVencidasSinNotificar, tarea.getIdTarea())) {
+                    continue;
+                }
+                nuevas.add(tarea);
+                if (tarea.getPrioridadTarea() != PrioridadTarea.ALTA) {
+                    prioridades.put(tarea.getIdTarea(), PrioridadTarea.ALTA);
+                }
+            }
+        }
+        if (nuevas.isEmpty()) {
+            return;
+        }
+        // El cambio se hace fuera del bloque sincronizado porque avisa al motor de vencimientos
+        if (!prioridades.isEmpty()) {
+            for (Integer idTarea : tareaServicio.actualizarPrioridades(prioridades)) {
+                logger.info("Tarea ID {}: Cambiada a prioridad ALTA por vencimiento", idTarea);
+            }
+        }
         int nuevasVencidas = 0;
-        
-        for (Tarea tarea : tareas) {
-            // Solo considerar tareas que no estén completadas
-            if (!"Completada".equals(tarea.getEstadoTarea())) {
-                Date fechaFin = tarea.getFechaFinTarea();
-                
-                if (fechaFin != null) {
-                    // Convertir a LocalDate para facilitar comparación
-                    LocalDate fechaFinLD = fechaFin.toInstant()
-                                          .atZone(ZoneId.systemDefault())
-                                          .toLocalDate();
-                    
-                    // Verificar si la fecha de fin ha pasado
-                    if (fechaFinLD.isBefore(hoy) || fechaFinLD.isEqual(hoy)) {
-                        // Verificar si esta tarea ya está en nuestra lista de notificación
-                        if (!contieneTarea(tareasVencidasSinNotificar, tarea.getIdTarea())) {
-                            // Actualizar prioridad a "Alta" si está vencida
-                            if (!"Alta".equals(tarea.getPrioridadTarea())) {
-                                tarea.setPrioridadTarea("Alta");
-                                tareaServicio.guardarTarea(tarea);
-                                logger.info("Tarea ID {}: Cambiada a prioridad ALTA por vencimiento", tarea.getIdTarea());
-                            }
-                            
-                            // Agregar a la lista de notificaciones
-                            tareasVencidasSinNotificar.add(tarea);
-                            nuevasVencidas++;
-                        }
-                    }
+        synchronized (this) {
+            for (Tarea tarea : nuevas) {
+                // Otro hilo (el barrido nocturno) pudo agregarla mientras tanto
+                if (contieneTarea(tareasVencidasSinNotificar, tarea.getIdTarea())) {
+                    continue;
                 }
+                tarea.setPrioridadTarea(PrioridadTarea.ALTA);
+                tareasVencidasSinNotificar.put(tarea.getIdTarea(), tarea);
+                nuevasVencidas++;
+            }
+            // Si hay nuevas tareas vencidas, activar la bandera de notificación
+            if (nuevasVencidas > 0) {
+                nuevasDesdeUltimaVerificacion += nuevasVencidas;
+                hayNotificacionesNuevas = true;
+                version++;
+                logger.info("Se encontraron {} nuevas tareas vencidas para notificar", nuevasVencidas);
             }
         }
-        
-        // Si hay nuevas tareas vencidas, activar la bandera de notificación
+        registro.counter("tareas.notificaciones.vencidas").increment(nuevasVencidas);
+    }
+    
+    /**
+     * Reemplaza la lista de notificaciones por el conjunto completo de tareas vencidas.
+     * Lo llama el barrido nocturno para conciliar la lista con el estado de todas las tareas;
+     * las tareas que ya no están vencidas dejan de notificarse.
+     * 
+     * @param vencidas Todas las tareas vencidas
+     * @return Número de tareas vencidas que no estaban en la lista
+     */
+    public synchronized int publicarVencidas(List<Tarea> vencidas) {
+        Map<Integer, Tarea> nuevaLista = new LinkedHashMap<>();
+        int nuevasVencidas = 0;
+        for (Tarea tarea : vencidas) {
+            if (!contieneTarea(tareasVencidasSinNotificar, tarea.getIdTarea())) {
+                nuevasVencidas++;
+            }
+            nuevaLista.put(tarea.getIdTarea(), tarea);
+        }
+        tareasVencidasSinNotificar.clear();
+        tareasVencidasSinNotificar.putAll(nuevaLista);
+        version++;
         if (nuevasVencidas > 0) {
+            nuevasDesdeUltimaVerificacion += nuevasVencidas;
             hayNotificacionesNuevas = true;
-            logger.info("Se encontraron {} nuevas tareas vencidas para notificar", nuevasVencidas);
         }
+        registro.counter("tareas.notificaciones.vencidas").increment(nuevasVencidas);
+        return nuevasVencidas;
     }
     
     /**
-     * Verifica si una tarea ya está en la lista de tareas vencidas.
+     * Quita de las notificaciones una tarea que dejó de estar vencida.
+     * Lo llama MotorVencimientos cuando la tarea se completa, se elimina o cambia su fecha.
+     * 
+     * @param idTarea El ID de la tarea
      */
-    private boolean contieneTarea(List<Tarea> lista, Integer idTarea) {
-        for (Tarea t : lista) {
-            if (t.getIdTarea().equals(idTarea)) {
-                return true;
-            }
+    public synchronized void descartarVencimiento(Integer idTarea) {
+        if (tareasVencidasSinNotificar.remove(idTarea) != null) {
+            version++;
         }
-        return false;
+    }
+    
+    /**
+     * Vacía la lista de notificaciones antes de que MotorVencimientos vuelva a programar
+     * todas las tareas (al cargar o recargar el índice de tareas).
+     */
+    public synchronized void limpiarVencimientos() {
+        tareasVencidasSinNotificar.clear();
+        nuevasDesdeUltimaVerificacion = 0;
+        version++;
+    }
+    
+    /**
+     * Verifica si una tarea ya está en la lista de tareas vencidas.
+     */
+    private boolean contieneTarea(Map<Integer, Tarea> tareas, Integer idTarea) {
+        return tareas.containsKey(idTarea);
     }
     
     /**
      * Método para verificar manualmente si hay tareas vencidas.
      * Este método puede ser llamado desde el controlador en cualquier momento.
      * 
-     * @return El número de tareas vencidas encontradas
+     * No recorre las tareas: la lista de notificaciones ya está al día gracias a
+     * MotorVencimientos, así que solo informa cuántas tareas vencieron desde la
+     * verificación anterior.
+     * 
+     * @return El número de tareas vencidas nuevas encontradas
      */
-    public int verificarTareasVencidasManual() {
-        logger.info("Verificando tareas vencidas manualmente...");
-        List<Tarea> tareas = tareaServicio.listarTareas();
-        LocalDate hoy = LocalDate.now();
-        int tareasActualizadas = 0;
-        for (Tarea tarea : tareas) {
-            if (!"Completada".equals(tarea.getEstadoTarea())) {
-                Date fechaFin = tarea.getFechaFinTarea();
-                if (fechaFin != null) {
-                    LocalDate fechaFinLD = fechaFin.toInstant()
-                                          .atZone(ZoneId.systemDefault())
-                                          .toLocalDate();
-                    if (fechaFinLD.isBefore(hoy) || fechaFinLD.isEqual(hoy)) {
-                        // Cambiar prioridad a Alta si está vencida
-                        if (!"Alta".equals(tarea.getPrioridadTarea())) {
-                            tarea.setPrioridadTarea("Alta");
-                            tareaServicio.guardarTarea(tarea);
-                            tareasActualizadas++;
-                        }
-                        // Agregar a las notificaciones si no está ya
-                        if (!contieneTarea(tareasVencidasSinNotificar, tarea.getIdTarea())) {
-                            tareasVencidasSinNotificar.add(tarea);
-                        }
-                    }
-                }
-            }
-        }
-        if (tareasActualizadas > 0) {
-            hayNotificacionesNuevas = true;
-        }
-        logger.info("Verificación manual completada. {} tareas actualizadas", tareasActualizadas);
-        return tareasActualizadas;
+    public synchronized int verificarTareasVencidasManual() {
+        int nuevasVencidas = nuevasDesdeUltimaVerificacion;
+        nuevasDesdeUltimaVerificacion = 0;
+        return nuevasVencidas;
     }
     
     /**
@@ -142,35 +193,16 @@ public class NotificacionService {
      * 
      * @return Lista de tareas vencidas sin notificar
      */
-    public List<Tarea> getTareasVencidasSinNotificar() {
-        // Si la lista está vacía, reconstruirla desde la base de datos
-        if (tareasVencidasSinNotificar.isEmpty()) {
-            List<Tarea> tareas = tareaServicio.listarTareas();
-            LocalDate hoy = LocalDate.now();
-            for (Tarea tarea : tareas) {
-                if (!"Completada".equals(tarea.getEstadoTarea())) {
-                    Date fechaFin = tarea.getFechaFinTarea();
-                    if (fechaFin != null) {
-                        LocalDate fechaFinLD = fechaFin.toInstant()
-                                .atZone(ZoneId.systemDefault())
-                                .toLocalDate();
-                        if (fechaFinLD.isBefore(hoy) || fechaFinLD.isEqual(hoy)) {
-                            if (!contieneTarea(tareasVencidasSinNotificar, tarea.getIdTarea())) {
-                                tareasVencidasSinNotificar.add(tarea);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return new ArrayList<>(tareasVencidasSinNotificar);
+    public synchronized List<Tarea> getTareasVencidasSinNotificar() {
+        return new ArrayList<>(tareasVencidasSinNotificar.values());
     }
     
     /**
      * Marca todas las notificaciones como vistas.
      */
-    public void marcarNotificacionesComoVistas() {
+    public synchronized void marcarNotificacionesComoVistas() {
         hayNotificacionesNuevas = false;
+        version++;
     }
     
     /**
@@ -178,8 +210,20 @@ public class NotificacionService {
      * 
      * @param idTarea El ID de la tarea a eliminar de las notificaciones
      */
-    public void eliminarNotificacion(Integer idTarea) {
-        tareasVencidasSinNotificar.removeIf(t -> t.getIdTarea().equals(idTarea));
+    public synchronized void eliminarNotificacion(Integer idTarea) {
+        tareasVencidasSinNotificar.remove(idTarea);
+        version++;
+    }
+    
+    /**
+     * Obtiene la versión de las notificaciones, que cambia cada vez que cambia la lista de
+     * tareas vencidas o la bandera de notificaciones nuevas. Permite a la interfaz saber si
+     * debe actualizarse sin copiar la lista.
+     * 
+     * @return La versión actual
+     */
+    public long getVersion() {
+        return version;
     }
     
     /**
@@ -187,7 +231,7 @@ public class NotificacionService {
      * 
      * @return true si hay notificaciones sin ver, false de lo contrario
      */
-    public boolean hayNotificacionesNuevas() {
+    public synchronized boolean hayNotificacionesNuevas() {
         return hayNotificacionesNuevas;
     }
     
@@ -196,7 +240,7 @@ public class NotificacionService {
      * 
      * @return El número de tareas vencidas pendientes de notificación
      */
-    public int getNumeroNotificaciones() {
+    public synchronized int getNumeroNotificaciones() {
         return tareasVencidasSinNotificar.size();
     }
 } 
\ No newline at end of file
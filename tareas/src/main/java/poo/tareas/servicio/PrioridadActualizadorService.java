@@ -1,15 +1,20 @@
 package poo.tareas.servicio;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.PrioridadTarea;
 import poo.tareas.modelo.Tarea;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -17,8 +22,14 @@ import java.util.List;
  * Servicio encargado de actualizar automáticamente las prioridades de las tareas
  * según la proximidad a su fecha de finalización.
  * 
- * Este servicio implementa tanto actualizaciones programadas (cada día a medianoche)
- * como un método para ejecutar actualizaciones manualmente.
+ * Este servicio implementa la actualización manual de prioridades y las reglas de cálculo;
+ * la actualización programada de medianoche la realiza BarridoNocturnoService junto con
+ * la detección de tareas vencidas.
+ * 
+ * El recálculo tiene dos modos, configurables con la propiedad
+ * {@code tareas.prioridades.recalculo}:
+ * - sql (por defecto): una sola sentencia UPDATE con CASE sobre la fecha de finalización
+ * - entidad: recorre las tareas del índice en memoria y guarda en lote las que cambian
  */
 @Service // Anotación que marca esta clase como un servicio de Spring
 public class PrioridadActualizadorService {
@@ -29,69 +40,134 @@ public class PrioridadActualizadorService {
     @Autowired
     private tareaServicio tareaServicio;
     
+    // Índice en memoria de las tareas, usado por el modo entidad
+    @Autowired
+    private TareaIndex tareaIndex;
+    
+    // Modo de recálculo: "sql" (sentencia masiva) o "entidad" (tarea por tarea)
+    @Value("${tareas.prioridades.recalculo:sql}")
+    private String modoRecalculo;
+    
+    // Registro de métricas, donde se cuentan las prioridades actualizadas
+    @Autowired
+    private MeterRegistry registro;
+    
     /**
-     * Actualiza las prioridades de las tareas según la cercanía a la fecha de finalización.
+     * Calcula la prioridad que corresponde a una tarea según los días que faltan
+     * para su fecha de finalización.
      * - Prioridad Alta: 1 día o menos para la fecha de finalización
      * - Prioridad Media: 3 días o menos para la fecha de finalización
      * - Prioridad Baja: más de 3 días para la fecha de finalización
      * 
-     * Este método se ejecuta automáticamente cada día a la medianoche.
+     * @param diasHastaFin Días desde hoy hasta la fecha de finalización (negativo si ya pasó)
+     * @return La prioridad correspondiente
      */
-    @Scheduled(cron = "0 0 0 * * ?") // Expresión cron: segundos minutos horas día-del-mes mes día-de-la-semana
-    public void actualizarPrioridades() {
-        // Registra el inicio del proceso en los logs
-        logger.info("Iniciando actualización automática de prioridades de tareas");
-        
-        // Se obtiene todas las tareas de la base de datos
-        List<Tarea> tareas = tareaServicio.listarTareas();
+    static PrioridadTarea calcularPrioridad(long diasHastaFin) {
+        if (diasHastaFin <= 1) {
+            // Si queda 1 día o menos (urgente)
+            return PrioridadTarea.ALTA;
+        } else if (diasHastaFin <= 3) {
+            // Si quedan entre 2 y 3 días
+            return PrioridadTarea.MEDIA;
+        }
+        // Si quedan más de 3 días
+        return PrioridadTarea.BAJA;
+    }
+    
+    /**
+     * Calcula los días que faltan desde hoy hasta la fecha de finalización.
+     * 
+     * @param fechaFin Fecha de finalización de la tarea
+     * @param hoy Fecha de referencia
+     * @return Días restantes (negativo si la fecha ya pasó)
+     */
+    static long diasHastaFin(Date fechaFin, LocalDate hoy) {
+        // Se convierte la fecha de tipo Date a LocalDate para facilitar cálculos
+        LocalDate fechaFinLD = Instant.ofEpochMilli(fechaFin.getTime())
+                                .atZone(ZoneId.systemDefault())
+                                .toLocalDate();
+        return ChronoUnit.DAYS.between(hoy, fechaFinLD);
+    }
+    
+    /**
+     * Método para actualizar manualmente las prioridades.
+     * Puede ser llamado desde el controlador cuando un usuario solicita
+     * actualizar las prioridades fuera del horario programado.
+     * 
+     * @return Número de tareas cuya prioridad fue actualizada
+     */
+    public int actualizarPrioridadesManual() {
+        logger.info("Iniciando actualización manual de prioridades de tareas");
+        int tareasActualizadas = recalcular();
+        registro.counter("tareas.prioridades.actualizadas", "origen", "manual").increment(tareasActualizadas);
+        logger.info("Actualización manual de prioridades completada. {} tareas actualizadas", tareasActualizadas);
+        return tareasActualizadas; // Retorna el conteo para informar al controlador
+    }
+    
+    /**
+     * Ejecuta el recálculo según el modo configurado.
+     * 
+     * @return Número de tareas cuya prioridad fue actualizada
+     */
+    private int recalcular() {
+        if ("entidad".equalsIgnoreCase(modoRecalculo)) {
+            return actualizarPrioridadesPorEntidad();
+        }
+        return actualizarPrioridadesPorSql();
+    }
+    
+    /**
+     * Recalcula las prioridades en la base de datos con una sentencia masiva.
+     * Solo se modifican las filas cuya prioridad cambia, en una única transacción.
+     * 
+     * @return Número de tareas cuya prioridad fue actualizada
+     */
+    public int actualizarPrioridadesPorSql() {
+        return tareaServicio.recalcularPrioridades(LocalDate.now());
+    }
+    
+    /**
+     * Recalcula las prioridades recorriendo las tareas del índice en memoria y calculando
+     * en Java la nueva prioridad de cada una; las que cambian se guardan juntas en una transacción por lotes.
+     * Es el modo original; se mantiene como alternativa y como referencia para comparar
+     * el rendimiento con el modo SQL.
+     * 
+     * @return Número de tareas cuya prioridad fue actualizada
+     */
+    public int actualizarPrioridadesPorEntidad() {
+        // Se obtienen todas las tareas del índice en memoria, sin consultar la base de datos
+        List<Tarea> tareas = tareaIndex.listarTodas();
         
         // Se obtiene la fecha actual para calcular los días restantes
         LocalDate hoy = LocalDate.now();
         
-        // Contador para registrar cuántas tareas fueron modificadas
-        int tareasActualizadas = 0;
+        // Tareas cuya prioridad cambia; se guardan todas juntas al final
+        List<Tarea> tareasModificadas = new ArrayList<>();
         
         // Se itera sobre cada tarea para evaluar y actualizar su prioridad
         for (Tarea tarea : tareas) {
             // Solo procesamos tareas que no estén completadas
-            if (!"Completada".equals(tarea.getEstadoTarea())) {
+            if (tarea.getEstadoTarea() != EstadoTarea.COMPLETADA) {
                 // Se obtiene la fecha de finalización de la tarea
                 Date fechaFin = tarea.getFechaFinTarea();
                 
                 // Se verifica que la tarea tenga una fecha de finalización válida
                 if (fechaFin != null) {
-                    // Se convierte la fecha de tipo Date a LocalDate para facilitar cálculos
-                    LocalDate fechaFinLD = fechaFin.toInstant()
-                                            .atZone(ZoneId.systemDefault())
-                                            .toLocalDate();
-                    
                     // Se calculan los días que faltan hasta la fecha límite
-                    long diasHastaFin = ChronoUnit.DAYS.between(hoy, fechaFinLD);
+                    long diasHastaFin = diasHastaFin(fechaFin, hoy);
                     
                     // Se guarda la prioridad actual para comparar después
-                    String prioridadOriginal = tarea.getPrioridadTarea();
-                    String nuevaPrioridad = prioridadOriginal;
+                    PrioridadTarea prioridadOriginal = tarea.getPrioridadTarea();
                     
                     // Se determina la nueva prioridad según los días restantes
-                    if (diasHastaFin <= 1) {
-                        // Si queda 1 día o menos (urgente)
-                        nuevaPrioridad = "Alta";
-                    } else if (diasHastaFin <= 3) {
-                        // Si quedan entre 2 y 3 días
-                        nuevaPrioridad = "Media";
-                    } else {
-                        // Si quedan más de 3 días
-                        nuevaPrioridad = "Baja";
-                    }
+                    PrioridadTarea nuevaPrioridad = calcularPrioridad(diasHastaFin);
                     
                     // Se actualiza la prioridad solo si es necesario (optimización)
-                    if (!nuevaPrioridad.equals(prioridadOriginal)) {
+                    if (nuevaPrioridad != prioridadOriginal) {
                         // Se actualiza el valor en el objeto
                         tarea.setPrioridadTarea(nuevaPrioridad);
-                        // Se guardan los cambios en la base de datos
-                        tareaServicio.guardarTarea(tarea);
-                        // Se incrementa el contador de tareas actualizadas
-                        tareasActualizadas++;
+                        // Se agrega a las tareas que se guardarán en lote
+                        tareasModificadas.add(tarea);
                         // Se registra el cambio en el log para seguimiento
                         logger.info("Tarea ID {}: Prioridad cambiada de {} a {} (Días restantes: {})", 
                                 tarea.getIdTarea(), prioridadOriginal, nuevaPrioridad, diasHastaFin);
@@ -100,69 +176,10 @@ public class PrioridadActualizadorService {
             }
         }
         
-        // Se registra la finalización del proceso y el número de tareas afectadas
-        logger.info("Actualización de prioridades completada. {} tareas actualizadas", tareasActualizadas);
-    }
-    
-    /**
-     * Método para actualizar manualmente las prioridades.
-     * Puede ser llamado desde el controlador cuando un usuario solicita
-     * actualizar las prioridades fuera del horario programado.
-     * 
-     * @return Número de tareas cuya prioridad fue actualizada
-     */
-    public int actualizarPrioridadesManual() {
-        // Este método replica la lógica del método automático pero puede ser invocado manualmente
-        logger.info("Iniciando actualización manual de prioridades de tareas");
-        
-        // Se obtiene la lista completa de tareas
-        List<Tarea> tareas = tareaServicio.listarTareas();
-        // Se obtiene la fecha actual
-        LocalDate hoy = LocalDate.now();
-        // Contador de tareas actualizadas
-        int tareasActualizadas = 0;
-        
-        // Se recorre cada tarea para evaluar su prioridad
-        for (Tarea tarea : tareas) {
-            // Solo procesamos tareas no completadas
-            if (!"Completada".equals(tarea.getEstadoTarea())) {
-                Date fechaFin = tarea.getFechaFinTarea();
-                if (fechaFin != null) {
-                    // Se convierte la fecha a LocalDate para facilitar cálculos
-                    LocalDate fechaFinLD = fechaFin.toInstant()
-                                            .atZone(ZoneId.systemDefault())
-                                            .toLocalDate();
-                    
-                    // Se calculan los días restantes hasta la fecha límite
-                    long diasHastaFin = ChronoUnit.DAYS.between(hoy, fechaFinLD);
-                    
-                    // Se almacena la prioridad actual
-                    String prioridadOriginal = tarea.getPrioridadTarea();
-                    String nuevaPrioridad = prioridadOriginal;
-                    
-                    // Se aplica la misma lógica de priorización según los días restantes
-                    if (diasHastaFin <= 1) {
-                        nuevaPrioridad = "Alta";
-                    } else if (diasHastaFin <= 3) {
-                        nuevaPrioridad = "Media";
-                    } else {
-                        nuevaPrioridad = "Baja";
-                    }
-                    
-                    // Se actualiza solo si hay cambio en la prioridad
-                    if (!nuevaPrioridad.equals(prioridadOriginal)) {
-                        tarea.setPrioridadTarea(nuevaPrioridad);
-                        tareaServicio.guardarTarea(tarea);
-                        tareasActualizadas++;
-                        logger.info("Tarea ID {}: Prioridad cambiada de {} a {} (Días restantes: {})", 
-                                tarea.getIdTarea(), prioridadOriginal, nuevaPrioridad, diasHastaFin);
-                    }
-                }
-            }
+        // Se guardan todos los cambios en una sola transacción con sentencias por lotes
+        if (!tareasModificadas.isEmpty()) {
+            tareaServicio.guardarTareas(tareasModificadas);
         }
-        
-        // Se registra la finalización y se retorna el número de tareas actualizadas
-        logger.info("Actualización manual de prioridades completada. {} tareas actualizadas", tareasActualizadas);
-        return tareasActualizadas; // Retorna el conteo para informar al controlador
+        return tareasModificadas.size();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,141 @@
+package poo.tareas.servicio;
+
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.Tarea;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Reloj compartido que conoce el día actual y calcula el plazo de cada tarea (días restantes
+ * y si está vencida) una sola vez por día.
+ *
+ * El día se guarda junto con el instante en que termina, de modo que consultar la fecha de hoy
+ * es solo una comparación con el reloj del sistema. Los plazos se guardan por ID de tarea y se
+ * vuelven a calcular si cambia la fecha de finalización o el estado de la tarea. Al pasar la
+ * medianoche se descartan todos los plazos y se avisa a los oyentes (por ejemplo, para volver
+ * a pintar las tablas).
+ */
+@Component
+public class RelojDiario {
+    // Logger para registrar el cambio de día
+    private static final Logger logger = LoggerFactory.getLogger(RelojDiario.class);
+
+    /**
+     * Plazo de una tarea respecto al día actual.
+     *
+     * @param diasRestantes Días desde hoy hasta la fecha de finalización (negativo si ya pasó)
+     * @param vencida Indica si la tarea no está completada y su fecha de finalización es hoy o anterior
+     */
+    public record Plazo(long diasRestantes, boolean vencida) {
+    }
+
+    /**
+     * Día actual y el instante (en milisegundos) en que empieza el día siguiente.
+     */
+    private record Dia(LocalDate fecha, long finMillis) {
+    }
+
+    /**
+     * Plazo calculado junto con el día y los datos de la tarea de los que depende.
+     */
+    private record Entrada(Dia dia, long fechaFinMillis, boolean completada, Plazo plazo) {
+    }
+
+    private final ZoneId zona = ZoneId.systemDefault();
+    private volatile Dia dia = calcularDia();
+    private final Map<Integer, Entrada> plazos = new ConcurrentHashMap<>();
+    private final List<Consumer<LocalDate>> oyentes = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registra un oyente que se llama con la nueva fecha cada vez que cambia el día,
+     * desde el hilo que detecta el cambio.
+     *
+     * @param oyente Oyente del cambio de día
+     */
+    public void agregarOyente(Consumer<LocalDate> oyente) {
+        oyentes.add(oyente);
+    }
+
+    /**
+     * Obtiene la fecha de hoy sin consultar la zona horaria en cada llamada.
+     *
+     * @return La fecha actual
+     */
+    public LocalDate hoy() {
+        return diaActual().fecha();
+    }
+
+    /**
+     * Obtiene el plazo de una tarea: se calcula la primera vez que se pide en el día y luego se
+     * reutiliza mientras la tarea conserve su fecha de finalización y su estado.
+     *
+     * @param tarea Tarea con ID
+     * @return El plazo de la tarea, o null si no tiene fecha de finalización
+     */
+    public Plazo plazo(Tarea tarea) {
+        Date fechaFin = tarea.getFechaFinTarea();
+        if (fechaFin == null) {
+            return null;
+        }
+        Dia actual = diaActual();
+        boolean completada = tarea.getEstadoTarea() == EstadoTarea.COMPLETADA;
+        Entrada entrada = tarea.getIdTarea() != null ? plazos.get(tarea.getIdTarea()) : null;
+        if (entrada == null || entrada.dia() != actual
+                || entrada.fechaFinMillis() != fechaFin.getTime() || entrada.completada() != completada) {
+            LocalDate fechaFinLD = Instant.ofEpochMilli(fechaFin.getTime()).atZone(zona).toLocalDate();
+            long diasRestantes = ChronoUnit.DAYS.between(actual.fecha(), fechaFinLD);
+            entrada = new Entrada(actual, fechaFin.getTime(), completada, new Plazo(diasRestantes, !completada && diasRestantes <= 0));
+            if (tarea.getIdTarea() != null) {
+                plazos.put(tarea.getIdTarea(), entrada);
+            }
+        }
+        return entrada.plazo();
+    }
+
+    /**
+     * Verifica a medianoche si cambió el día, para avisar a los oyentes aunque nadie consulte
+     * el reloj. El cambio también se detecta al consultar la fecha o un plazo.
+     */
+    @Scheduled(cron = "0 0 0 * * ?")
+    @Timed(value = "tareas.programadas", description = "Tareas programadas")
+    public void verificarCambioDeDia() {
+        diaActual();
+    }
+
+    private Dia diaActual() {
+        Dia actual = dia;
+        if (System.currentTimeMillis() < actual.finMillis()) {
+            return actual;
+        }
+        synchronized (this) {
+            if (dia == actual) {
+                dia = calcularDia();
+                plazos.clear();
+                logger.info("Cambio de día: {}", dia.fecha());
+                for (Consumer<LocalDate> oyente : oyentes) {
+                    oyente.accept(dia.fecha());
+                }
+            }
+            return dia;
+        }
+    }
+
+    private Dia calcularDia() {
+        LocalDate hoy = LocalDate.now(zona);
+        return new Dia(hoy, hoy.plusDays(1).atStartOfDay(zona).toInstant().toEpochMilli());
+    }
+}
@@ -0,0 +1,14 @@
+package poo.tareas.servicio;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación de tareas desde un archivo.
+ *
+ * @param importadas Número de tareas guardadas en la base de datos
+ * @param rechazadas Número de filas descartadas por no pasar la validación
+ * @param errores Descripción de las primeras filas rechazadas (la lista está limitada)
+ * @param cancelada Indica si el usuario canceló la importación antes de terminar
+ */
+public record ResultadoImportacion(long importadas, long rechazadas, List<String> errores, boolean cancelada) {
+}
@@ -0,0 +1,158 @@
+package poo.tareas.servicio;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio que resume periódicamente en una línea del log las métricas de la aplicación:
+ * - los tiempos de los métodos medidos (métricas "tareas.*"), con el número de llamadas y los
+ *   percentiles 50, 95 y 99 configurados en management.metrics.distribution.percentiles
+ * - el estado del pool de conexiones HikariCP
+ * - las estadísticas de Hibernate: consultas ejecutadas, las más lentas y los aciertos de la caché
+ *
+ * Las mismas métricas se pueden consultar en detalle por JMX (ver MetricasConfiguracion).
+ */
+@Service
+public class ResumenMetricasService {
+    // Logger donde se escribe el resumen
+    private static final Logger logger = LoggerFactory.getLogger(ResumenMetricasService.class);
+
+    // Prefijo de las métricas propias de la aplicación
+    private static final String PREFIJO = "tareas.";
+
+    // Número de consultas lentas que se muestran y largo máximo de cada una
+    private static final int CONSULTAS_LENTAS = 3;
+    private static final int LARGO_CONSULTA = 80;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Escribe el resumen en el log con el intervalo configurado en la propiedad
+     * tareas.metricas.intervalo-log.
+     */
+    @Scheduled(fixedRateString = "${tareas.metricas.intervalo-log:PT5M}",
+               initialDelayString = "${tareas.metricas.intervalo-log:PT5M}")
+    public void registrarResumen() {
+        logger.info("Métricas: {}", resumir());
+    }
+
+    /**
+     * Arma el resumen de las métricas en una línea.
+     *
+     * @return Tiempos de los métodos, pool de conexiones e Hibernate, separados por " | "
+     */
+    public String resumir() {
+        StringJoiner resumen = new StringJoiner(" | ");
+        // Ordenados por nombre para que las líneas sucesivas se puedan comparar
+        Map<String, Timer> tiempos = new TreeMap<>();
+        for (Meter medidor : registro.getMeters()) {
+            if (medidor instanceof Timer timer && medidor.getId().getName().startsWith(PREFIJO) && timer.count() > 0) {
+                tiempos.put(nombre(timer), timer);
+            }
+        }
+        StringJoiner metodos = new StringJoiner("; ");
+        tiempos.forEach((nombre, timer) -> metodos.add(nombre + " " + describir(timer)));
+        resumen.add(tiempos.isEmpty() ? "sin llamadas medidas" : metodos.toString());
+        resumen.add(String.format("conexiones activas=%d inactivas=%d en espera=%d",
+                valor("hikaricp.connections.active"), valor("hikaricp.connections.idle"),
+                valor("hikaricp.connections.pending")));
+        resumen.add(resumirHibernate());
+        return resumen.toString();
+    }
+
+    /**
+     * Nombre corto de una métrica: Clase.método para las medidas con @Timed, o el nombre sin el
+     * prefijo; si la llamada terminó con una excepción se agrega su nombre.
+     */
+    private static String nombre(Timer timer) {
+        Meter.Id id = timer.getId();
+        String clase = id.getTag("class");
+        String metodo = id.getTag("method");
+        String nombre = clase != null && metodo != null
+                ? clase.substring(clase.lastIndexOf('.') + 1) + "." + metodo
+                : id.getName().substring(PREFIJO.length());
+        String excepcion = id.getTag("exception");
+        return excepcion == null || excepcion.equals("none") ? nombre : nombre + "!" + excepcion;
+    }
+
+    /**
+     * Número de llamadas y percentiles en milisegundos; si no hay percentiles configurados,
+     * el promedio y el máximo.
+     */
+    private static String describir(Timer timer) {
+        HistogramSnapshot muestra = timer.takeSnapshot();
+        StringBuilder texto = new StringBuilder("n=").append(muestra.count());
+        ValueAtPercentile[] percentiles = muestra.percentileValues();
+        if (percentiles.length == 0) {
+            texto.append(String.format(Locale.ROOT, " media=%.1fms máx=%.1fms",
+                    muestra.mean(TimeUnit.MILLISECONDS), muestra.max(TimeUnit.MILLISECONDS)));
+        }
+        for (ValueAtPercentile percentil : percentiles) {
+            texto.append(String.format(Locale.ROOT, " p%d=%.1fms",
+                    Math.round(percentil.percentile() * 100), percentil.value(TimeUnit.MILLISECONDS)));
+        }
+        return texto.toString();
+    }
+
+    private long valor(String nombreGauge) {
+        Gauge gauge = registro.find(nombreGauge).gauge();
+        return gauge != null ? Math.round(gauge.value()) : 0;
+    }
+
+    /**
+     * Consultas ejecutadas, las más lentas (por tiempo máximo) y los aciertos de la caché de segundo nivel.
+     */
+    private String resumirHibernate() {
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!estadisticas.isStatisticsEnabled()) {
+            return "estadísticas de Hibernate desactivadas";
+        }
+        // Hibernate también registra las consultas preparadas que todavía no se ejecutaron
+        List<String> consultas = new ArrayList<>();
+        for (String consulta : estadisticas.getQueries()) {
+            if (estadisticas.getQueryStatistics(consulta).getExecutionCount() > 0) {
+                consultas.add(consulta);
+            }
+        }
+        consultas.sort(Comparator.comparingLong(
+                (String consulta) -> estadisticas.getQueryStatistics(consulta).getExecutionMaxTime()).reversed());
+        StringJoiner lentas = new StringJoiner(", ", " lentas: ", "");
+        lentas.setEmptyValue("");
+        for (String consulta : consultas.subList(0, Math.min(CONSULTAS_LENTAS, consultas.size()))) {
+            lentas.add(estadisticas.getQueryStatistics(consulta).getExecutionMaxTime() + "ms " + abreviar(consulta));
+        }
+        return String.format("hibernate consultas=%d sentencias=%d caché %d aciertos/%d fallos%s",
+                estadisticas.getQueryExecutionCount(), estadisticas.getPrepareStatementCount(),
+                estadisticas.getSecondLevelCacheHitCount(), estadisticas.getSecondLevelCacheMissCount(), lentas);
+    }
+
+    private static String abreviar(String consulta) {
+        String linea = consulta.replaceAll("\\s+", " ").strip();
+        return linea.length() <= LARGO_CONSULTA ? linea : linea.substring(0, LARGO_CONSULTA) + "…";
+    }
+}
@@ -0,0 +1,130 @@
+package poo.tareas.servicio;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import poo.tareas.evento.EventoHistorial;
+import poo.tareas.evento.EventoHistorial.HistorialRecargado;
+import poo.tareas.evento.EventoTarea;
+import poo.tareas.evento.EventoTarea.TareasRecargadas;
+import poo.tareas.modelo.VersionDatos;
+import poo.tareas.repositorio.VersionDatosRepositorio;
+
+/**
+ * Sincroniza la interfaz gráfica con los cambios que otro proceso hace sobre la misma base de
+ * datos, como los comandos del modo por lotes (importar, barrido, purgar-historial) ejecutados
+ * desde cron mientras la interfaz está abierta.
+ *
+ * El índice de tareas y la caché de segundo nivel solo se actualizan con los cambios del propio
+ * proceso. Por eso el modo por lotes (propiedad tareas.sincronizacion.avisar) incrementa la
+ * versión de {@link VersionDatos} en la misma transacción de cada cambio, y la interfaz consulta
+ * esa versión cada tareas.sincronizacion.intervalo: si cambió, vacía la caché de segundo nivel,
+ * vuelve a cargar el índice y publica TareasRecargadas y HistorialRecargado para que las
+ * ventanas vuelvan a cargar lo que muestran.
+ */
+@Service
+public class SincronizacionProcesos {
+    // Logger para registrar las recargas
+    private static final Logger logger = LoggerFactory.getLogger(SincronizacionProcesos.class);
+
+    // true en el modo por lotes: este proceso avisa sus cambios en lugar de consultar los ajenos
+    @Value("${tareas.sincronizacion.avisar:false}")
+    private boolean avisar;
+
+    @Autowired
+    private VersionDatosRepositorio versionDatosRepositorio;
+
+    @Autowired
+    private TareaIndex tareaIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher publicador;
+
+    // Versión de los datos que reflejan el índice y la caché de este proceso
+    private volatile long versionConocida;
+
+    /**
+     * Lee la versión al iniciar, antes de que TareaIndex precargue las tareas: un cambio hecho
+     * durante la carga provoca una recarga de más, pero ninguno queda sin recargar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void leerVersionInicial() {
+        if (!avisar) {
+            versionConocida = leerVersion();
+        }
+    }
+
+    /**
+     * Incrementa la versión antes de confirmar la transacción que modificó tareas, de modo que
+     * la interfaz no la ve cambiar antes de poder leer los datos nuevos.
+     *
+     * @param evento Evento de tarea
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void alCambiarTareas(EventoTarea evento) {
+        avisarCambio();
+    }
+
+    /**
+     * Incrementa la versión antes de confirmar la transacción que modificó el historial.
+     *
+     * @param evento Evento del historial
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void alCambiarHistorial(EventoHistorial evento) {
+        avisarCambio();
+    }
+
+    /**
+     * Consulta la versión con el intervalo de la propiedad tareas.sincronizacion.intervalo y,
+     * si otro proceso modificó los datos, los vuelve a cargar.
+     */
+    @Scheduled(fixedDelayString = "${tareas.sincronizacion.intervalo:PT30S}",
+               initialDelayString = "${tareas.sincronizacion.intervalo:PT30S}")
+    public void verificarVersion() {
+        if (avisar) {
+            return;
+        }
+        long version = leerVersion();
+        if (version == versionConocida) {
+            return;
+        }
+        // Un cambio posterior a esta lectura se detecta en la próxima consulta
+        versionConocida = version;
+        logger.info("Otro proceso modificó los datos (versión {}): se vacía la caché y se recargan las tareas", version);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        tareaIndex.recargar();
+        publicador.publishEvent(new TareasRecargadas());
+        publicador.publishEvent(new HistorialRecargado());
+    }
+
+    private void avisarCambio() {
+        if (!avisar) {
+            return;
+        }
+        // La fila se crea con el primer cambio
+        if (versionDatosRepositorio.incrementar() == 0) {
+            versionDatosRepositorio.save(new VersionDatos(VersionDatos.ID, 1));
+        }
+    }
+
+    private long leerVersion() {
+        return versionDatosRepositorio.findById(VersionDatos.ID).map(VersionDatos::getVersion).orElse(0L);
+    }
+}
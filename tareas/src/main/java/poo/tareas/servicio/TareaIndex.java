@@ -0,0 +1,680 @@
+package poo.tareas.servicio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.PrioridadTarea;
+import poo.tareas.modelo.ResumenVencidas;
+import poo.tareas.modelo.Tarea;
+import poo.tareas.repositorio.tareaRepositorio;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria de todas las tareas, para responder sin consultar la base de datos
+ * las búsquedas frecuentes de los servicios y de la interfaz.
+ *
+ * Las tareas se cargan una sola vez (al iniciar la aplicación o en la primera consulta) y
+ * después el índice se mantiene al día con cada guardado, eliminación o recálculo de
+ * prioridades que pasa por tareaServicio; los cambios se aplican cuando la transacción se
+ * confirma. Las tareas recuperadas desde HistorialTareaServicio entran al índice cuando se
+ * guardan con guardarTarea.
+ *
+ * Índices mantenidos:
+ * - por ID (ordenado, permite paginar por clave)
+ * - por estado, responsable y prioridad (ID de las tareas de cada valor, ordenados)
+ * - por fecha de finalización (ordenado, para las tareas vencidas)
+ * - por trigramas del nombre, la descripción y el responsable (búsqueda por texto, ver {@link IndiceTrigramas})
+ *
+ * Las consultas devuelven copias de las tareas, de modo que modificar una tarea devuelta
+ * no altera el índice hasta que se guarda.
+ *
+ * Memoria: el índice guarda todas las tareas, así que el proceso ocupa memoria proporcional
+ * al total de tareas aunque la tabla de IndexControlador (PaginadorTabla) solo mantenga unas
+ * pocas páginas. Lo que acota PaginadorTabla son las filas de la interfaz y el trabajo por
+ * desplazamiento, no los datos en memoria. Se acepta a cambio de que la paginación sin filtro,
+ * la búsqueda por texto y las vencidas no consulten la base de datos; con filtros u orden por
+ * columna la tabla pagina contra la base de datos (ver EspecificacionesTarea). Para tablas
+ * que no quepan en memoria habría que prescindir del índice y paginar siempre por consulta.
+ *
+ * Otros componentes pueden registrarse como {@link OyenteCambios} para enterarse de cada
+ * tarea modificada sin volver a recorrer el índice.
+ */
+@Component
+public class TareaIndex {
+    // Logger para registrar la carga del índice
+    private static final Logger logger = LoggerFactory.getLogger(TareaIndex.class);
+
+    @Autowired
+    private tareaRepositorio TareaRepositorio;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Si es false el índice se carga en la primera consulta (modo por lotes, ver SistemasTareasLote)
+    @Value("${tareas.indice.precarga:true}")
+    private boolean precarga;
+
+    // Las consultas toman el candado de lectura y las modificaciones el de escritura
+    private final ReadWriteLock candado = new ReentrantReadWriteLock();
+
+    private final NavigableMap<Integer, Tarea> porId = new TreeMap<>();
+    private final Map<EstadoTarea, TreeSet<Integer>> porEstado = new HashMap<>();
+    private final Map<String, TreeSet<Integer>> porResponsable = new HashMap<>();
+    private final Map<PrioridadTarea, TreeSet<Integer>> porPrioridad = new HashMap<>();
+    // Clave: fecha de finalización en milisegundos; las tareas sin fecha no se incluyen
+    private final NavigableMap<Long, TreeSet<Integer>> porFechaFin = new TreeMap<>();
+    private final IndiceTrigramas porTexto = new IndiceTrigramas();
+
+    /**
+     * Resultado de la última búsqueda por texto, válido mientras no cambie la versión del índice.
+     */
+    private record ResultadoBusqueda(String texto, long version, int[] ids) {
+    }
+
+    // Las páginas de una misma búsqueda (y la búsqueda que sigue al escribir) parten de este resultado
+    private volatile ResultadoBusqueda ultimaBusqueda;
+
+    private volatile boolean cargado = false;
+
+    private final List<OyenteCambios> oyentes = new CopyOnWriteArrayList<>();
+
+    // Se incrementa con cada cambio, para que los consumidores detecten si algo cambió
+    private volatile long version = 0;
+
+    /**
+     * Interfaz para recibir los cambios del índice. Los avisos se entregan después de
+     * aplicar el cambio y de liberar el candado, en el hilo que confirmó la transacción;
+     * para conocer el estado actual de la tarea se debe consultar el índice.
+     */
+    public interface OyenteCambios {
+        /**
+         * Se llama cuando el índice se cargó o se recargó por completo.
+         */
+        void tareasCargadas();
+
+        /**
+         * Se llama cuando una tarea se guardó o se eliminó.
+         * @param idTarea Identificador de la tarea
+         */
+        void tareaModificada(Integer idTarea);
+    }
+
+    /**
+     * Registra un oyente de los cambios del índice.
+     * @param oyente Oyente a registrar
+     */
+    public void agregarOyente(OyenteCambios oyente) {
+        oyentes.add(oyente);
+    }
+
+    /**
+     * Carga el índice en segundo plano al terminar de iniciar la aplicación, para que la
+     * primera consulta no tenga que esperar. No hace nada si la precarga está desactivada
+     * (propiedad tareas.indice.precarga).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargar() {
+        if (!precarga) {
+            return;
+        }
+        Thread hilo = new Thread(this::asegurarCargado, "carga-indice-tareas");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Vuelve a cargar todas las tareas desde la base de datos.
+     * Solo es necesario si se modificaron tareas sin pasar por tareaServicio.
+     */
+    public void recargar() {
+        candado.writeLock().lock();
+        try {
+            cargar();
+        } finally {
+            candado.writeLock().unlock();
+        }
+        avisarCarga();
+    }
+
+    /**
+     * @return Número de cambios aplicados al índice desde que se creó
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Número total de tareas
+     */
+    public int getTotal() {
+        leer();
+        try {
+            return porId.size();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca una tarea por su ID.
+     * @param idTarea Identificador de la tarea
+     * @return Copia de la tarea, o null si no existe
+     */
+    public Tarea buscarPorId(Integer idTarea) {
+        leer();
+        try {
+            Tarea tarea = porId.get(idTarea);
+            return tarea != null ? copiar(tarea) : null;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene todas las tareas ordenadas por ID.
+     * @return Copias de las tareas
+     */
+    public List<Tarea> listarTodas() {
+        leer();
+        try {
+            return copiar(porId.values(), porId.size());
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene la página de tareas que sigue al ID indicado, en orden ascendente.
+     * @param ultimoIdTarea ID de la última tarea cargada, o null para la primera página
+     * @param tamanoPagina Número máximo de tareas
+     * @return Copias de las tareas
+     */
+    public List<Tarea> listarSiguientes(Integer ultimoIdTarea, int tamanoPagina) {
+        leer();
+        try {
+            Collection<Tarea> tareas = ultimoIdTarea != null ? porId.tailMap(ultimoIdTarea, false).values() : porId.values();
+            return copiar(tareas, tamanoPagina);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene la página de tareas que precede al ID indicado, en orden ascendente.
+     * @param primerIdTarea ID de la primera tarea cargada
+     * @param tamanoPagina Número máximo de tareas
+     * @return Copias de las tareas
+     */
+    public List<Tarea> listarAnteriores(Integer primerIdTarea, int tamanoPagina) {
+        leer();
+        try {
+            List<Tarea> tareas = copiar(porId.headMap(primerIdTarea, false).descendingMap().values(), tamanoPagina);
+            Collections.reverse(tareas);
+            return tareas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca por texto: obtiene la página de tareas que contienen todas las palabras indicadas
+     * (en el nombre, la descripción o el responsable) y siguen al ID indicado.
+     * @param texto Palabras buscadas, sin distinguir mayúsculas ni tildes
+     * @param ultimoIdTarea ID de la última tarea cargada, o null para la primera página
+     * @param tamanoPagina Número máximo de tareas
+     * @return Copias de las tareas, ordenadas por ID ascendente
+     */
+    public List<Tarea> buscarSiguientes(String texto, Integer ultimoIdTarea, int tamanoPagina) {
+        leer();
+        try {
+            int[] ids = idsBuscados(texto);
+            int desde = ultimoIdTarea != null ? posicionPosterior(ids, ultimoIdTarea) : 0;
+            return copiar(ids, desde, Math.min(ids.length, desde + tamanoPagina));
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca por texto: obtiene la página de tareas que coinciden y preceden al ID indicado.
+     * @param texto Palabras buscadas, sin distinguir mayúsculas ni tildes
+     * @param primerIdTarea ID de la primera tarea cargada
+     * @param tamanoPagina Número máximo de tareas
+     * @return Copias de las tareas, ordenadas por ID ascendente
+     */
+    public List<Tarea> buscarAnteriores(String texto, Integer primerIdTarea, int tamanoPagina) {
+        leer();
+        try {
+            int[] ids = idsBuscados(texto);
+            int hasta = posicionPosterior(ids, primerIdTarea - 1);
+            return copiar(ids, Math.max(0, hasta - tamanoPagina), hasta);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indica si una tarea contiene todas las palabras del texto, con el mismo criterio que
+     * buscarSiguientes (para decidir si una tarea modificada sigue en los resultados).
+     * @param tarea Tarea a comprobar
+     * @param texto Palabras buscadas
+     * @return true si la tarea coincide con la búsqueda
+     */
+    public static boolean coincideConTexto(Tarea tarea, String texto) {
+        return IndiceTrigramas.coincide(tarea, texto);
+    }
+
+    /**
+     * @param estado Estado buscado (puede ser null)
+     * @return Copias de las tareas con ese estado, ordenadas por ID
+     */
+    public List<Tarea> listarPorEstado(EstadoTarea estado) {
+        return listarPorValor(porEstado, estado);
+    }
+
+    /**
+     * @param responsable Responsable buscado (puede ser null)
+     * @return Copias de las tareas de ese responsable, ordenadas por ID
+     */
+    public List<Tarea> listarPorResponsable(String responsable) {
+        return listarPorValor(porResponsable, responsable);
+    }
+
+    /**
+     * @param prioridad Prioridad buscada (puede ser null)
+     * @return Copias de las tareas con esa prioridad, ordenadas por ID
+     */
+    public List<Tarea> listarPorPrioridad(PrioridadTarea prioridad) {
+        return listarPorValor(porPrioridad, prioridad);
+    }
+
+    /**
+     * Obtiene las tareas vencidas: no completadas y con fecha de finalización hasta hoy.
+     * Es el mismo criterio que la consulta buscarVencidas del repositorio.
+     * @param hoy Fecha de referencia
+     * @return Copias de las tareas vencidas, ordenadas por ID
+     */
+    public List<Tarea> listarVencidas(LocalDate hoy) {
+        leer();
+        try {
+            Set<Integer> ids = idsVencidas(hoy);
+            List<Tarea> tareas = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                tareas.add(copiar(porId.get(id)));
+            }
+            return tareas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el total y el mayor ID de las tareas vencidas sin copiar las tareas.
+     * @param hoy Fecha de referencia
+     * @return Resumen de las tareas vencidas
+     */
+    public ResumenVencidas resumirVencidas(LocalDate hoy) {
+        leer();
+        try {
+            TreeSet<Integer> ids = idsVencidas(hoy);
+            return new ResumenVencidas(ids.size(), ids.isEmpty() ? null : ids.last());
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Registra una tarea guardada (nueva o modificada) cuando se confirma la transacción actual.
+     */
+    void registrarGuardado(Tarea tarea) {
+        Tarea copia = copiar(tarea);
+        alConfirmar(() -> {
+            agregar(copia);
+            version++;
+        }, List.of(copia.getIdTarea()));
+    }
+
+    /**
+     * Registra varias tareas guardadas cuando se confirma la transacción actual.
+     */
+    void registrarGuardados(Collection<Tarea> tareas) {
+        List<Tarea> copias = copiar(tareas, tareas.size());
+        List<Integer> ids = new ArrayList<>(copias.size());
+        for (Tarea copia : copias) {
+            ids.add(copia.getIdTarea());
+        }
+        alConfirmar(() -> {
+            for (Tarea copia : copias) {
+                agregar(copia);
+            }
+            version++;
+        }, ids);
+    }
+
+    /**
+     * Registra la eliminación de una tarea cuando se confirma la transacción actual.
+     */
+    void registrarEliminacion(Integer idTarea) {
+        alConfirmar(() -> {
+            quitar(idTarea);
+            version++;
+        }, List.of(idTarea));
+    }
+
+    /**
+     * Registra la eliminación de varias tareas cuando se confirma la transacción actual.
+     */
+    void registrarEliminaciones(Collection<Integer> idsTareas) {
+        List<Integer> ids = List.copyOf(idsTareas);
+        alConfirmar(() -> {
+            for (Integer id : ids) {
+                quitar(id);
+            }
+            version++;
+        }, ids);
+    }
+
+    /**
+     * Aplica en memoria el recálculo masivo de prioridades (la sentencia UPDATE no devuelve
+     * las filas modificadas), con el mismo criterio que recalcularPrioridades del repositorio.
+     */
+    void registrarRecalculoPrioridades(Date limiteAlta, Date limiteMedia) {
+        alConfirmar(() -> {
+            if (!cargado) {
+                return;
+            }
+            for (Tarea tarea : porId.values()) {
+                if (tarea.getEstadoTarea() == EstadoTarea.COMPLETADA || tarea.getFechaFinTarea() == null) {
+                    continue;
+                }
+                PrioridadTarea prioridad = tarea.getFechaFinTarea().getTime() < limiteAlta.getTime() ? PrioridadTarea.ALTA
+                        : tarea.getFechaFinTarea().getTime() < limiteMedia.getTime() ? PrioridadTarea.MEDIA : PrioridadTarea.BAJA;
+                if (prioridad != tarea.getPrioridadTarea()) {
+                    quitarDe(porPrioridad, tarea.getPrioridadTarea(), tarea.getIdTarea());
+                    tarea.setPrioridadTarea(prioridad);
+                    agregarA(porPrioridad, prioridad, tarea.getIdTarea());
+                }
+            }
+            version++;
+        }, List.of());
+    }
+
+    /**
+     * Aplica en memoria las prioridades asignadas con tareaServicio.actualizarPrioridades, que
+     * solo escribe esa columna. El mapa no debe modificarse después de la llamada.
+     */
+    void registrarPrioridades(Map<Integer, PrioridadTarea> prioridades) {
+        alConfirmar(() -> {
+            prioridades.forEach((idTarea, prioridad) -> {
+                Tarea tarea = porId.get(idTarea);
+                if (tarea != null && prioridad != tarea.getPrioridadTarea()) {
+                    quitarDe(porPrioridad, tarea.getPrioridadTarea(), tarea.getIdTarea());
+                    tarea.setPrioridadTarea(prioridad);
+                    agregarA(porPrioridad, prioridad, tarea.getIdTarea());
+                }
+            });
+            version++;
+        }, List.of());
+    }
+
+    /**
+     * Ejecuta el cambio con el candado de escritura cuando se confirma la transacción actual,
+     * o de inmediato si no hay una transacción activa, y luego avisa a los oyentes por cada
+     * tarea modificada. Si el índice aún no se cargó, el cambio se omite porque la carga ya
+     * leerá el estado confirmado.
+     */
+    private void alConfirmar(Runnable cambio, List<Integer> idsModificados) {
+        Runnable aplicar = () -> {
+            candado.writeLock().lock();
+            try {
+                if (!cargado) {
+                    return;
+                }
+                cambio.run();
+            } finally {
+                candado.writeLock().unlock();
+            }
+            for (OyenteCambios oyente : oyentes) {
+                for (Integer idTarea : idsModificados) {
+                    oyente.tareaModificada(idTarea);
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar.run();
+                }
+            });
+        } else {
+            aplicar.run();
+        }
+    }
+
+    /**
+     * Toma el candado de lectura, cargando antes el índice si todavía no se cargó.
+     * Quien llama debe liberar el candado de lectura.
+     */
+    private void leer() {
+        asegurarCargado();
+        candado.readLock().lock();
+    }
+
+    private void asegurarCargado() {
+        if (cargado) {
+            return;
+        }
+        boolean cargadoAhora = false;
+        candado.writeLock().lock();
+        try {
+            if (!cargado) {
+                cargar();
+                cargadoAhora = true;
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+        if (cargadoAhora) {
+            avisarCarga();
+        }
+    }
+
+    private void avisarCarga() {
+        for (OyenteCambios oyente : oyentes) {
+            oyente.tareasCargadas();
+        }
+    }
+
+    /**
+     * Lee todas las tareas con el recorrido en streaming del repositorio y reconstruye los índices.
+     * Debe llamarse con el candado de escritura tomado.
+     */
+    private void cargar() {
+        long inicio = System.currentTimeMillis();
+        porId.clear();
+        porEstado.clear();
+        porResponsable.clear();
+        porPrioridad.clear();
+        porFechaFin.clear();
+        porTexto.limpiar();
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setReadOnly(true);
+        transaccion.executeWithoutResult(estado -> {
+            try (Stream<Tarea> tareas = TareaRepositorio.recorrerTodas()) {
+                tareas.forEach(this::agregar);
+            }
+        });
+        cargado = true;
+        version++;
+        logger.info("Índice de tareas cargado: {} tareas en {} ms", porId.size(), System.currentTimeMillis() - inicio);
+    }
+
+    private void agregar(Tarea tarea) {
+        quitar(tarea.getIdTarea());
+        porId.put(tarea.getIdTarea(), tarea);
+        agregarA(porEstado, tarea.getEstadoTarea(), tarea.getIdTarea());
+        agregarA(porResponsable, tarea.getResponsableTarea(), tarea.getIdTarea());
+        agregarA(porPrioridad, tarea.getPrioridadTarea(), tarea.getIdTarea());
+        if (tarea.getFechaFinTarea() != null) {
+            agregarA(porFechaFin, tarea.getFechaFinTarea().getTime(), tarea.getIdTarea());
+        }
+        porTexto.agregar(tarea);
+    }
+
+    private void quitar(Integer idTarea) {
+        Tarea anterior = porId.remove(idTarea);
+        if (anterior == null) {
+            return;
+        }
+        quitarDe(porEstado, anterior.getEstadoTarea(), idTarea);
+        quitarDe(porResponsable, anterior.getResponsableTarea(), idTarea);
+        quitarDe(porPrioridad, anterior.getPrioridadTarea(), idTarea);
+        if (anterior.getFechaFinTarea() != null) {
+            quitarDe(porFechaFin, anterior.getFechaFinTarea().getTime(), idTarea);
+        }
+        porTexto.quitar(idTarea);
+    }
+
+    private static <K> void agregarA(Map<K, TreeSet<Integer>> indice, K clave, Integer idTarea) {
+        indice.computeIfAbsent(clave, k -> new TreeSet<>()).add(idTarea);
+    }
+
+    private static <K> void quitarDe(Map<K, TreeSet<Integer>> indice, K clave, Integer idTarea) {
+        TreeSet<Integer> ids = indice.get(clave);
+        if (ids != null && ids.remove(idTarea) && ids.isEmpty()) {
+            indice.remove(clave);
+        }
+    }
+
+    private <K> List<Tarea> listarPorValor(Map<K, TreeSet<Integer>> indice, K valor) {
+        leer();
+        try {
+            TreeSet<Integer> ids = indice.getOrDefault(valor, new TreeSet<>());
+            List<Tarea> tareas = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                tareas.add(copiar(porId.get(id)));
+            }
+            return tareas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs de las tareas no completadas con fecha de finalización anterior al inicio del día
+     * siguiente a hoy. Debe llamarse con el candado de lectura tomado.
+     */
+    private TreeSet<Integer> idsVencidas(LocalDate hoy) {
+        long limite = tareaServicio.inicioDelDiaSiguiente(hoy).getTime();
+        TreeSet<Integer> ids = new TreeSet<>();
+        for (TreeSet<Integer> delDia : porFechaFin.headMap(limite, false).values()) {
+            for (Integer id : delDia) {
+                if (porId.get(id).getEstadoTarea() != EstadoTarea.COMPLETADA) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * IDs de las tareas que coinciden con el texto. Reutiliza la búsqueda anterior si el texto
+     * es el mismo (otra página de los mismos resultados) o la continúa (el usuario siguió
+     * escribiendo) y el índice no cambió desde entonces. Debe llamarse con el candado de lectura tomado.
+     */
+    private int[] idsBuscados(String texto) {
+        String normalizado = IndiceTrigramas.normalizarBusqueda(texto);
+        ResultadoBusqueda anterior = ultimaBusqueda;
+        int[] ids;
+        if (anterior != null && anterior.version() == version && normalizado.equals(anterior.texto())) {
+            return anterior.ids();
+        } else if (anterior != null && anterior.version() == version && !anterior.texto().isEmpty()
+                && normalizado.startsWith(anterior.texto())) {
+            ids = porTexto.refinar(normalizado, anterior.ids());
+        } else {
+            ids = porTexto.buscar(normalizado, porId.keySet());
+        }
+        ultimaBusqueda = new ResultadoBusqueda(normalizado, version, ids);
+        return ids;
+    }
+
+    /**
+     * Posición del primer ID mayor que el indicado en un arreglo ordenado de IDs.
+     */
+    private static int posicionPosterior(int[] ids, int idTarea) {
+        int posicion = Arrays.binarySearch(ids, idTarea);
+        return posicion >= 0 ? posicion + 1 : -posicion - 1;
+    }
+
+    /**
+     * Copia las tareas de los IDs en las posiciones [desde, hasta) del arreglo.
+     * Debe llamarse con el candado de lectura tomado.
+     */
+    private List<Tarea> copiar(int[] ids, int desde, int hasta) {
+        List<Tarea> copias = new ArrayList<>(Math.max(0, hasta - desde));
+        for (int i = desde; i < hasta; i++) {
+            copias.add(copiar(porId.get(ids[i])));
+        }
+        return copias;
+    }
+
+    private static List<Tarea> copiar(Collection<Tarea> tareas, int maximo) {
+        List<Tarea> copias = new ArrayList<>(Math.min(maximo, tareas.size()));
+        for (Tarea tarea : tareas) {
+            if (copias.size() == maximo) {
+                break;
+            }
+            copias.add(copiar(tarea));
+        }
+        return copias;
+    }
+
+    /**
+     * Crea una copia de la tarea con las fechas normalizadas, igual a las que devuelven las
+     * consultas del índice.
+     * @param tarea Tarea a copiar
+     * @return Copia independiente de la tarea
+     */
+    public static Tarea copiar(Tarea tarea) {
+        return new Tarea(tarea.getIdTarea(), tarea.getNombreTarea(), tarea.getResponsableTarea(),
+                tarea.getDescripcionTarea(), normalizarFecha(tarea.getFechaInicioTarea()),
+                normalizarFecha(tarea.getFechaFinTarea()), tarea.getEstadoTarea(), tarea.getPrioridadTarea(),
+                tarea.getFechaBorrado());
+    }
+
+    /**
+     * Las tareas guardadas desde el formulario traen java.sql.Date, que no admite toInstant();
+     * se guardan como Timestamp, el mismo tipo con que Hibernate devuelve las fechas leídas.
+     */
+    private static Date normalizarFecha(Date fecha) {
+        return fecha instanceof java.sql.Date ? new Timestamp(fecha.getTime()) : fecha;
+    }
+}
@@ -1,18 +1,50 @@
 package poo.tareas.servicio;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import poo.tareas.evento.EventoHistorial.HistorialRegistrado;
+import poo.tareas.evento.EventoTarea.PrioridadesRecalculadas;
+import poo.tareas.evento.EventoTarea.TareaActualizada;
+import poo.tareas.evento.EventoTarea.TareaCreada;
+import poo.tareas.evento.EventoTarea.TareaEliminada;
+import poo.tareas.evento.EventoTarea.TareasEliminadas;
+import poo.tareas.evento.EventoTarea.TareasGuardadas;
+import poo.tareas.modelo.FiltroTareas;
+import poo.tareas.modelo.HistorialTarea;
+import poo.tareas.modelo.PrioridadTarea;
+import poo.tareas.modelo.ResumenVencidas;
 import poo.tareas.modelo.Tarea;
+import poo.tareas.repositorio.EspecificacionesTarea;
 import poo.tareas.repositorio.tareaRepositorio;
 
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Clase de servicio que implementa la interfaz ITareaServicio
  * Esta capa actúa como intermediaria entre el controlador y el repositorio,
  * manejando la lógica de negocio relacionada con las tareas.
+ * Cada cambio que se guarda o elimina por medio de este servicio se refleja también
+ * en el índice en memoria TareaIndex y se publica como un EventoTarea.
+ * Cada método público se mide con la métrica tareas.servicio (ver MetricasConfiguracion).
  */
 @Service // Anotación que indica a Spring que esta clase es un componente de servicio
+@Timed("tareas.servicio")
 public class tareaServicio implements ITareaServicio {
 
     /**
@@ -23,6 +55,34 @@ public class tareaServicio implements ITareaServicio {
     @Autowired
     private tareaRepositorio TareaRepositorio;
 
+    /**
+     * Administrador de entidades de JPA, usado para vaciar el contexto de persistencia
+     * entre bloques en las operaciones masivas.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Índice en memoria de las tareas; se actualiza con cada cambio confirmado.
+     */
+    @Autowired
+    private TareaIndex tareaIndex;
+
+    /**
+     * Publicador de los eventos de dominio de las tareas.
+     */
+    @Autowired
+    private ApplicationEventPublisher publicador;
+
+    /**
+     * Servicio del historial, donde se registran las tareas eliminadas en bloque.
+     */
+    @Autowired
+    private IHistorialTareaServicio historialTareaServicio;
+
+    // Número de tareas que se procesan por bloque en las operaciones masivas
+    private static final int TAMANO_BLOQUE = 1000;
+
     /**
      * Método que obtiene todas las tareas almacenadas en la base de datos.
      * @return Lista con todas las tareas encontradas
@@ -33,7 +93,134 @@ public class tareaServicio implements ITareaServicio {
     }
 
     /**
-     * Busca una tarea específica por su ID
+     * Obtiene la página de tareas filtradas y ordenadas que sigue a la indicada. El filtro, el
+     * orden y el límite se resuelven en la base de datos, que recorre el índice compuesto de la
+     * columna de orden; solo se devuelven las filas de la página.
+     * @param filtro Criterios del filtro
+     * @param orden Columna y dirección del orden
+     * @param ultima Última tarea cargada o null
+     * @param tamanoPagina Número máximo de tareas a devolver
+     * @return Tareas en el orden indicado
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Tarea> buscarTareasSiguientes(FiltroTareas filtro, Sort.Order orden, Tarea ultima, int tamanoPagina) {
+        if (!EspecificacionesTarea.PROPIEDADES_ORDENABLES.contains(orden.getProperty())) {
+            throw new IllegalArgumentException("No se puede ordenar por " + orden.getProperty());
+        }
+        Specification<Tarea> especificacion = EspecificacionesTarea.conFiltro(filtro);
+        if (ultima != null) {
+            especificacion = especificacion.and(EspecificacionesTarea.posteriorA(orden, ultima));
+        }
+        Sort sort = EspecificacionesTarea.ordenConDesempate(orden);
+        return TareaRepositorio.findBy(especificacion, consulta -> consulta.sortBy(sort).limit(tamanoPagina).all());
+    }
+
+    /**
+     * Obtiene la página de tareas filtradas y ordenadas que precede a la indicada.
+     * @param filtro Criterios del filtro
+     * @param orden Columna y dirección del orden
+     * @param primera Primera tarea cargada
+     * @param tamanoPagina Número máximo de tareas a devolver
+     * @return Tareas en el orden indicado
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Tarea> buscarTareasAnteriores(FiltroTareas filtro, Sort.Order orden, Tarea primera, int tamanoPagina) {
+        // Se recorre el orden inverso a partir de la primera fila y se invierte el resultado
+        List<Tarea> tareas = new ArrayList<>(buscarTareasSiguientes(filtro, orden.reverse(), primera, tamanoPagina));
+        Collections.reverse(tareas);
+        return tareas;
+    }
+
+    /**
+     * Obtiene las tareas vencidas mediante una consulta indexada de solo lectura.
+     * @param hoy Fecha de referencia; se incluyen las tareas que vencen ese mismo día
+     * @return Tareas no completadas con fecha de finalización hasta hoy
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Tarea> listarTareasVencidas(LocalDate hoy) {
+        return TareaRepositorio.buscarVencidas(inicioDelDiaSiguiente(hoy));
+    }
+
+    /**
+     * Obtiene el total y el mayor ID de las tareas vencidas con una consulta de agregación.
+     * @param hoy Fecha de referencia
+     * @return Resumen de las tareas vencidas
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResumenVencidas resumirTareasVencidas(LocalDate hoy) {
+        return TareaRepositorio.resumirVencidas(inicioDelDiaSiguiente(hoy));
+    }
+
+    /**
+     * Recalcula las prioridades con una única sentencia UPDATE ... SET ... = CASE,
+     * en una sola transacción y un solo viaje a la base de datos.
+     * @param hoy Fecha de referencia
+     * @return Número de tareas cuya prioridad cambió
+     */
+    @Override
+    @Transactional
+    public int recalcularPrioridades(LocalDate hoy) {
+        // 1 día o menos: la fecha fin es anterior al inicio de pasado mañana
+        // 3 días o menos: la fecha fin es anterior al inicio del cuarto día
+        Timestamp limiteAlta = inicioDelDiaSiguiente(hoy.plusDays(1));
+        Timestamp limiteMedia = inicioDelDiaSiguiente(hoy.plusDays(3));
+        int actualizadas = TareaRepositorio.recalcularPrioridades(limiteAlta, limiteMedia);
+        tareaIndex.registrarRecalculoPrioridades(limiteAlta, limiteMedia);
+        if (actualizadas > 0) {
+            publicador.publishEvent(new PrioridadesRecalculadas());
+        }
+        return actualizadas;
+    }
+
+    /**
+     * Asigna prioridades escribiendo solo la columna de prioridad: por cada prioridad y bloque se
+     * buscan las tareas que cambian y se actualizan con una sentencia UPDATE. A diferencia de
+     * guardarTareas no se combina la fila completa, así que no se pisan los cambios hechos en las
+     * tareas desde que se leyeron, y las tareas que ya no existen se omiten sin fallar. Las
+     * tareas no se vuelven a leer: el índice en memoria solo cambia la prioridad y se publica
+     * PrioridadesRecalculadas, como en recalcularPrioridades.
+     * @param prioridades Nueva prioridad de cada tarea, por ID
+     * @return IDs de las tareas cuya prioridad cambió
+     */
+    @Override
+    @Transactional
+    public List<Integer> actualizarPrioridades(Map<Integer, PrioridadTarea> prioridades) {
+        Map<PrioridadTarea, List<Integer>> idsPorPrioridad = new EnumMap<>(PrioridadTarea.class);
+        prioridades.forEach((idTarea, prioridad) ->
+                idsPorPrioridad.computeIfAbsent(prioridad, p -> new ArrayList<>()).add(idTarea));
+        Map<Integer, PrioridadTarea> cambios = new HashMap<>();
+        idsPorPrioridad.forEach((prioridad, ids) -> {
+            for (List<Integer> bloque : bloques(ids, TAMANO_BLOQUE)) {
+                List<Integer> cambian = TareaRepositorio.buscarIdsConOtraPrioridad(bloque, prioridad);
+                if (!cambian.isEmpty()) {
+                    TareaRepositorio.asignarPrioridad(cambian, prioridad);
+                    cambian.forEach(idTarea -> cambios.put(idTarea, prioridad));
+                }
+            }
+        });
+        if (cambios.isEmpty()) {
+            return List.of();
+        }
+        tareaIndex.registrarPrioridades(cambios);
+        publicador.publishEvent(new PrioridadesRecalculadas());
+        return List.copyOf(cambios.keySet());
+    }
+
+    /**
+     * Convierte una fecha en el instante de inicio del día siguiente, que se usa como
+     * límite exclusivo para que las tareas que vencen durante el día también se incluyan.
+     */
+    static Timestamp inicioDelDiaSiguiente(LocalDate dia) {
+        return Timestamp.valueOf(dia.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Busca una tarea específica por su ID.
+     * Si la tarea ya está en la caché de segundo nivel no se consulta la base de datos.
      * @param idTarea Identificador único de la tarea
      * @return La tarea encontrada o null si no existe
      */
@@ -45,21 +232,192 @@ public class tareaServicio implements ITareaServicio {
     }
 
     /**
-     * Guarda una nueva tarea en la base de datos
+     * Guarda una nueva tarea en la base de datos.
+     * Al confirmar la transacción Hibernate actualiza la entrada de la tarea en la caché
+     * de segundo nivel e invalida las consultas cacheadas sobre tareas (como las vencidas).
      * @param tarea Objeto Tarea que se quiere persistir
      */
     @Override
     public void guardarTarea(Tarea tarea) {
+        boolean nueva = tarea.getIdTarea() == null;
         TareaRepositorio.save(tarea); // Utiliza el método save() de JpaRepository
+        tareaIndex.registrarGuardado(tarea);
+        publicador.publishEvent(nueva ? new TareaCreada(tarea) : new TareaActualizada(tarea));
+    }
+
+    /**
+     * Guarda varias tareas en una sola transacción.
+     * Se procesan por bloques: primero se cargan con una sola consulta las tareas existentes
+     * del bloque (para que Hibernate no haga un SELECT por cada una al combinarlas), luego se
+     * guardan y las sentencias se envían en lotes JDBC; al final de cada bloque se vacía el
+     * contexto de persistencia para que la memoria no crezca con el número de tareas.
+     * @param tareas Tareas nuevas o existentes que se quieren persistir
+     */
+    @Override
+    @Transactional
+    public void guardarTareas(Collection<Tarea> tareas) {
+        List<Tarea> bloque = new ArrayList<>(TAMANO_BLOQUE);
+        for (Tarea tarea : tareas) {
+            bloque.add(tarea);
+            if (bloque.size() == TAMANO_BLOQUE) {
+                guardarBloque(bloque);
+                bloque.clear();
+            }
+        }
+        if (!bloque.isEmpty()) {
+            guardarBloque(bloque);
+        }
+        // Los IDs de las tareas nuevas ya están asignados; el índice se actualiza al confirmar
+        tareaIndex.registrarGuardados(tareas);
+        publicador.publishEvent(new TareasGuardadas(List.copyOf(tareas)));
+    }
+
+    private void guardarBloque(List<Tarea> bloque) {
+        List<Integer> ids = new ArrayList<>();
+        for (Tarea tarea : bloque) {
+            if (tarea.getIdTarea() != null) {
+                ids.add(tarea.getIdTarea());
+            }
+        }
+        if (!ids.isEmpty()) {
+            TareaRepositorio.findAllById(ids); // Deja las tareas existentes en el contexto de persistencia
+        }
+        TareaRepositorio.saveAll(bloque);
+        TareaRepositorio.flush();
+        entityManager.clear();
     }
 
     /**
-     * Elimina una tarea existente de la base de datos
+     * Elimina una tarea existente de la base de datos.
+     * La tarea se quita de la caché de segundo nivel y se invalidan las consultas cacheadas.
+     * En el modo de borrado lógico se marca igual que en eliminarTareas.
      * @param tarea Objeto Tarea que se desea eliminar
      */
     @Override
+    @Transactional
     public void eliminarTarea(Tarea tarea) {
+        if (historialTareaServicio.usaBorradoLogico()) {
+            marcarBorradas(List.of(tarea.getIdTarea()));
+            return;
+        }
         TareaRepositorio.delete(tarea); // Utiliza el método delete() de JpaRepository
+        tareaIndex.registrarEliminacion(tarea.getIdTarea());
+        publicador.publishEvent(new TareaEliminada(tarea.getIdTarea()));
+    }
+
+    /**
+     * Elimina varias tareas en una sola transacción: se cargan con una consulta por bloque,
+     * se registran en el historial en lotes JDBC y se eliminan con una sentencia
+     * DELETE ... WHERE idTarea IN (...) por bloque. El cambio se publica como un único evento
+     * TareasEliminadas (y un HistorialRegistrado con todos los registros).
+     * En el modo de borrado lógico las tareas no se copian: ver marcarBorradas.
+     * @param idsTareas IDs de las tareas a eliminar
+     * @return Número de tareas eliminadas
+     */
+    @Override
+    @Transactional
+    public int eliminarTareas(Collection<Integer> idsTareas) {
+        if (historialTareaServicio.usaBorradoLogico()) {
+            return marcarBorradas(idsTareas);
+        }
+        List<List<Integer>> bloques = bloques(idsTareas, TAMANO_BLOQUE);
+        List<Tarea> tareas = new ArrayList<>(idsTareas.size());
+        for (List<Integer> bloque : bloques) {
+            tareas.addAll(TareaRepositorio.findAllById(bloque));
+        }
+        if (tareas.isEmpty()) {
+            return 0;
+        }
+        historialTareaServicio.registrarEliminaciones(tareas);
+        List<Integer> eliminadas = new ArrayList<>(tareas.size());
+        for (Tarea tarea : tareas) {
+            eliminadas.add(tarea.getIdTarea());
+        }
+        int total = 0;
+        for (List<Integer> bloque : bloques(eliminadas, TAMANO_BLOQUE)) {
+            total += TareaRepositorio.eliminarPorIds(bloque);
+        }
+        tareaIndex.registrarEliminaciones(eliminadas);
+        publicador.publishEvent(new TareasEliminadas(eliminadas));
+        return total;
+    }
+
+    /**
+     * Borrado lógico: por cada bloque se leen las tareas activas con una consulta y una sentencia
+     * UPDATE les asigna la fecha de borrado, sin copiarlas. Con las filas leídas se arman los
+     * registros del evento HistorialRegistrado y la lista de TareasEliminadas, que solo incluye
+     * las tareas marcadas (los IDs inexistentes o ya borrados se ignoran). No se usa el índice en
+     * memoria, que puede no estar cargado (tareas.indice.precarga=false).
+     */
+    private int marcarBorradas(Collection<Integer> idsTareas) {
+        Date fecha = new Date();
+        List<Tarea> tareas = new ArrayList<>(idsTareas.size());
+        for (List<Integer> bloque : bloques(idsTareas, TAMANO_BLOQUE)) {
+            List<Tarea> activas = TareaRepositorio.findAllById(bloque);
+            if (activas.isEmpty()) {
+                continue;
+            }
+            List<Integer> ids = new ArrayList<>(activas.size());
+            for (Tarea tarea : activas) {
+                ids.add(tarea.getIdTarea());
+            }
+            // La sentencia vacía el contexto de persistencia, así que las tareas leídas quedan separadas
+            TareaRepositorio.marcarBorradas(ids, fecha);
+            tareas.addAll(activas);
+        }
+        if (tareas.isEmpty()) {
+            return 0;
+        }
+        List<HistorialTarea> registros = new ArrayList<>(tareas.size());
+        List<Integer> eliminadas = new ArrayList<>(tareas.size());
+        for (Tarea tarea : tareas) {
+            tarea.setFechaBorrado(fecha);
+            registros.add(HistorialTarea.deTareaBorrada(tarea));
+            eliminadas.add(tarea.getIdTarea());
+        }
+        tareaIndex.registrarEliminaciones(eliminadas);
+        publicador.publishEvent(new TareasEliminadas(eliminadas));
+        publicador.publishEvent(new HistorialRegistrado(registros));
+        return eliminadas.size();
+    }
+
+    /**
+     * Marca varias tareas como completadas con una sentencia UPDATE por bloque, en una sola
+     * transacción. Antes de cada UPDATE se buscan las tareas del bloque que no están
+     * completadas; solo esas se modifican, se vuelven a leer para actualizar el índice en
+     * memoria y se publican en un único evento TareasGuardadas.
+     * @param idsTareas IDs de las tareas a completar
+     * @return Número de tareas cuyo estado cambió
+     */
+    @Override
+    @Transactional
+    public int completarTareas(Collection<Integer> idsTareas) {
+        int total = 0;
+        List<Tarea> tareas = new ArrayList<>();
+        for (List<Integer> bloque : bloques(idsTareas, TAMANO_BLOQUE)) {
+            List<Integer> pendientes = TareaRepositorio.buscarIdsNoCompletadas(bloque);
+            if (!pendientes.isEmpty()) {
+                total += TareaRepositorio.completarPorIds(pendientes);
+                tareas.addAll(TareaRepositorio.findAllById(pendientes));
+            }
+        }
+        if (total > 0) {
+            tareaIndex.registrarGuardados(tareas);
+            publicador.publishEvent(new TareasGuardadas(tareas));
+        }
+        return total;
+    }
+
+    /**
+     * Divide los IDs en bloques, para que ninguna lista IN (...) sea demasiado larga.
+     */
+    static List<List<Integer>> bloques(Collection<Integer> ids, int tamano) {
+        List<Integer> lista = List.copyOf(ids);
+        List<List<Integer>> bloques = new ArrayList<>();
+        for (int inicio = 0; inicio < lista.size(); inicio += tamano) {
+            bloques.add(lista.subList(inicio, Math.min(inicio + tamano, lista.size())));
+        }
+        return bloques;
     }
 
     /**
@@ -69,7 +427,10 @@ public class tareaServicio implements ITareaServicio {
      */
     @Override
     public Tarea actualizarTarea(Tarea tarea) {
-        return TareaRepositorio.save(tarea); 
+        Tarea actualizada = TareaRepositorio.save(tarea);
         // El método save() de JPA también sirve para actualizar si el ID ya existe
+        tareaIndex.registrarGuardado(actualizada);
+        publicador.publishEvent(new TareaActualizada(actualizada));
+        return actualizada;
     }
 }
@@ -0,0 +1,181 @@
+package poo.tareas.repositorio;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import poo.tareas.configuracion.MotorBaseDatos;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.FiltroTareas;
+import poo.tareas.modelo.PrioridadTarea;
+import poo.tareas.modelo.Tarea;
+import poo.tareas.servicio.HistorialTareaServicio;
+import poo.tareas.servicio.ITareaServicio;
+import poo.tareas.servicio.TareaIndex;
+import poo.tareas.servicio.tareaServicio;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas de la paginación por clave de EspecificacionesTarea (conFiltro y posteriorA) a través de
+ * tareaServicio, sobre una base de datos H2 en memoria.
+ *
+ * El orden esperado se obtiene con una consulta SQL explícita (null como el menor valor e ID como
+ * desempate), y se compara con el que resulta de recorrer todas las páginas hacia adelante y hacia atrás.
+ */
+@DataJpaTest(showSql = false, properties = "logging.level.poo.tareas=WARN")
+@Import({tareaServicio.class, TareaIndex.class, HistorialTareaServicio.class, MotorBaseDatos.class,
+		SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada página se consulta en su propia transacción, como en la aplicación
+class EspecificacionesTareaTest {
+	private static final int TAREAS = 24;
+
+	@Autowired
+	private ITareaServicio tareaServicio;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Inserta tareas con valores null y repetidos en todas las columnas ordenables salvo el ID,
+	 * de modo que las páginas se corten dentro de grupos de valores iguales.
+	 */
+	@BeforeEach
+	void sembrarTareas() {
+		jdbcTemplate.update("delete from tarea");
+		LocalDate hoy = LocalDate.now();
+		List<Object[]> filas = new ArrayList<>();
+		// Los ID no siguen el orden de inserción ni son consecutivos
+		for (int i = TAREAS; i >= 1; i--) {
+			filas.add(new Object[]{i * 3,
+					i % 7 == 0 ? null : "Tarea " + i % 4,
+					i % 4 == 0 ? null : new String[]{"Ana", "Luis", "Ana López"}[i % 3],
+					"Descripción " + i,
+					Timestamp.valueOf(hoy.minusDays(i % 2).atStartOfDay()),
+					i % 5 == 0 ? null : Timestamp.valueOf(hoy.plusDays(i % 3).atStartOfDay()),
+					EstadoTarea.values()[i % 3].getCodigo(),
+					i % 6 == 0 ? null : PrioridadTarea.values()[i % PrioridadTarea.values().length].getCodigo()});
+		}
+		jdbcTemplate.batchUpdate("insert into tarea (id_tarea, nombre_tarea, responsable_tarea, descripcion_tarea, " +
+				"fecha_inicio_tarea, fecha_fin_tarea, estado_tarea, prioridad_tarea) values (?, ?, ?, ?, ?, ?, ?, ?)", filas);
+	}
+
+	/**
+	 * Sin filtro, cada columna ordenable y cada dirección recorren todas las tareas en el orden de la
+	 * base de datos, sin repetir ni saltar filas, con cualquier tamaño de página.
+	 */
+	@Test
+	void recorreTodasLasPaginasEnAmbasDirecciones() {
+		for (String propiedad : EspecificacionesTarea.PROPIEDADES_ORDENABLES) {
+			for (Sort.Direction direccion : Sort.Direction.values()) {
+				Sort.Order orden = new Sort.Order(direccion, propiedad);
+				List<Integer> esperado = ordenEsperado(orden, "");
+				assertEquals(TAREAS, esperado.size());
+				for (int tamano = 1; tamano <= 5; tamano++) {
+					comprobarRecorrido(FiltroTareas.NINGUNO, orden, tamano, esperado);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Los null van primero en orden ascendente y al final en descendente, y las filas con el mismo
+	 * valor se desempatan por ID en la misma dirección.
+	 */
+	@Test
+	void ordenaNullComoElMenorYDesempataPorId() {
+		List<Integer> ascendente = ids(recorrerHaciaAdelante(FiltroTareas.NINGUNO, Sort.Order.asc("responsableTarea"), 4));
+		// responsable null: i múltiplo de 4, es decir, ID múltiplos de 12
+		assertEquals(List.of(12, 24, 36, 48, 60, 72), ascendente.subList(0, 6));
+
+		List<Integer> descendente = ids(recorrerHaciaAdelante(FiltroTareas.NINGUNO, Sort.Order.desc("responsableTarea"), 4));
+		assertEquals(List.of(72, 60, 48, 36, 24, 12), descendente.subList(TAREAS - 6, TAREAS));
+		// "Luis" es el mayor valor: va primero en orden descendente, con los ID de mayor a menor
+		assertEquals(List.of(66, 57, 39, 30, 21, 3), descendente.subList(0, 6));
+	}
+
+	/**
+	 * Con filtro, las páginas solo contienen las tareas que lo cumplen, en el mismo orden.
+	 */
+	@Test
+	void paginaConFiltro() {
+		FiltroTareas filtro = new FiltroTareas(EstadoTarea.PENDIENTE, null, "Ana", null, null, null);
+		String condicion = "where estado_tarea = " + EstadoTarea.PENDIENTE.getCodigo() + " and responsable_tarea like 'Ana%'";
+		for (Sort.Order orden : List.of(Sort.Order.asc("fechaFinTarea"), Sort.Order.desc("nombreTarea"),
+				Sort.Order.desc("idTarea"))) {
+			List<Integer> esperado = ordenEsperado(orden, condicion);
+			for (int tamano = 1; tamano <= 3; tamano++) {
+				comprobarRecorrido(filtro, orden, tamano, esperado);
+			}
+		}
+	}
+
+	/**
+	 * Solo se puede ordenar por las propiedades de PROPIEDADES_ORDENABLES.
+	 */
+	@Test
+	void rechazaPropiedadesNoOrdenables() {
+		assertThrows(IllegalArgumentException.class, () ->
+				tareaServicio.buscarTareasSiguientes(FiltroTareas.NINGUNO, Sort.Order.asc("descripcionTarea"), null, 10));
+		assertThrows(IllegalArgumentException.class, () ->
+				tareaServicio.buscarTareasSiguientes(FiltroTareas.NINGUNO, Sort.Order.desc("fechaBorrado"), null, 10));
+	}
+
+	/**
+	 * Recorre hacia adelante desde el inicio y hacia atrás desde la última fila, y compara ambos
+	 * recorridos con el orden esperado.
+	 */
+	private void comprobarRecorrido(FiltroTareas filtro, Sort.Order orden, int tamano, List<Integer> esperado) {
+		String caso = orden + " de a " + tamano;
+		List<Tarea> adelante = recorrerHaciaAdelante(filtro, orden, tamano);
+		assertEquals(esperado, ids(adelante), caso);
+		if (adelante.isEmpty()) {
+			return;
+		}
+
+		List<Tarea> atras = new ArrayList<>(List.of(adelante.get(adelante.size() - 1)));
+		List<Tarea> pagina = tareaServicio.buscarTareasAnteriores(filtro, orden, atras.get(0), tamano);
+		while (!pagina.isEmpty()) {
+			atras.addAll(0, pagina);
+			pagina = tareaServicio.buscarTareasAnteriores(filtro, orden, pagina.get(0), tamano);
+		}
+		assertEquals(esperado, ids(atras), caso + " hacia atrás");
+	}
+
+	private List<Tarea> recorrerHaciaAdelante(FiltroTareas filtro, Sort.Order orden, int tamano) {
+		List<Tarea> tareas = new ArrayList<>();
+		List<Tarea> pagina = tareaServicio.buscarTareasSiguientes(filtro, orden, null, tamano);
+		while (!pagina.isEmpty()) {
+			tareas.addAll(pagina);
+			pagina = tareaServicio.buscarTareasSiguientes(filtro, orden, pagina.get(pagina.size() - 1), tamano);
+		}
+		return tareas;
+	}
+
+	/**
+	 * Orden de referencia: la columna con null como el menor valor y el ID como desempate.
+	 */
+	private List<Integer> ordenEsperado(Sort.Order orden, String condicion) {
+		String columna = orden.getProperty().replaceAll("([A-Z])", "_$1").toLowerCase();
+		String direccion = orden.isAscending() ? "asc" : "desc";
+		String nulos = orden.isAscending() ? "nulls first" : "nulls last";
+		return jdbcTemplate.queryForList("select id_tarea from tarea " + condicion + " order by " + columna + " "
+				+ direccion + " " + nulos + ", id_tarea " + direccion, Integer.class);
+	}
+
+	private static List<Integer> ids(List<Tarea> tareas) {
+		return tareas.stream().map(Tarea::getIdTarea).toList();
+	}
+}
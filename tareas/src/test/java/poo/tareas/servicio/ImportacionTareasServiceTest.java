@@ -0,0 +1,188 @@
+package poo.tareas.servicio;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.PrioridadTarea;
+import poo.tareas.modelo.Tarea;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del lector de CSV de ImportacionTareasService y de la importación de un libro generado
+ * por ExportacionExcelService, sin contexto de Spring: las tareas importadas se guardan en una lista
+ * en lugar de la base de datos.
+ */
+class ImportacionTareasServiceTest {
+
+	private static final String ENCABEZADO = "ID,Nombre,Descripción,Responsable,Estado,Prioridad,Fecha Inicio,Fecha Fin";
+
+	@TempDir
+	private Path carpeta;
+
+	private ImportacionTareasService importacion;
+
+	// Tareas que la importación pasó a guardarTareas, en orden
+	private List<Tarea> guardadas;
+
+	@BeforeEach
+	void crearServicio() {
+		guardadas = new ArrayList<>();
+		importacion = new ImportacionTareasService();
+		ReflectionTestUtils.setField(importacion, "tareaServicio", new tareaServicio() {
+			@Override
+			public void guardarTareas(Collection<Tarea> tareas) {
+				guardadas.addAll(tareas);
+			}
+		});
+	}
+
+	/**
+	 * Los campos entre comillas pueden contener el separador y comillas dobles escapadas.
+	 */
+	@Test
+	void leeCamposEntreComillas() throws IOException {
+		ResultadoImportacion resultado = importarCsv(ENCABEZADO + "\n"
+				+ "1,\"Informe, mensual\",\"Dice \"\"listo\"\"\",Ana,Pendiente,Alta,2026-01-05,2026-01-10\n"
+				+ "2,Revisar,\"\",\"Núñez, Luis\",En progreso,Media,5/1/2026,10/1/2026\n");
+
+		assertEquals(2, resultado.importadas());
+		assertEquals(0, resultado.rechazadas());
+		assertEquals(List.of("Informe, mensual", "Dice \"listo\"", "Ana"), textos(guardadas.get(0)));
+		assertEquals(List.of("Revisar", "", "Núñez, Luis"), textos(guardadas.get(1)));
+		assertEquals(EstadoTarea.EN_PROGRESO, guardadas.get(1).getEstadoTarea());
+		assertEquals(java.sql.Date.valueOf(LocalDate.of(2026, 1, 10)), guardadas.get(1).getFechaFinTarea());
+	}
+
+	/**
+	 * Un campo entre comillas puede ocupar varias líneas; la fila siguiente se lee normalmente.
+	 */
+	@Test
+	void leeSaltosDeLineaDentroDeUnCampo() throws IOException {
+		ResultadoImportacion resultado = importarCsv(ENCABEZADO + "\n"
+				+ "1,Migrar,\"Paso 1\n\nPaso 2, \"\"final\"\"\",Pedro,Pendiente,Baja,2026-02-01,2026-02-03\n"
+				+ "2,Probar,Sin saltos,Ana,Completada,Alta,2026-02-04,2026-02-05\n");
+
+		assertEquals(2, resultado.importadas());
+		assertEquals(List.of("Migrar", "Paso 1\n\nPaso 2, \"final\"", "Pedro"), textos(guardadas.get(0)));
+		assertEquals(List.of("Probar", "Sin saltos", "Ana"), textos(guardadas.get(1)));
+	}
+
+	/**
+	 * El separador es el punto y coma si la primera línea lo tiene y no tiene comas; si no, la coma.
+	 */
+	@Test
+	void detectaElSeparador() throws IOException {
+		importarCsv(ENCABEZADO.replace(',', ';') + "\n"
+				+ "1;Revisar, corregir;Texto con, comas;Ana;Pendiente;Alta;2026-03-01;2026-03-02\n");
+		assertEquals(List.of("Revisar, corregir", "Texto con, comas", "Ana"), textos(guardadas.get(0)));
+
+		// Con comas en la primera línea, el punto y coma es parte del texto
+		guardadas.clear();
+		importarCsv("1,Revisar;corregir,Uno; dos,Ana,Pendiente,Alta,2026-03-01,2026-03-02\n");
+		assertEquals(List.of("Revisar;corregir", "Uno; dos", "Ana"), textos(guardadas.get(0)));
+	}
+
+	/**
+	 * La marca de orden de bytes que agrega Excel al guardar como CSV UTF-8 se descarta y el
+	 * encabezado se reconoce igual.
+	 */
+	@Test
+	void ignoraLaMarcaDeOrdenDeBytes() throws IOException {
+		ResultadoImportacion resultado = importarCsv("\uFEFF" + ENCABEZADO.replace(',', ';') + "\n"
+				+ "1;Tarea con tildes;Descripción;José;Pendiente;Media;2026-04-01;2026-04-02\n");
+
+		assertEquals(1, resultado.importadas());
+		assertEquals(0, resultado.rechazadas());
+		assertEquals(List.of("Tarea con tildes", "Descripción", "José"), textos(guardadas.get(0)));
+	}
+
+	/**
+	 * Las filas no válidas se rechazan con su número de fila sin detener la importación.
+	 */
+	@Test
+	void rechazaFilasNoValidas() throws IOException {
+		ResultadoImportacion resultado = importarCsv(ENCABEZADO + "\n"
+				+ "1,,Sin nombre,Ana,Pendiente,Alta,2026-01-01,2026-01-02\n"
+				+ "2,Válida,,Ana,,,2026-01-01,2026-01-02\n"
+				+ ",,,,,,,\n"
+				+ "3,Fechas al revés,,Ana,Pendiente,Alta,2026-01-05,2026-01-02\n");
+
+		assertEquals(1, resultado.importadas());
+		assertEquals(2, resultado.rechazadas());
+		assertTrue(resultado.errores().get(0).startsWith("Fila 2:"), resultado.errores().get(0));
+		assertTrue(resultado.errores().get(1).startsWith("Fila 5:"), resultado.errores().get(1));
+		assertEquals(EstadoTarea.PENDIENTE, guardadas.get(0).getEstadoTarea());
+		assertEquals(PrioridadTarea.BAJA, guardadas.get(0).getPrioridadTarea());
+	}
+
+	/**
+	 * Un libro generado por la exportación se importa con los mismos datos (salvo el ID, que se ignora).
+	 */
+	@Test
+	void importaLoQueExporta() throws IOException {
+		List<Tarea> tareas = new ArrayList<>();
+		for (int i = 1; i <= 30; i++) {
+			LocalDate inicio = LocalDate.of(2026, 1, 1).plusDays(i);
+			tareas.add(tarea(i, "Tarea " + i + (i % 3 == 0 ? ", con \"comillas\"" : ""),
+					i % 4 == 0 ? "Línea 1\nLínea 2" : "Descripción " + i, "Responsable " + i % 5,
+					EstadoTarea.values()[i % 3], PrioridadTarea.values()[i % 3], inicio, inicio.plusDays(i % 7)));
+		}
+		File archivo = carpeta.resolve("tareas.xlsx").toFile();
+		try (OutputStream salida = new FileOutputStream(archivo)) {
+			new ExportacionExcelService().escribirLibro(tareas.iterator(), tareas.size(), salida,
+					tarea -> { }, (filas, total) -> { }, () -> false);
+		}
+
+		ResultadoImportacion resultado = importacion.importar(archivo, (filas, fraccion) -> { }, () -> false);
+
+		assertEquals(tareas.size(), resultado.importadas());
+		assertEquals(0, resultado.rechazadas());
+		for (int i = 0; i < tareas.size(); i++) {
+			assertEquals(datos(tareas.get(i)), datos(guardadas.get(i)));
+		}
+	}
+
+	private ResultadoImportacion importarCsv(String contenido) throws IOException {
+		Path archivo = Files.writeString(carpeta.resolve("tareas.csv"), contenido, StandardCharsets.UTF_8);
+		return importacion.importar(archivo.toFile(), (filas, fraccion) -> { }, () -> false);
+	}
+
+	private static Tarea tarea(int id, String nombre, String descripcion, String responsable, EstadoTarea estado,
+							   PrioridadTarea prioridad, LocalDate inicio, LocalDate fin) {
+		Tarea tarea = new Tarea();
+		tarea.setIdTarea(id);
+		tarea.setNombreTarea(nombre);
+		tarea.setDescripcionTarea(descripcion);
+		tarea.setResponsableTarea(responsable);
+		tarea.setEstadoTarea(estado);
+		tarea.setPrioridadTarea(prioridad);
+		tarea.setFechaInicioTarea(java.sql.Date.valueOf(inicio));
+		tarea.setFechaFinTarea(java.sql.Date.valueOf(fin));
+		return tarea;
+	}
+
+	private static List<String> textos(Tarea tarea) {
+		return List.of(tarea.getNombreTarea(), tarea.getDescripcionTarea(), tarea.getResponsableTarea());
+	}
+
+	private static List<Object> datos(Tarea tarea) {
+		return List.of(tarea.getNombreTarea(), tarea.getDescripcionTarea(), tarea.getResponsableTarea(),
+				tarea.getEstadoTarea(), tarea.getPrioridadTarea(), tarea.getFechaInicioTarea(), tarea.getFechaFinTarea());
+	}
+}
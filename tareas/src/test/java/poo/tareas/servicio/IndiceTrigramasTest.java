@@ -0,0 +1,134 @@
+package poo.tareas.servicio;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import poo.tareas.modelo.Tarea;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del índice de trigramas de la búsqueda por texto, sin contexto de Spring.
+ */
+class IndiceTrigramasTest {
+
+	private IndiceTrigramas indice;
+
+	// Tareas indexadas por ID, en el orden que TareaIndex pasa a buscar
+	private TreeMap<Integer, Tarea> tareas;
+
+	@BeforeEach
+	void crearIndice() {
+		indice = new IndiceTrigramas();
+		tareas = new TreeMap<>();
+		agregar(1, "Revisión del código", "Pull request pendiente", "Ana Núñez");
+		agregar(2, "Revision de pruebas", "Cobertura de la API", "Luis Pérez");
+		agregar(3, "Informe mensual", "Enviar a dirección", "ANA GARCÍA");
+		agregar(4, "Migrar base de datos", null, "Pedro");
+	}
+
+	/**
+	 * Las tildes y las mayúsculas no importan, ni en el texto buscado ni en el indexado.
+	 */
+	@Test
+	void ignoraTildesYMayusculas() {
+		assertArrayEquals(new int[]{1, 2}, buscar("REVISIÓN"));
+		assertArrayEquals(new int[]{1, 2}, buscar("revision"));
+		assertArrayEquals(new int[]{1, 3}, buscar("ana"));
+		assertArrayEquals(new int[]{3}, buscar("Garcia"));
+		assertArrayEquals(new int[]{1}, buscar("nunez codigo"));
+	}
+
+	/**
+	 * Cada palabra puede estar en cualquier campo y en cualquier orden, pero deben estar todas.
+	 */
+	@Test
+	void exigeTodasLasPalabras() {
+		assertArrayEquals(new int[]{2}, buscar("pruebas perez"));
+		assertArrayEquals(new int[]{2}, buscar("  perez   pruebas "));
+		assertArrayEquals(new int[0], buscar("pruebas garcia"));
+		assertArrayEquals(new int[]{1, 2, 3, 4}, buscar("   "));
+	}
+
+	/**
+	 * Las palabras de menos de tres caracteres no tienen trigramas y se comparan con el texto.
+	 */
+	@Test
+	void buscaPalabrasCortas() {
+		assertArrayEquals(new int[]{1, 2, 4}, buscar("de"));
+		assertArrayEquals(new int[]{1, 2}, buscar("de rev"));
+		assertArrayEquals(new int[]{4}, buscar("o migrar"));
+		assertArrayEquals(new int[0], buscar("xz"));
+	}
+
+	/**
+	 * Al quitar una tarea deja de encontrarse; al volver a agregarla con otro texto se encuentra
+	 * solo por el texto nuevo.
+	 */
+	@Test
+	void quitaYVuelveAAgregar() {
+		quitar(1);
+		assertArrayEquals(new int[]{2}, buscar("revision"));
+		assertArrayEquals(new int[0], buscar("codigo"));
+
+		agregar(1, "Corregir el código", null, "Ana Núñez");
+		assertArrayEquals(new int[]{2}, buscar("revision"));
+		assertArrayEquals(new int[]{1}, buscar("codigo"));
+
+		// Reemplazar sin quitar antes tampoco deja trigramas del texto anterior
+		agregar(1, "Planificar sprint", null, null);
+		assertArrayEquals(new int[0], buscar("codigo"));
+		assertArrayEquals(new int[0], buscar("ana nunez"));
+		assertArrayEquals(new int[]{1}, buscar("sprint"));
+	}
+
+	/**
+	 * Refinar los resultados de un prefijo del texto da lo mismo que buscar el texto completo,
+	 * y coincide da el mismo resultado para cada tarea.
+	 */
+	@Test
+	void refinarDaLoMismoQueBuscar() {
+		List<String> textos = List.of("r", "re", "rev", "revi", "revision", "revision d", "revision de",
+				"revision de p", "revision de pruebas", "a", "an", "ana", "ana g", "ana garcia");
+		for (int i = 1; i < textos.size(); i++) {
+			String anterior = textos.get(i - 1);
+			String texto = textos.get(i);
+			if (!texto.startsWith(anterior)) {
+				continue;
+			}
+			int[] completo = buscar(texto);
+			assertArrayEquals(completo, indice.refinar(texto, buscar(anterior)), texto);
+			for (Tarea tarea : tareas.values()) {
+				assertEquals(Arrays.binarySearch(completo, tarea.getIdTarea()) >= 0,
+						IndiceTrigramas.coincide(tarea, texto), texto + " / " + tarea.getIdTarea());
+			}
+		}
+		assertTrue(IndiceTrigramas.coincide(tareas.get(1), "CÓDIGO revisión"));
+		assertFalse(IndiceTrigramas.coincide(tareas.get(4), "codigo"));
+	}
+
+	private void agregar(int id, String nombre, String descripcion, String responsable) {
+		Tarea tarea = new Tarea();
+		tarea.setIdTarea(id);
+		tarea.setNombreTarea(nombre);
+		tarea.setDescripcionTarea(descripcion);
+		tarea.setResponsableTarea(responsable);
+		tareas.put(id, tarea);
+		indice.agregar(tarea);
+	}
+
+	private void quitar(int id) {
+		tareas.remove(id);
+		indice.quitar(id);
+	}
+
+	private int[] buscar(String texto) {
+		return indice.buscar(texto, tareas.keySet());
+	}
+}
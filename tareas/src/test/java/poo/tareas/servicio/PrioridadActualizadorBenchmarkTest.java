@@ -0,0 +1,110 @@
+package poo.tareas.servicio;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import poo.tareas.configuracion.MotorBaseDatos;
+import poo.tareas.modelo.EstadoTarea;
+import poo.tareas.modelo.PrioridadTarea;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Comparación de rendimiento entre los dos modos de recálculo de prioridades
+ * de PrioridadActualizadorService: cálculo en Java por entidad (entidad) y sentencia masiva (sql).
+ *
+ * Se ejecuta sobre una base de datos H2 en memoria y solo con el perfil de Maven benchmark
+ * (que asigna la propiedad del sistema benchmark=true); los tiempos se informan en el log:
+ *   mvn -Pbenchmark test -Dtest=PrioridadActualizadorBenchmarkTest -Dbenchmark.filas=100000
+ */
+@DataJpaTest(showSql = false, properties = {
+		"logging.level.poo.tareas=WARN",
+		"logging.level.poo.tareas.servicio.PrioridadActualizadorBenchmarkTest=INFO"
+})
+@Import({tareaServicio.class, TareaIndex.class, HistorialTareaServicio.class, MotorBaseDatos.class,
+		PrioridadActualizadorService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada guardado usa su propia transacción, como en la aplicación
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PrioridadActualizadorBenchmarkTest {
+	// Logger donde se informan los tiempos de cada modo
+	private static final Logger logger = LoggerFactory.getLogger(PrioridadActualizadorBenchmarkTest.class);
+
+	@Autowired
+	private PrioridadActualizadorService prioridadActualizadorService;
+
+	@Autowired
+	private TareaIndex tareaIndex;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Ejecuta ambos modos sobre el mismo conjunto de datos y verifica que
+	 * actualizan las mismas tareas y dejan las mismas prioridades.
+	 */
+	@Test
+	void compararRecalculoPorEntidadYPorSql() {
+		int filas = Integer.getInteger("benchmark.filas", 100_000);
+
+		sembrarTareas(filas);
+		long inicio = System.nanoTime();
+		int actualizadasEntidad = prioridadActualizadorService.actualizarPrioridadesPorEntidad();
+		long msEntidad = (System.nanoTime() - inicio) / 1_000_000;
+		List<Map<String, Object>> resultadoEntidad = distribucionPrioridades();
+
+		sembrarTareas(filas);
+		inicio = System.nanoTime();
+		int actualizadasSql = prioridadActualizadorService.actualizarPrioridadesPorSql();
+		long msSql = (System.nanoTime() - inicio) / 1_000_000;
+		List<Map<String, Object>> resultadoSql = distribucionPrioridades();
+
+		logger.info("Recálculo de prioridades sobre {} tareas: entidad {} actualizadas en {} ms, sql {} actualizadas en {} ms",
+				filas, actualizadasEntidad, msEntidad, actualizadasSql, msSql);
+
+		assertEquals(actualizadasEntidad, actualizadasSql);
+		assertEquals(resultadoEntidad, resultadoSql);
+	}
+
+	/**
+	 * Inserta las tareas de prueba con prioridad Baja y fechas de finalización
+	 * entre 5 días atrás y 9 días adelante; una de cada cuatro está completada.
+	 */
+	private void sembrarTareas(int filas) {
+		jdbcTemplate.update("delete from tarea");
+		LocalDate hoy = LocalDate.now();
+		List<Object[]> lote = new ArrayList<>();
+		for (int i = 1; i <= filas; i++) {
+			LocalDate fin = hoy.plusDays(i % 15 - 5);
+			lote.add(new Object[]{i, "Tarea " + i, "Responsable " + (i % 50), "Descripción " + i,
+					Timestamp.valueOf(fin.minusDays(10).atStartOfDay()), Timestamp.valueOf(fin.atStartOfDay()),
+					i % 4 == 0 ? EstadoTarea.COMPLETADA.getCodigo() : EstadoTarea.PENDIENTE.getCodigo(),
+					PrioridadTarea.BAJA.getCodigo()});
+			if (lote.size() == 5_000 || i == filas) {
+				jdbcTemplate.batchUpdate("insert into tarea (id_tarea, nombre_tarea, responsable_tarea, descripcion_tarea, " +
+						"fecha_inicio_tarea, fecha_fin_tarea, estado_tarea, prioridad_tarea) values (?, ?, ?, ?, ?, ?, ?, ?)", lote);
+				lote.clear();
+			}
+		}
+		// Las tareas se insertaron sin pasar por tareaServicio; el índice en memoria debe recargarse
+		tareaIndex.recargar();
+	}
+
+	private List<Map<String, Object>> distribucionPrioridades() {
+		return jdbcTemplate.queryForList("select prioridad_tarea, count(*) as total from tarea " +
+				"group by prioridad_tarea order by prioridad_tarea");
+	}
+}